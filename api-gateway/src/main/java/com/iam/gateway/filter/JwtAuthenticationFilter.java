@@ -36,12 +36,15 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     private final SecretKey secretKey;
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final SessionActivityTracker sessionActivityTracker;
 
     public JwtAuthenticationFilter(
             @Value("${jwt.secret-key}") String secret,
-            ReactiveRedisTemplate<String, String> redisTemplate) {
+            ReactiveRedisTemplate<String, String> redisTemplate,
+            SessionActivityTracker sessionActivityTracker) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.redisTemplate = redisTemplate;
+        this.sessionActivityTracker = sessionActivityTracker;
     }
 
     @Override
@@ -60,39 +63,53 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         String token = authHeader.substring(7);
 
-        return isTokenBlacklisted(token)
-                .flatMap(blacklisted -> {
-                    if (blacklisted) {
-                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                        return exchange.getResponse().setComplete();
-                    }
-
-                    try {
-                        Claims claims = Jwts.parser()
-                                .verifyWith(secretKey)
-                                .build()
-                                .parseSignedClaims(token)
-                                .getPayload();
-
-                        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                                .header("X-User-Id", claims.getSubject())
-                                .header("X-User-Email", claims.get("email", String.class))
-                                .header("X-User-Roles", claims.get("roles", String.class))
-                                .header("X-User-Permissions", claims.get("permissions", String.class))
-                                .build();
-
-                        return chain.filter(exchange.mutate().request(mutatedRequest).build());
-                    } catch (Exception e) {
-                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                        return exchange.getResponse().setComplete();
-                    }
-                });
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (Exception e) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        // Tokens issued before session tracking carry no sid and are only checked against the blacklist
+        String sessionId = claims.get("sid", String.class);
+        Mono<Boolean> rejected = sessionId == null
+                ? isTokenBlacklisted(token)
+                : Mono.zip(isTokenBlacklisted(token), isSessionActive(sessionId))
+                        .map(checks -> checks.getT1() || !checks.getT2());
+
+        return rejected.flatMap(reject -> {
+            if (reject) {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+
+            ServerHttpRequest.Builder request = exchange.getRequest().mutate()
+                    .header("X-User-Id", claims.getSubject())
+                    .header("X-User-Email", claims.get("email", String.class))
+                    .header("X-User-Roles", claims.get("roles", String.class))
+                    .header("X-User-Permissions", claims.get("permissions", String.class));
+            if (sessionId != null) {
+                request.header("X-Session-Id", sessionId);
+                sessionActivityTracker.record(sessionId);
+            }
+
+            return chain.filter(exchange.mutate().request(request.build()).build());
+        });
     }
 
     private Mono<Boolean> isTokenBlacklisted(String token) {
         return redisTemplate.hasKey("blacklist:" + token);
     }
 
+    private Mono<Boolean> isSessionActive(String sessionId) {
+        return redisTemplate.hasKey("session:" + sessionId);
+    }
+
     private boolean isPublicPath(String path) {
         return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
     }
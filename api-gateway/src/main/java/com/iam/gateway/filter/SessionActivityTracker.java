@@ -0,0 +1,77 @@
+package com.iam.gateway.filter;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for session {@code lastSeenAt}. Requests only overwrite an in-memory
+ * entry; every flush interval the latest timestamp per session is written to the session hash
+ * kept by auth-service. The script skips sessions that were revoked in the meantime so a late
+ * flush cannot resurrect them.
+ */
+@Component
+public class SessionActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionActivityTracker.class);
+
+    private static final RedisScript<Long> TOUCH_IF_PRESENT = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "return redis.call('HSET', KEYS[1], 'lastSeenAt', ARGV[1]) end "
+                    + "return 0",
+            Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Disposable flushTask;
+
+    public SessionActivityTracker(ReactiveRedisTemplate<String, String> redisTemplate,
+                                  @Value("${gateway.sessions.last-seen-flush-seconds:30}") long flushSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.flushTask = Flux.interval(Duration.ofSeconds(flushSeconds))
+                .concatMap(tick -> flush().onErrorResume(e -> {
+                    log.warn("Failed to flush session activity: {}", e.getMessage());
+                    return Flux.empty();
+                }))
+                .subscribe();
+    }
+
+    public void record(String sessionId) {
+        lastSeen.put(sessionId, System.currentTimeMillis());
+    }
+
+    private Flux<Long> flush() {
+        if (lastSeen.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Map.Entry<String, Long>> batch = new ArrayList<>(lastSeen.size());
+        for (String sessionId : lastSeen.keySet()) {
+            Long seenAt = lastSeen.remove(sessionId);
+            if (seenAt != null) {
+                batch.add(Map.entry(sessionId, seenAt));
+            }
+        }
+        return Flux.fromIterable(batch)
+                .flatMap(entry -> redisTemplate.execute(TOUCH_IF_PRESENT,
+                        List.of("session:" + entry.getKey()),
+                        List.of(Long.toString(entry.getValue()))), 16);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushTask.dispose();
+        flush().blockLast(Duration.ofSeconds(5));
+    }
+}
@@ -50,6 +50,21 @@ public class RabbitMQConfig {
                 .with("user.*");
     }
 
+    // Bulk role changes: one event per request, kept off "user.*" because the payload differs
+    @Bean
+    public Queue auditUserBulkQueue() {
+        return QueueBuilder.durable("audit.user.bulk.queue")
+                .withArgument("x-dead-letter-exchange", RabbitMQConstants.DEAD_LETTER_EXCHANGE)
+                .build();
+    }
+
+    @Bean
+    public Binding auditUserBulkBinding() {
+        return BindingBuilder.bind(auditUserBulkQueue())
+                .to(iamEventsExchange())
+                .with(RabbitMQConstants.USER_ROLES_BULK_CHANGED);
+    }
+
     // Resource events queue
     @Bean
     public Queue auditResourceQueue() {
@@ -6,6 +6,7 @@ import com.iam.audit.model.SecurityAlert;
 import com.iam.audit.model.SeverityLevel;
 import com.iam.audit.service.AuditService;
 import com.iam.common.dto.ApiResponse;
+import com.iam.common.dto.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -62,6 +63,17 @@ public class AuditController {
         return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", page));
     }
 
+    @GetMapping(value = "/logs", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SECURITY_OFFICER') or hasAuthority('audit:read')")
+    @Operation(summary = "Get all audit logs (cursor)",
+            description = "Newest first, keyset-paginated. Pass an empty cursor for the first page, then nextCursor.")
+    public ResponseEntity<ApiResponse<PagedResponse<AuditLogResponse>>> getLogsByCursor(
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<AuditLogResponse> page = auditService.getAllLogs(cursor, size).map(AuditLogResponse::fromEntity);
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", page));
+    }
+
     @GetMapping("/logs/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SECURITY_OFFICER') or hasAuthority('audit:read')")
     @Operation(summary = "Get logs by user", description = "Audit logs filtered by user ID")
@@ -72,6 +84,18 @@ public class AuditController {
         return ResponseEntity.ok(ApiResponse.success("User logs retrieved", page));
     }
 
+    @GetMapping(value = "/logs/user/{userId}", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SECURITY_OFFICER') or hasAuthority('audit:read')")
+    @Operation(summary = "Get logs by user (cursor)", description = "Audit logs for a user, newest first, keyset-paginated")
+    public ResponseEntity<ApiResponse<PagedResponse<AuditLogResponse>>> getLogsByUserByCursor(
+            @Parameter(description = "User ID") @PathVariable UUID userId,
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<AuditLogResponse> page = auditService.getLogsByUserId(userId, cursor, size)
+                .map(AuditLogResponse::fromEntity);
+        return ResponseEntity.ok(ApiResponse.success("User logs retrieved", page));
+    }
+
     @GetMapping("/logs/action/{action}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SECURITY_OFFICER')")
     @Operation(summary = "Get logs by action", description = "Audit logs filtered by action type")
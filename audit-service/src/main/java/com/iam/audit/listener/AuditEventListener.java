@@ -5,7 +5,9 @@ import com.iam.audit.model.SecurityAlert;
 import com.iam.audit.model.SeverityLevel;
 import com.iam.audit.repository.AuditLogRepository;
 import com.iam.audit.repository.SecurityAlertRepository;
+import com.iam.common.config.RabbitMQConstants;
 import com.iam.common.events.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +16,8 @@ import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class AuditEventListener {
@@ -65,6 +69,27 @@ public class AuditEventListener {
         }
     }
 
+    @RabbitListener(queues = "audit.user.bulk.queue")
+    public void handleBulkRoleEvent(RoleAssignmentsChangedEvent event) {
+        try {
+            log.debug("Received bulk role event: {} {} for {} users",
+                    event.getAction(), event.getRoleName(), event.getUserIds().size());
+
+            AuditLog auditLog = AuditLog.builder()
+                    .userId(event.getPerformedBy())
+                    .action("USER_ROLE_BULK_" + event.getAction())
+                    .resourceType("ROLE")
+                    .resourceId(event.getRoleName())
+                    .severity(SeverityLevel.INFO)
+                    .details(objectMapper.writeValueAsString(event))
+                    .build();
+
+            auditLogRepository.save(auditLog);
+        } catch (Exception e) {
+            log.error("Error processing bulk role event: {}", e.getMessage(), e);
+        }
+    }
+
     @RabbitListener(queues = "audit.resource.queue")
     public void handleResourceEvent(Message message) {
         try {
@@ -74,6 +99,17 @@ public class AuditEventListener {
             AuditLog.AuditLogBuilder logBuilder = AuditLog.builder()
                     .resourceType("RESOURCE");
 
+            if (RabbitMQConstants.RESOURCE_ACCESS_DECIDED_BATCH.equals(routingKey)) {
+                AccessDecisionBatchEvent batch = objectMapper.readValue(message.getBody(), AccessDecisionBatchEvent.class);
+                List<AuditLog> auditLogs = new ArrayList<>(batch.getDecisions().size());
+                for (AccessDecisionEvent event : batch.getDecisions()) {
+                    auditLogs.add(toDecisionAuditLog(event));
+                }
+                auditLogRepository.saveAll(auditLogs);
+                log.debug("Saved {} resource audit logs for decision batch {}", auditLogs.size(), batch.getBatchId());
+                return;
+            }
+
             if ("resource.access.requested".equals(routingKey)) {
                 AccessRequestEvent event = objectMapper.readValue(message.getBody(), AccessRequestEvent.class);
                 logBuilder.eventId(event.getEventId())
@@ -85,12 +121,9 @@ public class AuditEventListener {
                         .details(objectMapper.writeValueAsString(event));
             } else if (routingKey != null && routingKey.startsWith("resource.access.")) {
                 AccessDecisionEvent event = objectMapper.readValue(message.getBody(), AccessDecisionEvent.class);
-                logBuilder.userId(event.getUserId())
-                        .userEmail(event.getUserEmail())
-                        .action("ACCESS_" + event.getDecision())
-                        .resourceId(event.getResourceId() != null ? event.getResourceId().toString() : null)
-                        .severity(SeverityLevel.INFO)
-                        .details(objectMapper.writeValueAsString(event));
+                auditLogRepository.save(toDecisionAuditLog(event));
+                log.debug("Saved resource audit log for routing key: {}", routingKey);
+                return;
             } else if (routingKey != null && routingKey.startsWith("resource.collision")) {
                 ResourceCollisionEvent event = objectMapper.readValue(message.getBody(), ResourceCollisionEvent.class);
                 logBuilder.userId(event.getRequestingUserId())
@@ -127,6 +160,18 @@ public class AuditEventListener {
         log.info("Created security alert: {} for {}", event.getAction(), event.getUserEmail());
     }
 
+    private AuditLog toDecisionAuditLog(AccessDecisionEvent event) throws JsonProcessingException {
+        return AuditLog.builder()
+                .resourceType("RESOURCE")
+                .userId(event.getUserId())
+                .userEmail(event.getUserEmail())
+                .action("ACCESS_" + event.getDecision())
+                .resourceId(event.getResourceId() != null ? event.getResourceId().toString() : null)
+                .severity(SeverityLevel.INFO)
+                .details(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
     private void saveAuditLog(AuditEvent event) {
         AuditLog auditLog = AuditLog.builder()
                 .eventId(event.getEventId())
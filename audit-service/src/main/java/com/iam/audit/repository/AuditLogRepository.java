@@ -2,12 +2,15 @@ package com.iam.audit.repository;
 
 import com.iam.audit.model.AuditLog;
 import com.iam.audit.model.SeverityLevel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -16,5 +19,21 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
     Page<AuditLog> findByAction(String action, Pageable pageable);
     Page<AuditLog> findBySeverity(SeverityLevel severity, Pageable pageable);
     Page<AuditLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatest(Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestAfter(LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByUserId(UUID userId, Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
     long countByUserEmailAndActionAndCreatedAtAfter(String userEmail, String action, LocalDateTime after);
 }
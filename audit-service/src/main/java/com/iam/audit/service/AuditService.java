@@ -6,13 +6,17 @@ import com.iam.audit.model.AlertStatus;
 import com.iam.audit.model.SeverityLevel;
 import com.iam.audit.repository.AuditLogRepository;
 import com.iam.audit.repository.SecurityAlertRepository;
+import com.iam.common.dto.PageCursor;
+import com.iam.common.dto.PagedResponse;
 import com.iam.common.exception.ResourceNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -35,6 +39,26 @@ public class AuditService {
         return auditLogRepository.findByUserId(userId, pageable);
     }
 
+    public PagedResponse<AuditLog> getAllLogs(String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findLatest(limit)
+                : auditLogRepository.findLatestAfter(cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, AuditService::cursorOf);
+    }
+
+    public PagedResponse<AuditLog> getLogsByUserId(UUID userId, String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<AuditLog> rows = cursor == null
+                ? auditLogRepository.findLatestByUserId(userId, limit)
+                : auditLogRepository.findLatestByUserIdAfter(userId, cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, AuditService::cursorOf);
+    }
+
     public Page<AuditLog> getLogsByAction(String action, Pageable pageable) {
         return auditLogRepository.findByAction(action, pageable);
     }
@@ -86,4 +110,8 @@ public class AuditService {
         }
         return securityAlertRepository.save(alert);
     }
+
+    private static PageCursor cursorOf(AuditLog log) {
+        return new PageCursor(log.getCreatedAt(), log.getId());
+    }
 }
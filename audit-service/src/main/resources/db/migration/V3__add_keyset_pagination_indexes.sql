@@ -0,0 +1,11 @@
+-- V3: Indexes matching the (created_at DESC, id DESC) keyset order used by cursor pagination
+
+-- Rows without a sort key would sort first and could not be paged past
+UPDATE audit_logs SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE audit_logs ALTER COLUMN created_at SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_audit_logs_created;
+CREATE INDEX idx_audit_logs_created_id ON audit_logs(created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_audit_logs_user;
+CREATE INDEX idx_audit_logs_user_created_id ON audit_logs(user_id, created_at DESC, id DESC);
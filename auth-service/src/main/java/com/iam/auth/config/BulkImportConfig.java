@@ -0,0 +1,31 @@
+package com.iam.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class BulkImportConfig {
+
+    /**
+     * BCrypt is CPU-bound, so hashing runs on a fixed pool of platform threads, sized so a
+     * large import cannot starve login traffic of CPU.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService passwordHashingExecutor(
+            @Value("${auth.bulk-import.hash-threads:0}") int hashThreads) {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("password-hash-", 0).daemon().factory());
+    }
+
+    /**
+     * Runs import jobs one at a time in the background; further uploads queue behind it.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService bulkImportExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("bulk-import-", 0).factory());
+    }
+}
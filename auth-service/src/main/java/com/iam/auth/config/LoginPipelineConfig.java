@@ -0,0 +1,21 @@
+package com.iam.auth.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor for the blocking user-service lookups that login and token refresh fork off.
+ * One virtual thread per task: the work is pure I/O wait, and interrupting a virtual thread
+ * blocked on a socket aborts the call, so a missed deadline really cancels it.
+ */
+@Configuration
+public class LoginPipelineConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService loginPipelineExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("login-pipeline-", 0).factory());
+    }
+}
@@ -2,6 +2,7 @@ package com.iam.auth.controller;
 
 import com.iam.auth.dto.*;
 import com.iam.auth.service.AuthService;
+import com.iam.auth.service.BulkUserImportService;
 import com.iam.common.dto.ApiResponse;
 import com.iam.common.exception.BaseException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,10 +11,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,9 +27,11 @@ import java.util.UUID;
 public class AuthController {
 
     private final AuthService authService;
+    private final BulkUserImportService bulkUserImportService;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, BulkUserImportService bulkUserImportService) {
         this.authService = authService;
+        this.bulkUserImportService = bulkUserImportService;
     }
 
     @PostMapping("/register")
@@ -50,7 +57,7 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest) {
         String ipAddress = httpRequest.getRemoteAddr();
-        LoginResponse response = authService.login(request, ipAddress);
+        LoginResponse response = authService.login(request, ipAddress, httpRequest.getHeader(HttpHeaders.USER_AGENT));
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
 
@@ -78,6 +85,33 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.<Void>success("Logged out successfully", null));
     }
 
+    @GetMapping("/sessions")
+    @Operation(summary = "List active sessions", description = "Lists the authenticated user's active login sessions, newest expiry first")
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Active sessions")
+    })
+    public ResponseEntity<ApiResponse<List<SessionResponse>>> listSessions(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        return ResponseEntity.ok(ApiResponse.success("Active sessions",
+                authService.listSessions(UUID.fromString(userId), sessionId)));
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @Operation(summary = "Revoke a session", description = "Signs out one of the authenticated user's sessions")
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Session revoked"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No such active session for this user")
+    })
+    public ResponseEntity<ApiResponse<Void>> revokeSession(
+            @PathVariable UUID sessionId,
+            @RequestHeader("X-User-Id") String userId) {
+        authService.revokeSession(UUID.fromString(userId), sessionId);
+        return ResponseEntity.ok(ApiResponse.<Void>success("Session revoked", null));
+    }
+
     @PostMapping("/admin/create-user")
     @Operation(summary = "Admin create user", description = "Creates a new user with auto-generated password sent via email. Requires ADMIN role.")
     @SecurityRequirement(name = "Bearer Token")
@@ -98,6 +132,48 @@ public class AuthController {
                 .body(ApiResponse.<Void>success("User created successfully. Temporary password sent via email.", null));
     }
 
+    @PostMapping(value = "/admin/bulk-import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Admin bulk import users",
+            description = "Streams a CSV (header: email,firstName,lastName[,roleName,departmentId]) or NDJSON upload "
+                    + "and imports the users in the background. Poll the returned job for progress. Requires ADMIN role.")
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Import queued"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing or invalid header"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not authorized (ADMIN role required)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "413", description = "Too many rows")
+    })
+    public ResponseEntity<ApiResponse<BulkImportResponse>> bulkImport(
+            HttpServletRequest httpRequest,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader("X-User-Roles") String roles) throws IOException {
+        if (!roles.contains("ADMIN")) {
+            throw new BaseException("Admin role required", HttpStatus.FORBIDDEN);
+        }
+        BulkImportResponse response = bulkUserImportService.startImport(
+                httpRequest.getInputStream(), MediaType.parseMediaType(contentType), UUID.fromString(userId));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Bulk import queued", response));
+    }
+
+    @GetMapping("/admin/bulk-import/{jobId}")
+    @Operation(summary = "Bulk import progress", description = "Returns progress and per-row errors of a bulk import. Requires ADMIN role.")
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job progress"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not authorized (ADMIN role required)"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    public ResponseEntity<ApiResponse<BulkImportResponse>> bulkImportStatus(
+            @PathVariable UUID jobId,
+            @RequestHeader("X-User-Roles") String roles) {
+        if (!roles.contains("ADMIN")) {
+            throw new BaseException("Admin role required", HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(ApiResponse.success("Bulk import progress", bulkUserImportService.getJob(jobId)));
+    }
+
     @PutMapping("/change-password")
     @Operation(summary = "Change password", description = "Changes the authenticated user's password. Revokes all refresh tokens.")
     @SecurityRequirement(name = "Bearer Token")
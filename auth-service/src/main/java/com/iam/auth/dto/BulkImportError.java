@@ -0,0 +1,22 @@
+package com.iam.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A bulk import row that was rejected")
+public class BulkImportError {
+
+    @Schema(description = "1-based line number in the uploaded file", example = "42")
+    private int line;
+
+    @Schema(description = "Email from the row, if it could be read", example = "john.doe@company.com")
+    private String email;
+
+    @Schema(description = "Why the row was rejected", example = "Email already registered")
+    private String message;
+}
@@ -0,0 +1,43 @@
+package com.iam.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk user import job progress")
+public class BulkImportResponse {
+
+    @Schema(description = "Import job ID")
+    private UUID jobId;
+
+    @Schema(description = "Job status", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Data rows read from the upload", example = "5000")
+    private int totalRows;
+
+    @Schema(description = "Rows processed so far (created or rejected)", example = "1500")
+    private int processedRows;
+
+    @Schema(description = "Users created so far", example = "1490")
+    private int createdCount;
+
+    @Schema(description = "Rows rejected so far", example = "10")
+    private int failedCount;
+
+    @Schema(description = "Per-row errors (capped)")
+    private List<BulkImportError> errors;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
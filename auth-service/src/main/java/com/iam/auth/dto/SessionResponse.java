@@ -0,0 +1,38 @@
+package com.iam.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "An active login session")
+public class SessionResponse {
+
+    @Schema(description = "Session ID")
+    private UUID sessionId;
+
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last request seen through the gateway (updated with a short delay)")
+    private LocalDateTime lastSeenAt;
+
+    @Schema(description = "When the session's refresh token expires")
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "IP address the session was opened from", example = "10.0.0.12")
+    private String ipAddress;
+
+    @Schema(description = "User agent the session was opened from")
+    private String userAgent;
+
+    @Schema(description = "Whether this is the session making the request")
+    private boolean current;
+}
@@ -28,6 +28,10 @@ public class RefreshToken {
     @Column(nullable = false)
     private String email;
 
+    // Shared by every token rotated from the same login; null for tokens issued before sessions existed
+    @Column(name = "session_id")
+    private UUID sessionId;
+
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
@@ -2,8 +2,12 @@ package com.iam.auth.repository;
 
 import com.iam.auth.model.UserCredential;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +15,7 @@ import java.util.UUID;
 public interface UserCredentialRepository extends JpaRepository<UserCredential, UUID> {
     Optional<UserCredential> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT c.email FROM UserCredential c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
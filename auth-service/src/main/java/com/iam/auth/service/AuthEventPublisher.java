@@ -2,6 +2,7 @@ package com.iam.auth.service;
 
 import com.iam.common.config.RabbitMQConstants;
 import com.iam.common.events.AuditEvent;
+import com.iam.common.events.UserBatchEvent;
 import com.iam.common.events.UserEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -128,6 +130,56 @@ public class AuthEventPublisher {
         log.debug("Published admin user created event for {}", email);
     }
 
+    /**
+     * One message per chunk for user-service instead of one {@code user.created} per user.
+     */
+    public void publishUsersCreatedBatch(List<UserEvent> users, UUID performedBy) {
+        UserBatchEvent event = UserBatchEvent.builder()
+                .batchId(UUID.randomUUID())
+                .action("CREATED")
+                .performedBy(performedBy)
+                .users(users)
+                .build();
+
+        rabbitTemplate.convertAndSend(
+                RabbitMQConstants.EVENTS_EXCHANGE,
+                RabbitMQConstants.USER_CREATED_BATCH,
+                event);
+        log.debug("Published user created batch {} ({} users)", event.getBatchId(), users.size());
+    }
+
+    /**
+     * Welcome emails still need one message per user (each carries its own temporary password),
+     * so they are sent back to back on a single channel rather than one channel checkout each.
+     */
+    public void publishAdminUsersCreated(List<UserEvent> users, List<String> tempPasswords) {
+        rabbitTemplate.invoke(operations -> {
+            for (int i = 0; i < users.size(); i++) {
+                UserEvent user = users.get(i);
+                AuditEvent event = AuditEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .userId(user.getUserId())
+                        .userEmail(user.getEmail())
+                        .action("ADMIN_USER_CREATED")
+                        .severity("INFO")
+                        .serviceName("auth-service")
+                        .timestamp(LocalDateTime.now())
+                        .metadata(Map.of(
+                                "firstName", user.getFirstName(),
+                                "lastName", user.getLastName(),
+                                "tempPassword", tempPasswords.get(i)
+                        ))
+                        .build();
+                operations.convertAndSend(
+                        RabbitMQConstants.EVENTS_EXCHANGE,
+                        RabbitMQConstants.AUTH_ADMIN_USER_CREATED,
+                        event);
+            }
+            return null;
+        });
+        log.debug("Published {} admin user created events", users.size());
+    }
+
     public void publishPasswordChanged(UUID userId, String email) {
         AuditEvent event = AuditEvent.builder()
                 .eventId(UUID.randomUUID())
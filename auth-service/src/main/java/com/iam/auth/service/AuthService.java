@@ -6,8 +6,10 @@ import com.iam.auth.model.UserCredential;
 import com.iam.auth.repository.RefreshTokenRepository;
 import com.iam.auth.repository.UserCredentialRepository;
 import com.iam.common.exception.BaseException;
+import com.iam.common.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpStatus;
@@ -15,10 +17,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class AuthService {
@@ -32,6 +38,9 @@ public class AuthService {
     private final AuthEventPublisher eventPublisher;
     private final RedisTemplate<String, String> redisTemplate;
     private final UserServiceClient userServiceClient;
+    private final TemporaryPasswordGenerator passwordGenerator;
+    private final SessionRegistry sessionRegistry;
+    private final ExecutorService loginPipelineExecutor;
 
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
@@ -42,13 +51,19 @@ public class AuthService {
     @Value("${auth.lockout-duration-minutes}")
     private int lockoutDurationMinutes;
 
+    @Value("${auth.login-deadline-ms:3000}")
+    private long loginDeadlineMs;
+
     public AuthService(UserCredentialRepository userCredentialRepository,
                        RefreshTokenRepository refreshTokenRepository,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
                        AuthEventPublisher eventPublisher,
                        RedisTemplate<String, String> redisTemplate,
-                       UserServiceClient userServiceClient) {
+                       UserServiceClient userServiceClient,
+                       TemporaryPasswordGenerator passwordGenerator,
+                       SessionRegistry sessionRegistry,
+                       @Qualifier("loginPipelineExecutor") ExecutorService loginPipelineExecutor) {
         this.userCredentialRepository = userCredentialRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
@@ -56,6 +71,9 @@ public class AuthService {
         this.eventPublisher = eventPublisher;
         this.redisTemplate = redisTemplate;
         this.userServiceClient = userServiceClient;
+        this.passwordGenerator = passwordGenerator;
+        this.sessionRegistry = sessionRegistry;
+        this.loginPipelineExecutor = loginPipelineExecutor;
     }
 
     @Transactional
@@ -73,10 +91,12 @@ public class AuthService {
 
         credential = userCredentialRepository.save(credential);
 
+        UUID sessionId = UUID.randomUUID();
         String accessToken = jwtService.generateAccessToken(
-                credential.getId(), credential.getEmail(), "USER", "");
+                credential.getId(), credential.getEmail(), "USER", "", sessionId);
 
-        RefreshToken refreshToken = createRefreshToken(credential.getId(), credential.getEmail());
+        RefreshToken refreshToken = createRefreshToken(credential.getId(), credential.getEmail(), sessionId);
+        sessionRegistry.register(sessionId, credential.getId(), refreshToken.getExpiresAt(), null, null);
 
         eventPublisher.publishRegistration(credential.getId(), credential.getEmail());
         eventPublisher.publishUserCreated(credential.getId(), credential.getEmail(),
@@ -96,7 +116,7 @@ public class AuthService {
     }
 
     @Transactional
-    public LoginResponse login(LoginRequest request, String ipAddress) {
+    public LoginResponse login(LoginRequest request, String ipAddress, String userAgent) {
         UserCredential credential = userCredentialRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     eventPublisher.publishLoginFailed(request.getEmail(), ipAddress, "User not found");
@@ -122,16 +142,28 @@ public class AuthService {
             throw new BaseException("Account is deactivated", HttpStatus.FORBIDDEN);
         }
 
-        credential.setFailedAttempts(0);
-        userCredentialRepository.save(credential);
+        // Role and permission lookups go to user-service; start them before the local writes
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loginDeadlineMs);
+        Future<String> roles = fetchRoles(credential);
+        Future<String> permissions = fetchPermissions(credential);
 
-        String roles = userServiceClient.getUserRoles(credential.getId(), credential.getEmail());
-        String permissions = userServiceClient.getUserPermissions(credential.getId(), credential.getEmail());
+        UUID sessionId = UUID.randomUUID();
+        String accessToken;
+        RefreshToken refreshToken;
+        try {
+            credential.setFailedAttempts(0);
+            userCredentialRepository.save(credential);
 
-        String accessToken = jwtService.generateAccessToken(
-                credential.getId(), credential.getEmail(), roles, permissions);
+            refreshToken = createRefreshToken(credential.getId(), credential.getEmail(), sessionId);
 
-        RefreshToken refreshToken = createRefreshToken(credential.getId(), credential.getEmail());
+            accessToken = jwtService.generateAccessToken(credential.getId(), credential.getEmail(),
+                    await(roles, deadline), await(permissions, deadline), sessionId);
+        } finally {
+            roles.cancel(true);
+            permissions.cancel(true);
+        }
+
+        sessionRegistry.register(sessionId, credential.getId(), refreshToken.getExpiresAt(), ipAddress, userAgent);
 
         eventPublisher.publishLoginSuccess(credential.getId(), credential.getEmail(), ipAddress);
 
@@ -161,15 +193,34 @@ public class AuthService {
         UserCredential credential = userCredentialRepository.findById(refreshToken.getUserId())
                 .orElseThrow(() -> new BaseException("User not found", HttpStatus.NOT_FOUND));
 
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loginDeadlineMs);
+        Future<String> roles = fetchRoles(credential);
+        Future<String> permissions = fetchPermissions(credential);
 
-        String roles = userServiceClient.getUserRoles(credential.getId(), credential.getEmail());
-        String permissions = userServiceClient.getUserPermissions(credential.getId(), credential.getEmail());
+        // Tokens issued before the session registry existed start a new session on rotation
+        boolean legacyToken = refreshToken.getSessionId() == null;
+        UUID sessionId = legacyToken ? UUID.randomUUID() : refreshToken.getSessionId();
 
-        String accessToken = jwtService.generateAccessToken(
-                credential.getId(), credential.getEmail(), roles, permissions);
-        RefreshToken newRefreshToken = createRefreshToken(credential.getId(), credential.getEmail());
+        String accessToken;
+        RefreshToken newRefreshToken;
+        try {
+            refreshToken.setRevoked(true);
+            refreshTokenRepository.save(refreshToken);
+
+            newRefreshToken = createRefreshToken(credential.getId(), credential.getEmail(), sessionId);
+
+            accessToken = jwtService.generateAccessToken(credential.getId(), credential.getEmail(),
+                    await(roles, deadline), await(permissions, deadline), sessionId);
+        } finally {
+            roles.cancel(true);
+            permissions.cancel(true);
+        }
+
+        if (legacyToken) {
+            sessionRegistry.register(sessionId, credential.getId(), newRefreshToken.getExpiresAt(), null, null);
+        } else {
+            sessionRegistry.extend(sessionId, credential.getId(), newRefreshToken.getExpiresAt());
+        }
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -190,17 +241,37 @@ public class AuthService {
         // Revoke all refresh tokens for this user
         UUID userId = UUID.fromString(jwtService.parseToken(accessToken).getSubject());
         refreshTokenRepository.revokeAllByUserId(userId);
+        sessionRegistry.removeAll(userId);
 
         log.info("Token blacklisted and refresh tokens revoked for user {}", userId);
     }
 
+    public List<SessionResponse> listSessions(UUID userId, String currentSessionId) {
+        return sessionRegistry.listSessions(userId, currentSessionId);
+    }
+
+    /**
+     * Ends one session: its refresh tokens stop working immediately and the gateway rejects its
+     * access tokens once the session entry is gone.
+     */
+    @Transactional
+    public void revokeSession(UUID userId, UUID sessionId) {
+        if (!sessionRegistry.belongsTo(sessionId, userId)) {
+            throw new ResourceNotFoundException("Session", "id", sessionId.toString());
+        }
+        refreshTokenRepository.revokeAllBySessionId(sessionId);
+        sessionRegistry.remove(sessionId, userId);
+
+        log.info("Session {} revoked for user {}", sessionId, userId);
+    }
+
     @Transactional
     public void adminCreateUser(AdminCreateUserRequest request, UUID adminUserId) {
         if (userCredentialRepository.existsByEmail(request.getEmail())) {
             throw new BaseException("Email already registered", HttpStatus.CONFLICT);
         }
 
-        String tempPassword = generateSecurePassword();
+        String tempPassword = passwordGenerator.generate();
 
         UserCredential credential = UserCredential.builder()
                 .email(request.getEmail())
@@ -237,43 +308,47 @@ public class AuthService {
         userCredentialRepository.save(credential);
 
         refreshTokenRepository.revokeAllByUserId(userId);
+        sessionRegistry.removeAll(userId);
 
         eventPublisher.publishPasswordChanged(userId, credential.getEmail());
 
         log.info("Password changed for user: {}", credential.getEmail());
     }
 
-    private String generateSecurePassword() {
-        String upper = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        String lower = "abcdefghijklmnopqrstuvwxyz";
-        String digits = "0123456789";
-        String special = "@$!%*?&";
-        String all = upper + lower + digits + special;
-        SecureRandom random = new SecureRandom();
-
-        StringBuilder password = new StringBuilder(16);
-        password.append(upper.charAt(random.nextInt(upper.length())));
-        password.append(lower.charAt(random.nextInt(lower.length())));
-        password.append(digits.charAt(random.nextInt(digits.length())));
-        password.append(special.charAt(random.nextInt(special.length())));
-        for (int i = 4; i < 16; i++) {
-            password.append(all.charAt(random.nextInt(all.length())));
-        }
-        char[] chars = password.toString().toCharArray();
-        for (int i = chars.length - 1; i > 0; i--) {
-            int j = random.nextInt(i + 1);
-            char temp = chars[i];
-            chars[i] = chars[j];
-            chars[j] = temp;
+    private Future<String> fetchRoles(UserCredential credential) {
+        return loginPipelineExecutor.submit(
+                () -> userServiceClient.getUserRoles(credential.getId(), credential.getEmail()));
+    }
+
+    private Future<String> fetchPermissions(UserCredential credential) {
+        return loginPipelineExecutor.submit(
+                () -> userServiceClient.getUserPermissions(credential.getId(), credential.getEmail()));
+    }
+
+    /**
+     * Waits for a forked lookup until the shared login deadline. Exceeding it fails the whole
+     * login, rolling back the refresh token written in the meantime.
+     */
+    private String await(Future<String> future, long deadlineNanos) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Login pipeline exceeded its {} ms deadline", loginDeadlineMs);
+            throw new BaseException("Authentication temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException("Authentication interrupted", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Login pipeline step failed", e.getCause());
         }
-        return new String(chars);
     }
 
-    private RefreshToken createRefreshToken(UUID userId, String email) {
+    private RefreshToken createRefreshToken(UUID userId, String email, UUID sessionId) {
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(UUID.randomUUID().toString())
                 .userId(userId)
                 .email(email)
+                .sessionId(sessionId)
                 .expiresAt(LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000))
                 .build();
         return refreshTokenRepository.save(refreshToken);
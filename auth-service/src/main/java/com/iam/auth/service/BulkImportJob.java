@@ -0,0 +1,100 @@
+package com.iam.auth.service;
+
+import com.iam.auth.dto.BulkImportError;
+import com.iam.auth.dto.BulkImportResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mutable progress of one bulk import. Written by the import thread, read by status polls.
+ */
+class BulkImportJob {
+
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final UUID jobId = UUID.randomUUID();
+    private final UUID requestedBy;
+    private final int totalRows;
+    private final int maxErrors;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<BulkImportError> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    BulkImportJob(UUID requestedBy, int totalRows, int maxErrors) {
+        this.requestedBy = requestedBy;
+        this.totalRows = totalRows;
+        this.maxErrors = maxErrors;
+    }
+
+    UUID getJobId() {
+        return jobId;
+    }
+
+    UUID getRequestedBy() {
+        return requestedBy;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void finish(Status finalStatus) {
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    void recordCreated(int count) {
+        created.addAndGet(count);
+        processed.addAndGet(count);
+    }
+
+    void recordError(int line, String email, String message) {
+        failed.incrementAndGet();
+        processed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportError(line, email, message));
+            }
+        }
+    }
+
+    /**
+     * Rejects rows found invalid while parsing; they never reach the import thread.
+     */
+    void recordParseErrors(List<BulkImportError> parseErrors) {
+        for (BulkImportError error : parseErrors) {
+            recordError(error.getLine(), error.getEmail(), error.getMessage());
+        }
+    }
+
+    BulkImportResponse toResponse() {
+        List<BulkImportError> snapshot;
+        synchronized (errors) {
+            snapshot = List.copyOf(errors);
+        }
+        return BulkImportResponse.builder()
+                .jobId(jobId)
+                .status(status.name())
+                .totalRows(totalRows)
+                .processedRows(processed.get())
+                .createdCount(created.get())
+                .failedCount(failed.get())
+                .errors(snapshot)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
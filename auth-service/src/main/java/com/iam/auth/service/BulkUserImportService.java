@@ -0,0 +1,405 @@
+package com.iam.auth.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.auth.dto.BulkImportError;
+import com.iam.auth.dto.BulkImportResponse;
+import com.iam.auth.repository.UserCredentialRepository;
+import com.iam.common.events.UserEvent;
+import com.iam.common.exception.BaseException;
+import com.iam.common.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk user provisioning from CSV or NDJSON uploads.
+ * <p>
+ * The upload is parsed as it streams in and validated row by row. Rows are then imported in
+ * the background in chunks: temporary passwords are hashed in parallel on a bounded pool,
+ * credentials are written with one JDBC batch per chunk, and each chunk produces one
+ * {@code user.created.batch} message for user-service plus the per-user welcome emails
+ * published over a single channel.
+ */
+@Service
+public class BulkUserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUserImportService.class);
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private static final String INSERT_CREDENTIAL = """
+            INSERT INTO user_credentials
+                (id, email, password_hash, first_name, last_name,
+                 is_active, is_locked, failed_attempts, mfa_enabled, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, TRUE, FALSE, 0, FALSE, ?, ?)
+            ON CONFLICT (email) DO NOTHING
+            """;
+
+    private final UserCredentialRepository userCredentialRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TemporaryPasswordGenerator passwordGenerator;
+    private final AuthEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService passwordHashingExecutor;
+    private final ExecutorService bulkImportExecutor;
+    private final Map<UUID, BulkImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${auth.bulk-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${auth.bulk-import.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${auth.bulk-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${auth.bulk-import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    public BulkUserImportService(UserCredentialRepository userCredentialRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 TemporaryPasswordGenerator passwordGenerator,
+                                 AuthEventPublisher eventPublisher,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+                                 @Qualifier("bulkImportExecutor") ExecutorService bulkImportExecutor) {
+        this.userCredentialRepository = userCredentialRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordGenerator = passwordGenerator;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.bulkImportExecutor = bulkImportExecutor;
+    }
+
+    public BulkImportResponse startImport(InputStream body, MediaType contentType, UUID adminUserId) throws IOException {
+        ParsedUpload upload;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+                upload = parseCsv(reader);
+            } else if (contentType != null && APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                upload = parseNdjson(reader);
+            } else {
+                throw new BaseException("Upload must be text/csv or application/x-ndjson",
+                        HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+            }
+        }
+
+        evictFinishedJobs();
+
+        BulkImportJob job = new BulkImportJob(adminUserId, upload.totalRows(), maxReportedErrors);
+        job.recordParseErrors(upload.errors());
+        jobs.put(job.getJobId(), job);
+        bulkImportExecutor.submit(() -> run(job, upload.rows()));
+
+        log.info("Admin {} queued bulk import {} ({} rows, {} rejected while parsing)",
+                adminUserId, job.getJobId(), upload.totalRows(), upload.errors().size());
+        return job.toResponse();
+    }
+
+    public BulkImportResponse getJob(UUID jobId) {
+        BulkImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("BulkImportJob", "id", jobId.toString());
+        }
+        return job.toResponse();
+    }
+
+    private void run(BulkImportJob job, List<ImportRow> rows) {
+        job.start();
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                importChunk(job, rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+            job.finish(BulkImportJob.Status.COMPLETED);
+            log.info("Bulk import {} completed", job.getJobId());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.finish(BulkImportJob.Status.FAILED);
+            log.error("Bulk import {} failed: {}", job.getJobId(), e.getMessage(), e);
+        }
+    }
+
+    private void importChunk(BulkImportJob job, List<ImportRow> chunk) throws InterruptedException {
+        Set<String> existing = new HashSet<>(userCredentialRepository.findExistingEmails(
+                chunk.stream().map(ImportRow::email).toList()));
+
+        List<ImportRow> pending = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.email())) {
+                job.recordError(row.line(), row.email(), "Email already registered");
+            } else {
+                pending.add(row);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> tempPasswords = new ArrayList<>(pending.size());
+        List<Future<String>> hashes = new ArrayList<>(pending.size());
+        for (ImportRow ignored : pending) {
+            String tempPassword = passwordGenerator.generate();
+            tempPasswords.add(tempPassword);
+            hashes.add(passwordHashingExecutor.submit(() -> passwordEncoder.encode(tempPassword)));
+        }
+
+        List<UUID> ids = new ArrayList<>(pending.size());
+        List<Object[]> batchArgs = new ArrayList<>(pending.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < pending.size(); i++) {
+            ImportRow row = pending.get(i);
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            batchArgs.add(new Object[]{id, row.email(), awaitHash(hashes.get(i)),
+                    row.firstName(), row.lastName(), now, now});
+        }
+
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_CREDENTIAL, batchArgs));
+
+        List<UserEvent> createdUsers = new ArrayList<>(pending.size());
+        List<String> createdPasswords = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            ImportRow row = pending.get(i);
+            // 0 means another request registered the email between the pre-check and the insert
+            if (counts != null && counts[i] == 0) {
+                job.recordError(row.line(), row.email(), "Email already registered");
+                continue;
+            }
+            createdUsers.add(UserEvent.builder()
+                    .userId(ids.get(i))
+                    .email(row.email())
+                    .firstName(row.firstName())
+                    .lastName(row.lastName())
+                    .action("CREATED")
+                    .performedBy(job.getRequestedBy())
+                    .roleName(row.roleName())
+                    .departmentId(row.departmentId())
+                    .build());
+            createdPasswords.add(tempPasswords.get(i));
+        }
+
+        if (!createdUsers.isEmpty()) {
+            eventPublisher.publishUsersCreatedBatch(createdUsers, job.getRequestedBy());
+            eventPublisher.publishAdminUsersCreated(createdUsers, createdPasswords);
+        }
+        job.recordCreated(createdUsers.size());
+    }
+
+    private String awaitHash(Future<String> hash) throws InterruptedException {
+        try {
+            return hash.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    // --- Parsing ---
+
+    private ParsedUpload parseCsv(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BaseException("Upload is empty", HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("email", "firstname", "lastname")) {
+            if (!columns.containsKey(required)) {
+                throw new BaseException("CSV header must include email, firstName and lastName",
+                        HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        UploadCollector collector = new UploadCollector();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            collector.accept(lineNumber,
+                    column(fields, columns.get("email")),
+                    column(fields, columns.get("firstname")),
+                    column(fields, columns.get("lastname")),
+                    column(fields, columns.get("rolename")),
+                    column(fields, columns.get("departmentid")));
+        }
+        return collector.toUpload();
+    }
+
+    private ParsedUpload parseNdjson(BufferedReader reader) throws IOException {
+        UploadCollector collector = new UploadCollector();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                collector.reject(lineNumber, null, "Malformed JSON");
+                continue;
+            }
+            collector.accept(lineNumber,
+                    text(node, "email"),
+                    text(node, "firstName"),
+                    text(node, "lastName"),
+                    text(node, "roleName"),
+                    text(node, "departmentId"));
+        }
+        return collector.toUpload();
+    }
+
+    private static String column(List<String> fields, Integer index) {
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.asText().isBlank() ? null : value.asText().trim();
+    }
+
+    /**
+     * Splits one CSV record, honouring double-quoted fields and doubled quotes inside them.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private final class UploadCollector {
+
+        private final List<ImportRow> rows = new ArrayList<>();
+        private final List<BulkImportError> errors = new ArrayList<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private int totalRows;
+
+        void accept(int line, String email, String firstName, String lastName,
+                    String roleName, String departmentId) {
+            if (++totalRows > maxRows) {
+                throw new BaseException("Upload exceeds the limit of " + maxRows + " rows",
+                        HttpStatus.PAYLOAD_TOO_LARGE);
+            }
+            if (email == null || !EMAIL.matcher(email).matches()) {
+                errors.add(new BulkImportError(line, email, "Invalid email format"));
+            } else if (firstName == null || lastName == null) {
+                errors.add(new BulkImportError(line, email, "First and last name are required"));
+            } else if (firstName.length() > MAX_NAME_LENGTH || lastName.length() > MAX_NAME_LENGTH) {
+                errors.add(new BulkImportError(line, email, "Names are limited to " + MAX_NAME_LENGTH + " characters"));
+            } else if (departmentId != null && !isUuid(departmentId)) {
+                errors.add(new BulkImportError(line, email, "Invalid department ID"));
+            } else if (!seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+                errors.add(new BulkImportError(line, email, "Duplicate email in upload"));
+            } else {
+                rows.add(new ImportRow(line, email, firstName, lastName, roleName, departmentId));
+            }
+        }
+
+        void reject(int line, String email, String message) {
+            if (++totalRows > maxRows) {
+                throw new BaseException("Upload exceeds the limit of " + maxRows + " rows",
+                        HttpStatus.PAYLOAD_TOO_LARGE);
+            }
+            errors.add(new BulkImportError(line, email, message));
+        }
+
+        ParsedUpload toUpload() {
+            return new ParsedUpload(rows, errors, totalRows);
+        }
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private record ImportRow(int line, String email, String firstName, String lastName,
+                             String roleName, String departmentId) {}
+
+    private record ParsedUpload(List<ImportRow> rows, List<BulkImportError> errors, int totalRows) {}
+}
@@ -1,5 +1,6 @@
 package com.iam.auth.service;
 
+import com.iam.common.security.PermissionCatalog;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -25,13 +26,14 @@ public class JwtService {
         this.accessTokenExpiration = accessTokenExpiration;
     }
 
-    public String generateAccessToken(UUID userId, String email, String roles, String permissions) {
+    public String generateAccessToken(UUID userId, String email, String roles, String permissions, UUID sessionId) {
         return Jwts.builder()
                 .subject(userId.toString())
                 .claims(Map.of(
                         "email", email,
                         "roles", roles,
-                        "permissions", permissions
+                        "permissions", PermissionCatalog.encodeCsv(permissions),
+                        "sid", sessionId.toString()
                 ))
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
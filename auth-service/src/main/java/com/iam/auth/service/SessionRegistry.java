@@ -0,0 +1,200 @@
+package com.iam.auth.service;
+
+import com.iam.auth.dto.SessionResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Active login sessions, kept in Redis so listing and counting never touch {@code refresh_tokens}.
+ * <ul>
+ *     <li>{@code sessions:{userId}} – sorted set of session IDs scored by expiry (epoch millis)</li>
+ *     <li>{@code sessions:active} – the same across all users, backing the global gauge</li>
+ *     <li>{@code session:{sessionId}} – hash with session details, expiring with the session</li>
+ * </ul>
+ * Expired members are pruned lazily with {@code ZREMRANGEBYSCORE} whenever a set is read.
+ * {@code lastSeenAt} is written behind by the API gateway, not on every request.
+ */
+@Service
+public class SessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    private static final String USER_SESSIONS_PREFIX = "sessions:";
+    private static final String ACTIVE_SESSIONS_KEY = "sessions:active";
+    private static final String SESSION_PREFIX = "session:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public SessionRegistry(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        Gauge.builder("auth.sessions.active", this, SessionRegistry::countActiveSessions)
+                .description("Sessions with an unexpired refresh token")
+                .register(meterRegistry);
+    }
+
+    public void register(UUID sessionId, UUID userId, LocalDateTime expiresAt, String ipAddress, String userAgent) {
+        long now = System.currentTimeMillis();
+        long expiry = toMillis(expiresAt);
+        String sessionKey = SESSION_PREFIX + sessionId;
+        Map<String, String> details = Map.of(
+                "userId", userId.toString(),
+                "createdAt", Long.toString(now),
+                "lastSeenAt", Long.toString(now),
+                "expiresAt", Long.toString(expiry),
+                "ipAddress", ipAddress != null ? ipAddress : "",
+                "userAgent", userAgent != null ? userAgent : "");
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForHash().putAll(sessionKey, details);
+                operations.expireAt(sessionKey, Instant.ofEpochMilli(expiry));
+                operations.opsForZSet().add(USER_SESSIONS_PREFIX + userId, sessionId.toString(), expiry);
+                operations.opsForZSet().add(ACTIVE_SESSIONS_KEY, sessionId.toString(), expiry);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Moves a session's expiry forward after a refresh-token rotation.
+     */
+    public void extend(UUID sessionId, UUID userId, LocalDateTime expiresAt) {
+        long now = System.currentTimeMillis();
+        long expiry = toMillis(expiresAt);
+        String sessionKey = SESSION_PREFIX + sessionId;
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForHash().put(sessionKey, "expiresAt", Long.toString(expiry));
+                operations.opsForHash().put(sessionKey, "lastSeenAt", Long.toString(now));
+                operations.expireAt(sessionKey, Instant.ofEpochMilli(expiry));
+                operations.opsForZSet().add(USER_SESSIONS_PREFIX + userId, sessionId.toString(), expiry);
+                operations.opsForZSet().add(ACTIVE_SESSIONS_KEY, sessionId.toString(), expiry);
+                return null;
+            }
+        });
+    }
+
+    public List<SessionResponse> listSessions(UUID userId, String currentSessionId) {
+        String userKey = USER_SESSIONS_PREFIX + userId;
+        redisTemplate.opsForZSet().removeRangeByScore(userKey, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+
+        Set<String> sessionIds = redisTemplate.opsForZSet().reverseRange(userKey, 0, -1);
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> ids = new ArrayList<>(sessionIds);
+        List<Object> details = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String id : ids) {
+                    operations.opsForHash().entries(SESSION_PREFIX + id);
+                }
+                return null;
+            }
+        });
+
+        List<SessionResponse> sessions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Map<?, ?> hash = (Map<?, ?>) details.get(i);
+            if (hash == null || hash.isEmpty()) {
+                continue;
+            }
+            sessions.add(SessionResponse.builder()
+                    .sessionId(UUID.fromString(ids.get(i)))
+                    .createdAt(fromMillis(hash.get("createdAt")))
+                    .lastSeenAt(fromMillis(hash.get("lastSeenAt")))
+                    .expiresAt(fromMillis(hash.get("expiresAt")))
+                    .ipAddress((String) hash.get("ipAddress"))
+                    .userAgent((String) hash.get("userAgent"))
+                    .current(ids.get(i).equals(currentSessionId))
+                    .build());
+        }
+        return sessions;
+    }
+
+    public boolean belongsTo(UUID sessionId, UUID userId) {
+        return redisTemplate.opsForZSet().score(USER_SESSIONS_PREFIX + userId, sessionId.toString()) != null;
+    }
+
+    public void remove(UUID sessionId, UUID userId) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.delete(SESSION_PREFIX + sessionId);
+                operations.opsForZSet().remove(USER_SESSIONS_PREFIX + userId, sessionId.toString());
+                operations.opsForZSet().remove(ACTIVE_SESSIONS_KEY, sessionId.toString());
+                return null;
+            }
+        });
+    }
+
+    public void removeAll(UUID userId) {
+        String userKey = USER_SESSIONS_PREFIX + userId;
+        Set<String> sessionIds = redisTemplate.opsForZSet().range(userKey, 0, -1);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                if (sessionIds != null && !sessionIds.isEmpty()) {
+                    for (String id : sessionIds) {
+                        operations.delete(SESSION_PREFIX + id);
+                    }
+                    operations.opsForZSet().remove(ACTIVE_SESSIONS_KEY, sessionIds.toArray());
+                }
+                operations.delete(userKey);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * O(log n): prunes expired members and counts the rest. Returns NaN if Redis is unavailable
+     * so a scrape never fails.
+     */
+    double countActiveSessions() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(ACTIVE_SESSIONS_KEY, Double.NEGATIVE_INFINITY, now);
+            Long count = redisTemplate.opsForZSet().count(ACTIVE_SESSIONS_KEY, now, Double.POSITIVE_INFINITY);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            log.debug("Could not count active sessions: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(Object millis) {
+        if (millis == null || ((String) millis).isEmpty()) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong((String) millis)), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,40 @@
+package com.iam.auth.service;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Generates 16-character temporary passwords that satisfy the password policy
+ * (at least one upper, lower, digit and special character).
+ */
+@Component
+public class TemporaryPasswordGenerator {
+
+    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    private static final String SPECIAL = "@$!%*?&";
+    private static final String ALL = UPPER + LOWER + DIGITS + SPECIAL;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public String generate() {
+        StringBuilder password = new StringBuilder(16);
+        password.append(UPPER.charAt(random.nextInt(UPPER.length())));
+        password.append(LOWER.charAt(random.nextInt(LOWER.length())));
+        password.append(DIGITS.charAt(random.nextInt(DIGITS.length())));
+        password.append(SPECIAL.charAt(random.nextInt(SPECIAL.length())));
+        for (int i = 4; i < 16; i++) {
+            password.append(ALL.charAt(random.nextInt(ALL.length())));
+        }
+        char[] chars = password.toString().toCharArray();
+        for (int i = chars.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char temp = chars[i];
+            chars[i] = chars[j];
+            chars[j] = temp;
+        }
+        return new String(chars);
+    }
+}
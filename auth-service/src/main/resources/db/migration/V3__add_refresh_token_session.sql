@@ -0,0 +1,5 @@
+-- V3: Group rotated refresh tokens into login sessions
+
+ALTER TABLE refresh_tokens ADD COLUMN session_id UUID;
+
+CREATE INDEX idx_refresh_tokens_session_id ON refresh_tokens(session_id);
@@ -0,0 +1,181 @@
+package com.iam.auth.service;
+
+import com.iam.auth.dto.LoginRequest;
+import com.iam.auth.dto.LoginResponse;
+import com.iam.auth.model.RefreshToken;
+import com.iam.auth.model.UserCredential;
+import com.iam.auth.repository.RefreshTokenRepository;
+import com.iam.auth.repository.UserCredentialRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login latency with the user-service lookups forked onto virtual threads, as
+ * {@code LoginPipelineConfig} does, against running every step in turn on the request thread,
+ * as login did before. Repositories and the user-service client are stubs that sleep for a
+ * random time in the given ranges, so the percentiles reflect overlapping waits, not CPU work.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoginPipelineBenchmark {
+
+    @Param({"sequential", "virtual-threads"})
+    public String pipeline;
+
+    // Milliseconds, "min-max"
+    @Param({"10-40"})
+    public String userServiceLatency;
+
+    @Param({"1-5"})
+    public String databaseLatency;
+
+    private ExecutorService executor;
+    private AuthService authService;
+    private LoginRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = pipeline.equals("sequential")
+                ? new CallerRunsExecutor()
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("login-pipeline-", 0).factory());
+
+        UserCredential credential = UserCredential.builder()
+                .id(UUID.randomUUID())
+                .email("jane.doe@example.com")
+                .passwordHash("hash")
+                .firstName("Jane")
+                .lastName("Doe")
+                .build();
+
+        UserCredentialRepository credentials = mock(UserCredentialRepository.class);
+        when(credentials.findByEmail(anyString())).thenAnswer(invocation -> {
+            sleep(databaseLatency);
+            return Optional.of(credential);
+        });
+        when(credentials.save(any(UserCredential.class))).thenAnswer(invocation -> {
+            sleep(databaseLatency);
+            return invocation.getArgument(0);
+        });
+
+        RefreshTokenRepository refreshTokens = mock(RefreshTokenRepository.class);
+        when(refreshTokens.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            sleep(databaseLatency);
+            return invocation.getArgument(0);
+        });
+
+        UserServiceClient userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.getUserRoles(any(), anyString())).thenAnswer(invocation -> {
+            sleep(userServiceLatency);
+            return "ADMIN,USER";
+        });
+        when(userServiceClient.getUserPermissions(any(), anyString())).thenReturn("");
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateAccessToken(any(), anyString(), anyString(), anyString(), any())).thenReturn("token");
+        when(jwtService.getAccessTokenExpiration()).thenReturn(900_000L);
+
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+
+        authService = new AuthService(credentials, refreshTokens, passwordEncoder, jwtService,
+                mock(AuthEventPublisher.class), redisTemplate, userServiceClient,
+                mock(TemporaryPasswordGenerator.class), mock(SessionRegistry.class), executor);
+        ReflectionTestUtils.setField(authService, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(authService, "loginDeadlineMs", 3000L);
+
+        request = new LoginRequest(credential.getEmail(), "password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public LoginResponse login() {
+        return authService.login(request, "127.0.0.1", "benchmark");
+    }
+
+    private static void sleep(String range) throws InterruptedException {
+        int dash = range.indexOf('-');
+        long min = Long.parseLong(range.substring(0, dash));
+        long max = Long.parseLong(range.substring(dash + 1));
+        Thread.sleep(ThreadLocalRandom.current().nextLong(min, max + 1));
+    }
+
+    /**
+     * Runs each task on the submitting thread, so the lookups finish before login moves on.
+     */
+    private static final class CallerRunsExecutor extends AbstractExecutorService {
+
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -19,11 +19,24 @@ public final class RabbitMQConstants {
     public static final String USER_CREATED = "user.created";
     public static final String USER_UPDATED = "user.updated";
     public static final String USER_DELETED = "user.deleted";
+    public static final String USER_ROLE_EXPIRED = "user.role-expired";
+    // Three segments on purpose: stays out of the audit "user.*" binding, which expects single UserEvents
+    public static final String USER_CREATED_BATCH = "user.created.batch";
+    // Three segments for the same reason; audit consumes it on its own queue
+    public static final String USER_ROLES_BULK_CHANGED = "user.roles.bulk-changed";
+
+    public static final String ROLE_CATALOG_CHANGED = "role.catalog.changed";
+    public static final String ROLE_MEMBERS_CHANGED = "role.members.changed";
+    public static final String ROLE_GRANT_SCHEDULED = "role.grant.scheduled";
+    public static final String USER_PROFILES_CHANGED = "user.profiles.changed";
+    public static final String ACCESS_POLICIES_CHANGED = "access.policies.changed";
 
     public static final String RESOURCE_ACCESS_REQUESTED = "resource.access.requested";
     public static final String RESOURCE_ACCESS_APPROVED = "resource.access.approved";
     public static final String RESOURCE_ACCESS_DENIED = "resource.access.denied";
     public static final String RESOURCE_ACCESS_REVOKED = "resource.access.revoked";
+    // Four segments: stays out of the notification "resource.access.*" binding, which expects single AccessDecisionEvents
+    public static final String RESOURCE_ACCESS_DECIDED_BATCH = "resource.access.decided.batch";
     public static final String RESOURCE_COLLISION_DETECTED = "resource.collision.detected";
 
     public static final String SECURITY_ALERT = "security.alert";
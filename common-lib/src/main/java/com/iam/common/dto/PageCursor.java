@@ -0,0 +1,63 @@
+package com.iam.common.dto;
+
+import com.iam.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and ID of the last row returned.
+ * Listings are ordered by {@code (sortKey DESC, id DESC)}, so the next page is every row
+ * strictly after this pair. Clients receive it as an opaque token and send it back unchanged.
+ * Both parts are required: the listed columns are {@code NOT NULL}, since rows without a sort
+ * key could not be paged past.
+ */
+public record PageCursor(LocalDateTime sortKey, UUID id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    public PageCursor {
+        Objects.requireNonNull(sortKey, "Page cursor requires a sort key");
+        Objects.requireNonNull(id, "Page cursor requires an id");
+    }
+
+    public String encode() {
+        String raw = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token from {@link #encode()}. A blank token means "first page" and yields {@code null}.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BaseException("Invalid page cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static int pageSize(int requested) {
+        if (requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
@@ -1,22 +1,72 @@
 package com.iam.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * One page of a listing, in either offset or cursor mode.
+ * <p>
+ * Offset pages carry {@code page}, {@code totalElements} and {@code totalPages}. Cursor pages
+ * leave those out, since counting would rescan the table, and carry {@code nextCursor} instead.
+ * {@code nextCursor} is absent on the last page.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponse<T> {
 
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    private String nextCursor;
+
+    public static <T> PagedResponse<T> of(Page<T> page) {
+        return PagedResponse.<T>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Builds a cursor page from rows fetched with a limit of {@code pageSize + 1}. The extra row
+     * only signals that another page exists and is dropped.
+     */
+    public static <T> PagedResponse<T> ofCursor(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        boolean last = rows.size() <= pageSize;
+        List<T> content = last ? rows : rows.subList(0, pageSize);
+        return PagedResponse.<T>builder()
+                .content(List.copyOf(content))
+                .size(pageSize)
+                .last(last)
+                .nextCursor(last || content.isEmpty() ? null : cursorOf.apply(content.get(content.size() - 1)).encode())
+                .build();
+    }
+
+    public <R> PagedResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return PagedResponse.<R>builder()
+                .content(content.stream().<R>map(mapper).toList())
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .last(last)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
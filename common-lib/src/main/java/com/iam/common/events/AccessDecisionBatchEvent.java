@@ -0,0 +1,32 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A chunk of {@link AccessDecisionEvent}s published as one message, e.g. the requests revoked
+ * when a resource is deactivated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessDecisionBatchEvent implements Serializable {
+
+    private UUID batchId;
+    private UUID performedBy;
+
+    @Builder.Default
+    private List<AccessDecisionEvent> decisions = new ArrayList<>();
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
@@ -0,0 +1,24 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Tells every user-service instance to recompile its access policies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessPoliciesChangedEvent implements Serializable {
+
+    private String originInstance;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
@@ -0,0 +1,29 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One event for a bulk role assignment or revocation, listing every user whose roles changed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleAssignmentsChangedEvent implements Serializable {
+
+    private String roleName;
+    private String action; // ASSIGNED, REVOKED
+    private UUID performedBy;
+    private List<UUID> userIds;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
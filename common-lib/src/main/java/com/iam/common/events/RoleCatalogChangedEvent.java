@@ -0,0 +1,25 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Tells every user-service instance to rebuild its in-memory role/permission catalog.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleCatalogChangedEvent implements Serializable {
+
+    private String originInstance;
+    private long version;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
@@ -0,0 +1,29 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tells every user-service instance about a new or changed time-bound role assignment, so the
+ * instance currently revoking expired grants schedules it regardless of where it was made.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleGrantScheduledEvent implements Serializable {
+
+    private String originInstance;
+    private UUID userId;
+    private UUID roleId;
+    private LocalDateTime expiresAt;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
@@ -0,0 +1,27 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Tells every user-service instance that the members of some roles changed. An empty
+ * {@code roleNames} means any role may have changed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleMembersChangedEvent implements Serializable {
+
+    private String originInstance;
+    private Set<String> roleNames;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
@@ -0,0 +1,32 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A chunk of {@link UserEvent}s published as one message, e.g. by bulk provisioning.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchEvent implements Serializable {
+
+    private UUID batchId;
+    private String action; // CREATED
+    private UUID performedBy;
+
+    @Builder.Default
+    private List<UserEvent> users = new ArrayList<>();
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
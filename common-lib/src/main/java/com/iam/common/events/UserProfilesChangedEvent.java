@@ -0,0 +1,28 @@
+package com.iam.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tells every user-service instance to drop cached profiles. An empty {@code userIds} means
+ * every profile may have changed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfilesChangedEvent implements Serializable {
+
+    private String originInstance;
+    private Set<UUID> userIds;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
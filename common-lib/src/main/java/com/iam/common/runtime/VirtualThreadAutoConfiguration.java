@@ -0,0 +1,71 @@
+package com.iam.common.runtime;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Guard rails for the {@code virtual-threads} profile. Active only when
+ * {@code spring.threads.virtual.enabled=true}; Spring Boot itself then moves Tomcat request
+ * handling, {@code @RabbitListener} containers and task execution onto virtual threads.
+ * <ul>
+ *     <li>wraps the {@link DataSource} in a {@link BoundedDataSource}
+ *     ({@code iam.virtual-threads.db-permits}, {@code iam.virtual-threads.db-acquire-timeout-ms})</li>
+ *     <li>publishes JFR pinning events as metrics ({@code iam.virtual-threads.pinning-threshold-ms})</li>
+ * </ul>
+ */
+@AutoConfiguration(
+        after = {DataSourceAutoConfiguration.class, TaskExecutionAutoConfiguration.class},
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    @ConditionalOnClass(DelegatingDataSource.class)
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int permits = environment.getProperty("iam.virtual-threads.db-permits", Integer.class, 20);
+        long timeoutMs = environment.getProperty("iam.virtual-threads.db-acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, permits, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry, Environment environment,
+            ObjectProvider<DataSource> dataSource) {
+        long thresholdMs = environment.getProperty("iam.virtual-threads.pinning-threshold-ms", Long.class, 20L);
+
+        if (dataSource.getIfAvailable() instanceof BoundedDataSource bounded) {
+            Gauge.builder("iam.db.permits.available", bounded, BoundedDataSource::availablePermits)
+                    .description("Free database permits under the virtual-thread guard")
+                    .register(meterRegistry);
+            Gauge.builder("iam.db.permits.waiting", bounded, BoundedDataSource::queueLength)
+                    .description("Threads waiting for a database permit")
+                    .register(meterRegistry);
+        }
+
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+}
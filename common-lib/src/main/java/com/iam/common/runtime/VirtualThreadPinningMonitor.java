@@ -0,0 +1,83 @@
+package com.iam.common.runtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events into Micrometer.
+ * <p>
+ * A virtual thread is pinned when it blocks inside a {@code synchronized} block or a native
+ * frame and so keeps its carrier thread busy. Exposes {@code jvm.threads.virtual.pinned}
+ * (count) and {@code jvm.threads.virtual.pinned.duration} (timer). The top application frame
+ * is logged at DEBUG so hot spots can be found without a full recording.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCount = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedDuration.record(event.getDuration());
+        if (log.isDebugEnabled() && event.getStackTrace() != null) {
+            event.getStackTrace().getFrames().stream()
+                    .filter(RecordedFrame::isJavaFrame)
+                    .filter(frame -> frame.getMethod().getType().getName().startsWith("com.iam."))
+                    .findFirst()
+                    .ifPresent(frame -> log.debug("Virtual thread pinned for {} ms at {}.{}:{}",
+                            event.getDuration().toMillis(),
+                            frame.getMethod().getType().getName(),
+                            frame.getMethod().getName(),
+                            frame.getLineNumber()));
+        }
+    }
+}
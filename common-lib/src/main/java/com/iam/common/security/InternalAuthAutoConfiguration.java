@@ -0,0 +1,29 @@
+package com.iam.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Provides the shared {@link InternalJwtFilter} to servlet services that have Spring Security
+ * on the classpath. Each service's {@code SecurityConfig} still decides where the filter sits
+ * in its chain. Disable with {@code iam.security.internal-auth.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(SecurityContextHolder.class)
+@ConditionalOnProperty(prefix = "iam.security.internal-auth", name = "enabled", matchIfMissing = true)
+public class InternalAuthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InternalJwtFilter internalJwtFilter(
+            @Value("${iam.security.internal-auth.max-cached-authority-sets:256}") int maxCachedAuthoritySets) {
+        return new InternalJwtFilter(maxCachedAuthoritySets);
+    }
+}
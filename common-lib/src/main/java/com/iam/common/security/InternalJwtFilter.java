@@ -0,0 +1,100 @@
+package com.iam.common.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates requests from the identity headers the API gateway forwards after validating
+ * the JWT. Registered by {@link InternalAuthAutoConfiguration} in every servlet service.
+ * <p>
+ * Authorities are cached per (roles, permissions) header pair. Only a handful of role
+ * combinations exist, so nearly every request reuses a pre-built immutable list. Once the
+ * cache is full, new pairs are built per request and not cached, so hostile header values
+ * cannot grow memory.
+ */
+public class InternalJwtFilter extends OncePerRequestFilter {
+
+    private final int maxCachedAuthoritySets;
+    private final Map<AuthorityKey, List<GrantedAuthority>> authorityCache = new ConcurrentHashMap<>();
+
+    public InternalJwtFilter(int maxCachedAuthoritySets) {
+        this.maxCachedAuthoritySets = maxCachedAuthoritySets;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String userId = request.getHeader("X-User-Id");
+        String userEmail = request.getHeader("X-User-Email");
+        String userRoles = request.getHeader("X-User-Roles");
+        String userPermissions = request.getHeader("X-User-Permissions");
+
+        if (userId != null && userEmail != null) {
+            String roles = userRoles != null ? userRoles : "";
+            String permissions = userPermissions != null ? userPermissions : "";
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userId, null, authoritiesFor(roles, permissions));
+            authentication.setDetails(Map.of(
+                    "email", userEmail,
+                    "roles", roles,
+                    "permissions", permissions
+            ));
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    List<GrantedAuthority> authoritiesFor(String roles, String permissions) {
+        AuthorityKey key = new AuthorityKey(roles, permissions);
+        List<GrantedAuthority> cached = authorityCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<GrantedAuthority> authorities = buildAuthorities(roles, permissions);
+        if (authorityCache.size() < maxCachedAuthoritySets) {
+            List<GrantedAuthority> previous = authorityCache.putIfAbsent(key, authorities);
+            return previous != null ? previous : authorities;
+        }
+        return authorities;
+    }
+
+    private static List<GrantedAuthority> buildAuthorities(String roles, String permissions) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        if (!roles.isBlank()) {
+            for (String role : roles.split(",")) {
+                String trimmed = role.trim();
+                if (!trimmed.isEmpty()) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_" + trimmed));
+                }
+            }
+        }
+
+        for (String permission : PermissionCatalog.resolve(permissions)) {
+            authorities.add(new SimpleGrantedAuthority(permission));
+        }
+
+        return List.copyOf(authorities);
+    }
+
+    private record AuthorityKey(String roles, String permissions) {}
+}
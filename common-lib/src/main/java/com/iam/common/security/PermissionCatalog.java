@@ -0,0 +1,168 @@
+package com.iam.common.security;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned bit assignment for {@link SecurityPermissions}.
+ * <p>
+ * Each permission owns one bit of a {@code long} mask, so a permission set travels in
+ * tokens and {@code X-User-Permissions} headers as {@code v1.<base64url bytes>} instead of
+ * a comma-separated list. The bit order is append-only: new permissions go at the end of
+ * {@link #PERMISSIONS}; reordering or removing an entry requires bumping {@link #VERSION}.
+ */
+public final class PermissionCatalog {
+
+    private PermissionCatalog() {}
+
+    public static final int VERSION = 1;
+    public static final String PREFIX = "v" + VERSION + ".";
+
+    private static final List<String> PERMISSIONS = List.of(
+            SecurityPermissions.USER_READ,
+            SecurityPermissions.USER_WRITE,
+            SecurityPermissions.USER_DELETE,
+            SecurityPermissions.ROLE_MANAGE,
+            SecurityPermissions.RESOURCE_READ,
+            SecurityPermissions.RESOURCE_WRITE,
+            SecurityPermissions.RESOURCE_DELETE,
+            SecurityPermissions.RESOURCE_REQUEST,
+            SecurityPermissions.RESOURCE_APPROVE,
+            SecurityPermissions.AUDIT_READ,
+            SecurityPermissions.AUDIT_EXPORT,
+            SecurityPermissions.SYSTEM_CONFIG
+    );
+
+    private static final Map<String, Integer> BIT_INDEX;
+
+    static {
+        if (PERMISSIONS.size() > Long.SIZE) {
+            throw new IllegalStateException("Permission catalog exceeds " + Long.SIZE + " bits");
+        }
+        Map<String, Integer> index = new java.util.HashMap<>();
+        for (int i = 0; i < PERMISSIONS.size(); i++) {
+            index.put(PERMISSIONS.get(i), i);
+        }
+        BIT_INDEX = Map.copyOf(index);
+    }
+
+    // Bounded by 2^PERMISSIONS.size() distinct masks; in practice a handful per role set
+    private static final Map<Long, Set<String>> DECODED = new ConcurrentHashMap<>();
+
+    public static List<String> permissions() {
+        return PERMISSIONS;
+    }
+
+    /**
+     * Returns the mask bit for a permission, or {@code 0} if it is not part of the catalog.
+     */
+    public static long bit(String permission) {
+        Integer index = BIT_INDEX.get(permission);
+        return index != null ? 1L << index : 0L;
+    }
+
+    public static boolean has(long mask, String permission) {
+        long bit = bit(permission);
+        return bit != 0L && (mask & bit) != 0L;
+    }
+
+    public static long toMask(Collection<String> permissions) {
+        long mask = 0L;
+        for (String permission : permissions) {
+            mask |= bit(permission.trim());
+        }
+        return mask;
+    }
+
+    /**
+     * Encodes a permission collection. Permissions unknown to this catalog version are dropped;
+     * an empty set encodes to an empty string so absent permissions keep an empty header.
+     */
+    public static String encode(Collection<String> permissions) {
+        return encodeMask(toMask(permissions));
+    }
+
+    public static String encodeCsv(String permissions) {
+        if (permissions == null || permissions.isBlank()) {
+            return "";
+        }
+        return encode(Arrays.asList(permissions.split(",")));
+    }
+
+    public static String encodeMask(long mask) {
+        if (mask == 0L) {
+            return "";
+        }
+        int length = (Long.SIZE - Long.numberOfLeadingZeros(mask) + 7) / Byte.SIZE;
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[i] = (byte) mask;
+            mask >>>= Byte.SIZE;
+        }
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static boolean isEncoded(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    public static long decodeMask(String encoded) {
+        if (!isEncoded(encoded)) {
+            throw new IllegalArgumentException("Unsupported permission encoding");
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded.substring(PREFIX.length()));
+        if (bytes.length > Long.BYTES) {
+            throw new IllegalArgumentException("Permission mask too long");
+        }
+        long mask = 0L;
+        for (byte b : bytes) {
+            mask = (mask << Byte.SIZE) | (b & 0xFFL);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the immutable, cached permission set for a mask.
+     */
+    public static Set<String> decode(long mask) {
+        return DECODED.computeIfAbsent(mask, m -> {
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 0; i < PERMISSIONS.size(); i++) {
+                if ((m & (1L << i)) != 0L) {
+                    names.add(PERMISSIONS.get(i));
+                }
+            }
+            return Collections.unmodifiableSet(names);
+        });
+    }
+
+    /**
+     * Resolves an {@code X-User-Permissions} value in either the compact or the legacy
+     * comma-separated form. Internal service-to-service calls still send the legacy form.
+     * A compact value that does not decode grants no permissions.
+     */
+    public static Set<String> resolve(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        if (isEncoded(value)) {
+            try {
+                return decode(decodeMask(value));
+            } catch (IllegalArgumentException e) {
+                return Set.of();
+            }
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(permission -> !permission.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,51 @@
+package com.iam.common.dto;
+
+import com.iam.common.exception.BaseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void decodeReadsWhatEncodeWrote() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), UUID.randomUUID());
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankTokenIsTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void malformedTokensAreBadRequests() {
+        for (String token : List.of("not a cursor", "bm8tc2VwYXJhdG9y", "MjAyNi0wMS0wMXx4")) {
+            assertThatThrownBy(() -> PageCursor.decode(token))
+                    .isInstanceOfSatisfying(BaseException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    @Test
+    void cursorRequiresASortKeyAndId() {
+        assertThatThrownBy(() -> new PageCursor(null, UUID.randomUUID())).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new PageCursor(LocalDateTime.now(), null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(PageCursor.pageSize(0)).isEqualTo(PageCursor.DEFAULT_PAGE_SIZE);
+        assertThat(PageCursor.pageSize(-5)).isEqualTo(PageCursor.DEFAULT_PAGE_SIZE);
+        assertThat(PageCursor.pageSize(50)).isEqualTo(50);
+        assertThat(PageCursor.pageSize(1000)).isEqualTo(PageCursor.MAX_PAGE_SIZE);
+    }
+}
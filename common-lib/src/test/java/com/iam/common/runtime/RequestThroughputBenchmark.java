@@ -0,0 +1,148 @@
+package com.iam.common.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second of servlet-style request handling in both execution modes, for a burst
+ * of {@value #REQUESTS} concurrent requests that each hold a pooled connection for a query and
+ * then wait on other blocking I/O (mail, user-service) without it:
+ * <ul>
+ *     <li>{@code platform}: the default fixed Tomcat pool of 200 threads in front of the
+ *     connection pool</li>
+ *     <li>{@code virtual-threads}: a virtual thread per request, with the connection pool behind
+ *     a {@link BoundedDataSource} of as many permits, as the {@code virtual-threads} profile
+ *     configures it</li>
+ * </ul>
+ * The connection pool is simulated with {@value #POOL_SIZE} connections, so with little other
+ * I/O both modes are bound by it, and with more the platform pool runs out of threads first.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestThroughputBenchmark {
+
+    private static final int REQUESTS = 2000;
+    private static final int POOL_SIZE = 20;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual-threads"})
+    public String mode;
+
+    @Param({"2"})
+    public long queryMillis;
+
+    @Param({"5", "50"})
+    public long otherIoMillis;
+
+    private ExecutorService executor;
+    private DataSource dataSource;
+    private List<Callable<Void>> burst;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataSource pool = new SimulatedPool(POOL_SIZE);
+        if (mode.equals("platform")) {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            dataSource = pool;
+        } else {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            dataSource = new BoundedDataSource(pool, POOL_SIZE, 30_000);
+        }
+
+        burst = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            burst.add(this::handleRequest);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws InterruptedException, ExecutionException {
+        for (Future<Void> request : executor.invokeAll(burst)) {
+            request.get();
+        }
+    }
+
+    private Void handleRequest() throws SQLException, InterruptedException {
+        try (Connection connection = dataSource.getConnection()) {
+            Thread.sleep(queryMillis);
+        }
+        Thread.sleep(otherIoMillis);
+        return null;
+    }
+
+    /**
+     * A connection pool that blocks callers while all its connections are out, like Hikari.
+     */
+    private static final class SimulatedPool extends AbstractDataSource {
+
+        private final Semaphore connections;
+
+        SimulatedPool(int size) {
+            this.connections = new Semaphore(size, true);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                if (!connections.tryAcquire(30, TimeUnit.SECONDS)) {
+                    throw new SQLTransientConnectionException("Connection is not available");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a connection", e);
+            }
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            connections.release();
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.iam.common.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request authentication built by the filter each service used to copy, which split the
+ * headers on every request, against {@link InternalJwtFilter}'s cached authorities, on a hit
+ * and on a miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InternalJwtFilterBenchmark {
+
+    private static final String USER_ID = "3f2c1a9e-7b1d-4c0e-9a55-2d8f6b1e4c77";
+    private static final String EMAIL = "jane.doe@example.com";
+    private static final String ROLES = "ADMIN,USER";
+
+    private String legacyPermissions;
+    private String encodedPermissions;
+    private InternalJwtFilter cachingFilter;
+    private InternalJwtFilter uncachedFilter;
+
+    @Setup
+    public void setUp() {
+        legacyPermissions = String.join(",", PermissionCatalog.permissions());
+        encodedPermissions = PermissionCatalog.encodeCsv(legacyPermissions);
+        cachingFilter = new InternalJwtFilter(1000);
+        uncachedFilter = new InternalJwtFilter(0);
+        cachingFilter.authoritiesFor(ROLES, encodedPermissions);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken legacy() {
+        return authenticate(legacyAuthorities(ROLES, legacyPermissions), ROLES, legacyPermissions);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cached() {
+        return authenticate(cachingFilter.authoritiesFor(ROLES, encodedPermissions), ROLES, encodedPermissions);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken uncached() {
+        return authenticate(uncachedFilter.authoritiesFor(ROLES, encodedPermissions), ROLES, encodedPermissions);
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticate(Collection<? extends GrantedAuthority> authorities,
+                                                                    String roles, String permissions) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(USER_ID, null, authorities);
+        authentication.setDetails(Map.of(
+                "email", EMAIL,
+                "roles", roles,
+                "permissions", permissions
+        ));
+        return authentication;
+    }
+
+    // buildAuthorities as it was in each service before the filter moved to common-lib
+    private static List<SimpleGrantedAuthority> legacyAuthorities(String roles, String permissions) {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(Collections.emptyList());
+
+        if (roles != null && !roles.isBlank()) {
+            authorities.addAll(
+                    Arrays.stream(roles.split(","))
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.trim()))
+                            .collect(Collectors.toList())
+            );
+        }
+
+        if (permissions != null && !permissions.isBlank()) {
+            authorities.addAll(
+                    Arrays.stream(permissions.split(","))
+                            .map(perm -> new SimpleGrantedAuthority(perm.trim()))
+                            .collect(Collectors.toList())
+            );
+        }
+
+        return authorities;
+    }
+}
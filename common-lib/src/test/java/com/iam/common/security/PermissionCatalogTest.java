@@ -0,0 +1,93 @@
+package com.iam.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PermissionCatalogTest {
+
+    @Test
+    void encodeThenResolveRoundTrips() {
+        List<String> permissions = List.of(SecurityPermissions.USER_READ, SecurityPermissions.RESOURCE_APPROVE,
+                SecurityPermissions.SYSTEM_CONFIG);
+
+        String encoded = PermissionCatalog.encode(permissions);
+
+        assertThat(encoded).startsWith(PermissionCatalog.PREFIX);
+        assertThat(PermissionCatalog.resolve(encoded)).containsExactlyInAnyOrderElementsOf(permissions);
+    }
+
+    @Test
+    void everyPermissionOwnsItsOwnBit() {
+        long all = PermissionCatalog.toMask(PermissionCatalog.permissions());
+
+        assertThat(Long.bitCount(all)).isEqualTo(PermissionCatalog.permissions().size());
+        assertThat(PermissionCatalog.decode(PermissionCatalog.decodeMask(PermissionCatalog.encodeMask(all))))
+                .containsExactlyElementsOf(PermissionCatalog.permissions());
+    }
+
+    @Test
+    void encodeDropsUnknownPermissions() {
+        String encoded = PermissionCatalog.encode(List.of(SecurityPermissions.AUDIT_READ, "unknown:permission"));
+
+        assertThat(PermissionCatalog.resolve(encoded)).containsExactly(SecurityPermissions.AUDIT_READ);
+    }
+
+    @Test
+    void emptySetEncodesToEmptyString() {
+        assertThat(PermissionCatalog.encode(List.of())).isEmpty();
+        assertThat(PermissionCatalog.encodeCsv(" ")).isEmpty();
+        assertThat(PermissionCatalog.resolve("")).isEmpty();
+    }
+
+    @Test
+    void encodeCsvTrimsEntries() {
+        String encoded = PermissionCatalog.encodeCsv("user:read, user:write");
+
+        assertThat(PermissionCatalog.resolve(encoded))
+                .containsExactly(SecurityPermissions.USER_READ, SecurityPermissions.USER_WRITE);
+    }
+
+    @Test
+    void hasTestsTheBit() {
+        long mask = PermissionCatalog.toMask(List.of(SecurityPermissions.RESOURCE_READ));
+
+        assertThat(PermissionCatalog.has(mask, SecurityPermissions.RESOURCE_READ)).isTrue();
+        assertThat(PermissionCatalog.has(mask, SecurityPermissions.RESOURCE_WRITE)).isFalse();
+        assertThat(PermissionCatalog.has(-1L, "unknown:permission")).isFalse();
+    }
+
+    @Test
+    void decodedSetsAreCachedAndImmutable() {
+        long mask = PermissionCatalog.toMask(List.of(SecurityPermissions.USER_READ));
+        Set<String> decoded = PermissionCatalog.decode(mask);
+
+        assertThat(PermissionCatalog.decode(mask)).isSameAs(decoded);
+        assertThatThrownBy(() -> decoded.add(SecurityPermissions.USER_WRITE))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void resolveReadsTheLegacyCommaSeparatedForm() {
+        assertThat(PermissionCatalog.resolve("user:read, ,resource:read"))
+                .containsExactly(SecurityPermissions.USER_READ, SecurityPermissions.RESOURCE_READ);
+    }
+
+    @Test
+    void resolveGrantsNothingForMalformedMasks() {
+        assertThat(PermissionCatalog.resolve(PermissionCatalog.PREFIX + "not*base64")).isEmpty();
+        assertThat(PermissionCatalog.resolve(PermissionCatalog.PREFIX + "AAAAAAAAAAAAAAAAAAAA")).isEmpty();
+    }
+
+    @Test
+    void decodeMaskRejectsMalformedMasks() {
+        assertThatThrownBy(() -> PermissionCatalog.decodeMask("user:read"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PermissionCatalog.decodeMask(PermissionCatalog.PREFIX + "%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,6 +2,7 @@ import { createContext, useContext, useReducer, useEffect, useCallback, type Rea
 import { jwtDecode } from 'jwt-decode';
 import { authService } from '@/services/auth.service';
 import type { AuthState, AuthUser, JwtPayload, LoginRequest, RegisterRequest } from '@/types/auth';
+import { decodePermissions } from '@/lib/permissions';
 
 type AuthAction =
   | { type: 'LOGIN_START' }
@@ -63,7 +64,7 @@ function decodeTokenToUser(accessToken: string, firstName: string, lastName: str
     firstName,
     lastName,
     roles: payload.roles ? payload.roles.split(',') : [],
-    permissions: payload.permissions ? payload.permissions.split(',') : [],
+    permissions: decodePermissions(payload.permissions),
   };
 }
 
@@ -1,5 +1,6 @@
 import axios from 'axios';
 import { jwtDecode } from 'jwt-decode';
+import { decodePermissions } from '@/lib/permissions';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8090';
 
@@ -87,7 +88,7 @@ apiClient.interceptors.response.use(
             id: payload.sub,
             email: payload.email,
             roles: payload.roles ? payload.roles.split(',') : [],
-            permissions: payload.permissions ? payload.permissions.split(',') : [],
+            permissions: decodePermissions(payload.permissions),
           };
           localStorage.setItem('user', JSON.stringify(updatedUser));
           console.log('[API] User updated after refresh, roles:', updatedUser.roles);
@@ -0,0 +1,34 @@
+// Mirrors com.iam.common.security.PermissionCatalog: bit i <=> PERMISSION_BITS[i].
+// Append-only; keep in sync with the backend catalog version.
+const PERMISSION_CATALOG_PREFIX = 'v1.';
+
+const PERMISSION_BITS = [
+  'user:read',
+  'user:write',
+  'user:delete',
+  'role:manage',
+  'resource:read',
+  'resource:write',
+  'resource:delete',
+  'resource:request',
+  'resource:approve',
+  'audit:read',
+  'audit:export',
+  'system:config',
+] as const;
+
+export function decodePermissions(claim?: string): string[] {
+  if (!claim) return [];
+  if (!claim.startsWith(PERMISSION_CATALOG_PREFIX)) return claim.split(',');
+
+  const base64 = claim.slice(PERMISSION_CATALOG_PREFIX.length).replace(/-/g, '+').replace(/_/g, '/');
+  const bytes = atob(base64.padEnd(Math.ceil(base64.length / 4) * 4, '='));
+
+  // Masks stay well below 2^53 for the current catalog, so plain numbers are safe here
+  let mask = 0;
+  for (let i = 0; i < bytes.length; i++) {
+    mask = mask * 256 + bytes.charCodeAt(i);
+  }
+
+  return PERMISSION_BITS.filter((_, bit) => Math.floor(mask / 2 ** bit) % 2 === 1);
+}
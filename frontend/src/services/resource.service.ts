@@ -3,7 +3,9 @@ import type { ApiResponse, Page, PaginationParams } from '@/types/api';
 import type {
   ResourceResponse, CreateResourceRequest, UpdateResourceRequest,
   AccessRequestResponse, CreateAccessRequestRequest, ReviewAccessRequestRequest,
-  ResourceType, ResourceCategory,
+  BatchReviewItem, BatchReviewResult,
+  ResourceType, ResourceCategory, ResourceAvailabilityResponse, ResourceUtilizationResponse,
+  ResourceOccupancyResponse, OccupancyHeatmapResponse,
 } from '@/types/resource';
 
 export const resourceService = {
@@ -77,6 +79,47 @@ export const resourceService = {
     return data.data!;
   },
 
+  exportReservations: async (
+    from: string, to: string,
+    options: { resourceId?: string; format?: 'ndjson' | 'ics' } = {},
+  ): Promise<Blob> => {
+    const { data } = await apiClient.get<Blob>('/api/v1/resources/reservations/export', { params: { from, to, ...options }, responseType: 'blob' });
+    return data;
+  },
+
+  getUtilization: async (resourceId: string, from: string, to: string): Promise<ResourceUtilizationResponse> => {
+    const { data } = await apiClient.get<ApiResponse<ResourceUtilizationResponse>>(`/api/v1/resources/${resourceId}/utilization`, { params: { from, to } });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
+  getAvailability: async (
+    from: string, to: string,
+    filters: { type?: ResourceType; category?: ResourceCategory; minMinutes?: number } = {},
+  ): Promise<ResourceAvailabilityResponse[]> => {
+    const { data } = await apiClient.get<ApiResponse<ResourceAvailabilityResponse[]>>('/api/v1/resources/availability', { params: { from, to, ...filters } });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
+  getOccupancy: async (resourceId: string, date: string): Promise<ResourceOccupancyResponse> => {
+    const { data } = await apiClient.get<ApiResponse<ResourceOccupancyResponse>>(`/api/v1/resources/${resourceId}/occupancy`, { params: { date } });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
+  isFree: async (resourceId: string, from: string, to: string): Promise<boolean> => {
+    const { data } = await apiClient.get<ApiResponse<boolean>>(`/api/v1/resources/${resourceId}/free`, { params: { from, to } });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
+  getOccupancyHeatmap: async (date: string, category?: ResourceCategory): Promise<OccupancyHeatmapResponse> => {
+    const { data } = await apiClient.get<ApiResponse<OccupancyHeatmapResponse>>('/api/v1/resources/occupancy/heatmap', { params: { date, category } });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
   getAccessRequestsByResource: async (resourceId: string, params: PaginationParams = {}): Promise<Page<AccessRequestResponse>> => {
     console.log('[ResourceService] Fetching access requests for resource:', resourceId);
     const { data } = await apiClient.get<ApiResponse<Page<AccessRequestResponse>>>(`/api/v1/resources/${resourceId}/access-requests`, { params });
@@ -134,6 +177,13 @@ export const accessRequestService = {
     return data.data!;
   },
 
+  reviewRequests: async (reviews: BatchReviewItem[]): Promise<BatchReviewResult[]> => {
+    console.log('[AccessRequestService] Reviewing', reviews.length, 'requests');
+    const { data } = await apiClient.post<ApiResponse<BatchReviewResult[]>>('/api/v1/access-requests/batch-review', { reviews });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
   revokeRequest: async (id: string, comment?: string): Promise<AccessRequestResponse> => {
     console.log('[AccessRequestService] Revoking request:', id);
     const { data } = await apiClient.post<ApiResponse<AccessRequestResponse>>(
@@ -1,6 +1,6 @@
 import apiClient from '@/lib/api-client';
-import type { ApiResponse, Page, PaginationParams } from '@/types/api';
-import type { UserResponse, CreateUserRequest, UpdateUserRequest } from '@/types/user';
+import type { ApiResponse, CursorPage, Page, PaginationParams } from '@/types/api';
+import type { UserResponse, UserSearchResult, CreateUserRequest, UpdateUserRequest } from '@/types/user';
 
 export const userService = {
   getUsers: async (params: PaginationParams = {}): Promise<Page<UserResponse>> => {
@@ -11,6 +11,22 @@ export const userService = {
     return data.data!;
   },
 
+  searchUsers: async (q: string, cursor?: string, size = 20): Promise<CursorPage<UserSearchResult>> => {
+    const { data } = await apiClient.get<ApiResponse<CursorPage<UserSearchResult>>>('/api/v1/users/search', {
+      params: { q, cursor, size },
+    });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
+  autocompleteUsers: async (prefix: string, limit = 10): Promise<UserSearchResult[]> => {
+    const { data } = await apiClient.get<ApiResponse<UserSearchResult[]>>('/api/v1/users/autocomplete', {
+      params: { prefix, limit },
+    });
+    if (!data.success) throw new Error(data.message);
+    return data.data!;
+  },
+
   getUserById: async (id: string): Promise<UserResponse> => {
     console.log('[UserService] Fetching user:', id);
     const { data } = await apiClient.get<ApiResponse<UserResponse>>(`/api/v1/users/${id}`);
@@ -41,9 +57,14 @@ export const userService = {
     console.log('[UserService] User deactivated:', id);
   },
 
-  assignRole: async (userId: string, roleName: string): Promise<UserResponse> => {
+  /** `duration` is ISO-8601 (e.g. `PT4H`); the role is revoked automatically when it elapses. */
+  assignRole: async (userId: string, roleName: string, duration?: string): Promise<UserResponse> => {
     console.log('[UserService] Assigning role:', roleName, 'to user:', userId);
-    const { data } = await apiClient.post<ApiResponse<UserResponse>>(`/api/v1/users/${userId}/roles/${roleName}`);
+    const { data } = await apiClient.post<ApiResponse<UserResponse>>(
+      `/api/v1/users/${userId}/roles/${roleName}`,
+      undefined,
+      { params: duration ? { duration } : undefined },
+    );
     console.log('[UserService] Role assigned successfully');
     if (!data.success) throw new Error(data.message);
     return data.data!;
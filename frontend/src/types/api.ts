@@ -22,3 +22,10 @@ export interface PaginationParams {
   size?: number;
   sort?: string;
 }
+
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  last: boolean;
+  nextCursor?: string;
+}
@@ -50,21 +50,76 @@ export interface AccessRequestResponse {
   justification: string;
   scheduledStart?: string;
   scheduledEnd?: string;
+  units?: number;
   reviewedBy?: string;
   reviewComment?: string;
   createdAt: string;
   updatedAt: string;
 }
 
+export interface ResourceUtilizationResponse {
+  resourceId: string;
+  name: string;
+  capacity: number;
+  from: string;
+  to: string;
+  peakUnits: number;
+  averageUnits: number;
+  peakOccupancy: number;
+  averageOccupancy: number;
+}
+
+export interface ResourceOccupancyResponse {
+  resourceId: string;
+  name: string;
+  date: string;
+  slotMinutes: number;
+  busySlots: string;
+}
+
+export interface OccupancyHeatmapResponse {
+  date: string;
+  resourceCategory?: ResourceCategory;
+  slotMinutes: number;
+  resources: number;
+  busy: number[];
+}
+
+export interface FreeSlot {
+  start: string;
+  end: string;
+}
+
+export interface ResourceAvailabilityResponse {
+  resourceId: string;
+  name: string;
+  resourceCategory: ResourceCategory;
+  location?: string;
+  capacity?: number;
+  freeSlots: FreeSlot[];
+}
+
 export interface CreateAccessRequestRequest {
   resourceId: string;
   accessLevel?: string;
   justification?: string;
   scheduledStart?: string;
   scheduledEnd?: string;
+  units?: number;
 }
 
 export interface ReviewAccessRequestRequest {
   decision: 'APPROVED' | 'DENIED';
   reviewComment?: string;
 }
+
+export interface BatchReviewItem extends ReviewAccessRequestRequest {
+  requestId: string;
+}
+
+export interface BatchReviewResult {
+  requestId: string;
+  decision: 'APPROVED' | 'DENIED';
+  status: RequestStatus;
+  collidingRequestId?: string;
+}
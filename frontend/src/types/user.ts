@@ -12,6 +12,14 @@ export interface UserResponse {
   updatedAt: string;
 }
 
+export interface UserSearchResult {
+  id: string;
+  email: string;
+  firstName: string;
+  lastName: string;
+  score?: number;
+}
+
 export interface CreateUserRequest {
   email: string;
   firstName: string;
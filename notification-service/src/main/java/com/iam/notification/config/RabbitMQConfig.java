@@ -41,6 +41,13 @@ public class RabbitMQConfig {
                 .with("resource.access.*");
     }
 
+    @Bean
+    public Binding notifAccessDecidedBatchBinding() {
+        return BindingBuilder.bind(notifAccessQueue())
+                .to(iamEventsExchange())
+                .with(RabbitMQConstants.RESOURCE_ACCESS_DECIDED_BATCH);
+    }
+
     // Collision notifications
     @Bean
     public Queue notifCollisionQueue() {
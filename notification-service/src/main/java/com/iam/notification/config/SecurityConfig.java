@@ -1,5 +1,6 @@
 package com.iam.notification.config;
 
+import com.iam.common.security.InternalJwtFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
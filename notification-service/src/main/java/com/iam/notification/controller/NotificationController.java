@@ -1,6 +1,7 @@
 package com.iam.notification.controller;
 
 import com.iam.common.dto.ApiResponse;
+import com.iam.common.dto.PagedResponse;
 import com.iam.notification.dto.NotificationPreferenceResponse;
 import com.iam.notification.dto.NotificationResponse;
 import com.iam.notification.dto.UpdatePreferenceRequest;
@@ -45,6 +46,19 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Notifications retrieved", page));
     }
 
+    @GetMapping(params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get my notifications (cursor)",
+            description = "Newest first, keyset-paginated. Pass an empty cursor for the first page, then nextCursor.")
+    public ResponseEntity<ApiResponse<PagedResponse<NotificationResponse>>> getMyNotificationsByCursor(
+            @RequestHeader("X-User-Id") String userId,
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<NotificationResponse> page = notificationService.getUserNotifications(
+                UUID.fromString(userId), cursor, size).map(NotificationResponse::fromEntity);
+        return ResponseEntity.ok(ApiResponse.success("Notifications retrieved", page));
+    }
+
     @GetMapping("/unread")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get unread notifications", description = "Paginated list of unread notifications")
@@ -56,6 +70,18 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Unread notifications", page));
     }
 
+    @GetMapping(value = "/unread", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get unread notifications (cursor)", description = "Unread notifications, newest first, keyset-paginated")
+    public ResponseEntity<ApiResponse<PagedResponse<NotificationResponse>>> getUnreadNotificationsByCursor(
+            @RequestHeader("X-User-Id") String userId,
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<NotificationResponse> page = notificationService.getUnreadNotifications(
+                UUID.fromString(userId), cursor, size).map(NotificationResponse::fromEntity);
+        return ResponseEntity.ok(ApiResponse.success("Unread notifications", page));
+    }
+
     @GetMapping("/unread/count")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get unread count", description = "Number of unread notifications")
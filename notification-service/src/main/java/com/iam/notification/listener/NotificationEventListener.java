@@ -1,6 +1,7 @@
 package com.iam.notification.listener;
 
 import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.AccessDecisionBatchEvent;
 import com.iam.common.events.AccessDecisionEvent;
 import com.iam.common.events.AccessRequestEvent;
 import com.iam.common.events.AuditEvent;
@@ -15,7 +16,6 @@ import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 
 @Component
 public class NotificationEventListener {
@@ -64,34 +64,44 @@ public class NotificationEventListener {
 
                 // Notify admins and resource managers about the pending request
                 notifyAdminsAboutAccessRequest(event);
+            } else if (RabbitMQConstants.RESOURCE_ACCESS_DECIDED_BATCH.equals(routingKey)) {
+                AccessDecisionBatchEvent batch = objectMapper.readValue(message.getBody(), AccessDecisionBatchEvent.class);
+                log.debug("Received decision batch {} ({} decisions)", batch.getBatchId(), batch.getDecisions().size());
+                for (AccessDecisionEvent event : batch.getDecisions()) {
+                    notifyAccessDecision(event);
+                }
             } else {
                 AccessDecisionEvent event = objectMapper.readValue(message.getBody(), AccessDecisionEvent.class);
-                String title = switch (event.getDecision()) {
-                    case "APPROVED" -> "Access Request Approved";
-                    case "DENIED" -> "Access Request Denied";
-                    case "REVOKED" -> "Access Revoked";
-                    default -> "Access Update";
-                };
-
-                String body = "Your access request for " + event.getResourceName() +
-                        " has been " + event.getDecision().toLowerCase() + ".";
-                if (event.getReviewComment() != null && !event.getReviewComment().isBlank()) {
-                    body += " Comment: " + event.getReviewComment();
-                }
-
-                notificationService.createAndSendNotification(
-                        event.getUserId(),
-                        event.getUserEmail(),
-                        title,
-                        body,
-                        NotificationType.ACCESS.name()
-                );
+                notifyAccessDecision(event);
             }
         } catch (Exception e) {
             log.error("Error processing access event: {}", e.getMessage(), e);
         }
     }
 
+    private void notifyAccessDecision(AccessDecisionEvent event) {
+        String title = switch (event.getDecision()) {
+            case "APPROVED" -> "Access Request Approved";
+            case "DENIED" -> "Access Request Denied";
+            case "REVOKED" -> "Access Revoked";
+            default -> "Access Update";
+        };
+
+        String body = "Your access request for " + event.getResourceName() +
+                " has been " + event.getDecision().toLowerCase() + ".";
+        if (event.getReviewComment() != null && !event.getReviewComment().isBlank()) {
+            body += " Comment: " + event.getReviewComment();
+        }
+
+        notificationService.createAndSendNotification(
+                event.getUserId(),
+                event.getUserEmail(),
+                title,
+                body,
+                NotificationType.ACCESS.name()
+        );
+    }
+
     @RabbitListener(queues = "notification.collision.queue")
     public void handleCollisionEvent(Message message) {
         try {
@@ -165,13 +175,9 @@ public class NotificationEventListener {
 
     private void notifyAdminsAboutAccessRequest(AccessRequestEvent event) {
         try {
-            List<String> adminEmails = userServiceClient.getEmailsByRole("ADMIN");
-            List<String> managerEmails = userServiceClient.getEmailsByRole("RESOURCE_MANAGER");
-
-            // Combine and deduplicate
-            java.util.Set<String> allApprovers = new java.util.LinkedHashSet<>();
-            allApprovers.addAll(adminEmails);
-            allApprovers.addAll(managerEmails);
+            // One directory call for both roles; members holding both appear once
+            java.util.Set<String> allApprovers = new java.util.LinkedHashSet<>(
+                    userServiceClient.getEmailsByRoles("ADMIN", "RESOURCE_MANAGER"));
             // Don't notify the requester themselves
             allApprovers.remove(event.getUserEmail());
 
@@ -1,6 +1,7 @@
 package com.iam.notification.repository;
 
 import com.iam.notification.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -16,6 +19,23 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     Page<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(UUID userId, Pageable pageable);
     long countByUserIdAndReadFalse(UUID userId);
 
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findLatestByUserId(UUID userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findLatestByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.read = false " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findLatestUnreadByUserId(UUID userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.read = false " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findLatestUnreadByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
     @Modifying
     @Query("UPDATE Notification n SET n.read = true, n.readAt = CURRENT_TIMESTAMP WHERE n.userId = :userId AND n.read = false")
     void markAllAsRead(UUID userId);
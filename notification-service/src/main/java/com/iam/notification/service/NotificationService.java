@@ -5,10 +5,13 @@ import com.iam.notification.model.Notification;
 import com.iam.notification.model.NotificationPreference;
 import com.iam.notification.repository.NotificationPreferenceRepository;
 import com.iam.notification.repository.NotificationRepository;
+import com.iam.common.dto.PageCursor;
+import com.iam.common.dto.PagedResponse;
 import com.iam.common.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mail.SimpleMailMessage;
@@ -112,6 +115,26 @@ public class NotificationService {
         return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId, pageable);
     }
 
+    public PagedResponse<Notification> getUserNotifications(UUID userId, String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Notification> rows = cursor == null
+                ? notificationRepository.findLatestByUserId(userId, limit)
+                : notificationRepository.findLatestByUserIdAfter(userId, cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, NotificationService::cursorOf);
+    }
+
+    public PagedResponse<Notification> getUnreadNotifications(UUID userId, String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Notification> rows = cursor == null
+                ? notificationRepository.findLatestUnreadByUserId(userId, limit)
+                : notificationRepository.findLatestUnreadByUserIdAfter(userId, cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, NotificationService::cursorOf);
+    }
+
     public long getUnreadCount(UUID userId) {
         return notificationRepository.countByUserIdAndReadFalse(userId);
     }
@@ -173,4 +196,8 @@ public class NotificationService {
             log.error("Failed to send email to {}: {}", to, e.getMessage());
         }
     }
+
+    private static PageCursor cursorOf(Notification notification) {
+        return new PageCursor(notification.getCreatedAt(), notification.getId());
+    }
 }
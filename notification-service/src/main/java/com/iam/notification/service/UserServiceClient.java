@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class UserServiceClient {
@@ -16,6 +17,9 @@ public class UserServiceClient {
 
     private final RestTemplate restTemplate;
 
+    // Last directory response per role set, revalidated with If-None-Match
+    private final Map<String, CachedEmails> emailsByRoles = new ConcurrentHashMap<>();
+
     @Value("${services.user-service.url:http://localhost:8082}")
     private String userServiceUrl;
 
@@ -24,45 +28,61 @@ public class UserServiceClient {
     }
 
     /**
-     * Fetches emails of all active users with the given role from user-service.
+     * Fetches emails of all active users holding any of the given roles from user-service, in
+     * one call. Unchanged memberships come back as 304 and are served from the last response.
      */
     @SuppressWarnings("unchecked")
-    public List<String> getEmailsByRole(String roleName) {
+    public List<String> getEmailsByRoles(String... roleNames) {
+        String roles = String.join(",", new TreeSet<>(Arrays.asList(roleNames)));
+        CachedEmails cached = emailsByRoles.get(roles);
         try {
-            String url = userServiceUrl + "/api/v1/users/by-role/" + roleName;
+            String url = userServiceUrl + "/api/v1/users/directory?roles=" + roles;
 
             HttpHeaders headers = new HttpHeaders();
             headers.set("X-User-Id", "system");
             headers.set("X-User-Email", "system@iam-platform.local");
             headers.set("X-User-Roles", "ADMIN");
             headers.set("X-User-Permissions", "user:read");
+            if (cached != null) {
+                headers.setIfNoneMatch(cached.etag());
+            }
 
             HttpEntity<Void> entity = new HttpEntity<>(headers);
             ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
 
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                return cached.emails();
+            }
+
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<String, Object> body = response.getBody();
                 Object data = body.get("data");
-                if (data instanceof List<?> users) {
+                if (data instanceof List<?> members) {
                     List<String> emails = new ArrayList<>();
-                    for (Object user : users) {
-                        if (user instanceof Map<?, ?> userMap) {
-                            Object email = userMap.get("email");
+                    for (Object member : members) {
+                        if (member instanceof Map<?, ?> memberMap) {
+                            Object email = memberMap.get("email");
                             if (email instanceof String) {
                                 emails.add((String) email);
                             }
                         }
                     }
-                    log.debug("Found {} users with role {}", emails.size(), roleName);
+                    String etag = response.getHeaders().getETag();
+                    if (etag != null) {
+                        emailsByRoles.put(roles, new CachedEmails(etag, List.copyOf(emails)));
+                    }
+                    log.debug("Found {} users with roles {}", emails.size(), roles);
                     return emails;
                 }
             }
 
-            log.warn("Could not parse users from user-service response for role {}", roleName);
+            log.warn("Could not parse members from user-service response for roles {}", roles);
             return Collections.emptyList();
         } catch (Exception e) {
-            log.warn("Failed to fetch users by role {} from user-service: {}", roleName, e.getMessage());
-            return Collections.emptyList();
+            log.warn("Failed to fetch members of roles {} from user-service: {}", roles, e.getMessage());
+            return cached != null ? cached.emails() : Collections.emptyList();
         }
     }
+
+    private record CachedEmails(String etag, List<String> emails) {}
 }
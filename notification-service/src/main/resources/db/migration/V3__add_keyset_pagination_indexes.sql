@@ -0,0 +1,12 @@
+-- V3: Indexes matching the (created_at DESC, id DESC) keyset order used by cursor pagination
+
+-- Rows without a sort key would sort first and could not be paged past
+UPDATE notifications SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE notifications ALTER COLUMN created_at SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_notifications_user;
+CREATE INDEX idx_notifications_user_created_id ON notifications(user_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_notifications_user_unread;
+CREATE INDEX idx_notifications_user_unread_created_id ON notifications(user_id, created_at DESC, id DESC)
+    WHERE is_read = FALSE;
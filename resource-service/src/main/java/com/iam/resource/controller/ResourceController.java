@@ -1,8 +1,11 @@
 package com.iam.resource.controller;
 
 import com.iam.common.dto.ApiResponse;
+import com.iam.common.dto.PagedResponse;
 import com.iam.resource.dto.*;
 import com.iam.resource.model.*;
+import com.iam.resource.service.AvailabilityService;
+import com.iam.resource.service.ReservationExportService;
 import com.iam.resource.service.ResourceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,10 +13,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -25,9 +32,14 @@ import java.util.UUID;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final AvailabilityService availabilityService;
+    private final ReservationExportService reservationExportService;
 
-    public ResourceController(ResourceService resourceService) {
+    public ResourceController(ResourceService resourceService, AvailabilityService availabilityService,
+                              ReservationExportService reservationExportService) {
         this.resourceService = resourceService;
+        this.availabilityService = availabilityService;
+        this.reservationExportService = reservationExportService;
     }
 
     // Resource endpoints
@@ -214,6 +226,128 @@ public class ResourceController {
         return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Reservations retrieved", response));
     }
 
+    @GetMapping("/resources/reservations/export")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Export reservations",
+            description = "Streams approved and pending reservations within a date range, of one resource or all, in start order. "
+                    + "format=ndjson writes one JSON object per line; format=ics writes an iCalendar feed. "
+                    + "The range defaults to the next 90 days from today")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reservations streamed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid time window or format"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Resource not found")
+    })
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        LocalDateTime fromDate = from != null ? LocalDateTime.parse(from) : LocalDate.now().atStartOfDay();
+        LocalDateTime toDate = to != null ? LocalDateTime.parse(to) : fromDate.plusDays(90);
+        if (!toDate.isAfter(fromDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (resourceId != null) {
+            resourceService.getResourceById(resourceId);
+        }
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(out -> reservationExportService.writeNdjson(resourceId, fromDate, toDate, out));
+            case "ics" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"reservations.ics\"")
+                    .body(out -> reservationExportService.writeICalendar(resourceId, fromDate, toDate, out));
+            default -> throw new IllegalArgumentException("Format must be ndjson or ics");
+        };
+    }
+
+    @GetMapping("/resources/{resourceId}/utilization")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get resource utilization", description = "Peak and average units reserved by approved and pending reservations within a date range")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Utilization retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid time window"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Resource not found")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<ResourceUtilizationResponse>> getUtilization(
+            @PathVariable UUID resourceId,
+            @RequestParam String from,
+            @RequestParam String to) {
+        LocalDateTime fromDate = LocalDateTime.parse(from);
+        LocalDateTime toDate = LocalDateTime.parse(to);
+        ResourceUtilizationResponse response = resourceService.getUtilization(resourceId, fromDate, toDate);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Utilization retrieved", response));
+    }
+
+    @GetMapping("/resources/availability")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Find available resources",
+            description = "Active resources of the type and category with their free slots between from and to. "
+                    + "With minMinutes, resources with at least one free slot of that length; without, resources free for the whole window")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Available resources retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid time window")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<List<ResourceAvailabilityResponse>>> getAvailability(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "PHYSICAL") ResourceType type,
+            @RequestParam(required = false) ResourceCategory category,
+            @RequestParam(required = false) Integer minMinutes) {
+        LocalDateTime fromDate = LocalDateTime.parse(from);
+        LocalDateTime toDate = LocalDateTime.parse(to);
+        List<ResourceAvailabilityResponse> response = availabilityService.findAvailable(
+                type, category, fromDate, toDate, minMinutes);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Available resources retrieved", response));
+    }
+
+    @GetMapping("/resources/{resourceId}/occupancy")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get resource occupancy", description = "Fully booked 15-minute slots of an active physical resource on a day")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Occupancy retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Resource is not an active physical resource"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Resource not found")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<ResourceOccupancyResponse>> getOccupancy(
+            @PathVariable UUID resourceId,
+            @RequestParam String date) {
+        ResourceOccupancyResponse response = resourceService.getOccupancy(resourceId, LocalDate.parse(date));
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Occupancy retrieved", response));
+    }
+
+    @GetMapping("/resources/{resourceId}/free")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Check resource is free", description = "Whether capacity is free in every 15-minute slot between from and to")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Availability checked"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid time window or longer than 31 days"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Resource not found")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<Boolean>> isFree(
+            @PathVariable UUID resourceId,
+            @RequestParam String from,
+            @RequestParam String to) {
+        LocalDateTime fromDate = LocalDateTime.parse(from);
+        LocalDateTime toDate = LocalDateTime.parse(to);
+        boolean free = resourceService.isFree(resourceId, fromDate, toDate);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Availability checked", free));
+    }
+
+    @GetMapping("/resources/occupancy/heatmap")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get occupancy heat map", description = "Number of fully booked active physical resources per 15-minute slot of a day")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Heat map retrieved")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<OccupancyHeatmapResponse>> getOccupancyHeatmap(
+            @RequestParam String date,
+            @RequestParam(required = false) ResourceCategory category) {
+        OccupancyHeatmapResponse response = resourceService.getOccupancyHeatmap(LocalDate.parse(date), category);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Heat map retrieved", response));
+    }
+
     // Access Request endpoints
 
     @GetMapping("/access-requests/my")
@@ -230,6 +364,19 @@ public class ResourceController {
         return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("My access requests retrieved", response));
     }
 
+    @GetMapping(value = "/access-requests/my", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get my access requests (cursor)",
+            description = "Newest first, keyset-paginated. Pass an empty cursor for the first page, then nextCursor.")
+    public ResponseEntity<com.iam.common.dto.ApiResponse<PagedResponse<AccessRequestResponse>>> getMyAccessRequestsByCursor(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<AccessRequestResponse> response = resourceService.getAccessRequestsByUser(userId, cursor, size)
+                .map(AccessRequestResponse::fromEntity);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("My access requests retrieved", response));
+    }
+
     @PostMapping("/access-requests")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Create access request", description = "Request access to a resource")
@@ -247,7 +394,7 @@ public class ResourceController {
         AccessRequest created = resourceService.createAccessRequest(
                 userId, userEmail, request.getResourceId(),
                 request.getJustification(), request.getAccessLevel(),
-                request.getScheduledStart(), request.getScheduledEnd());
+                request.getScheduledStart(), request.getScheduledEnd(), request.getUnits());
 
         return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Access request created",
                 AccessRequestResponse.fromEntity(created)));
@@ -280,6 +427,17 @@ public class ResourceController {
         return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Pending requests retrieved", response));
     }
 
+    @GetMapping(value = "/access-requests/pending", params = "cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    @Operation(summary = "Get pending access requests (cursor)", description = "Pending requests, newest first, keyset-paginated")
+    public ResponseEntity<com.iam.common.dto.ApiResponse<PagedResponse<AccessRequestResponse>>> getPendingRequestsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<AccessRequestResponse> response = resourceService.getPendingRequests(cursor, size)
+                .map(AccessRequestResponse::fromEntity);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Pending requests retrieved", response));
+    }
+
     @PostMapping("/access-requests/{id}/review")
     @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
     @Operation(summary = "Review access request", description = "Approve or deny access request with collision detection")
@@ -299,6 +457,25 @@ public class ResourceController {
                 AccessRequestResponse.fromEntity(reviewed)));
     }
 
+    @PostMapping("/access-requests/batch-review")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    @Operation(summary = "Review access requests in batch",
+            description = "Approves or denies up to 200 requests in one transaction, in order, with collision detection. "
+                    + "Approvals that collide end in COLLISION; the whole batch fails if a request is missing")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Requests reviewed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Request not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request body or duplicate request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<com.iam.common.dto.ApiResponse<List<BatchReviewResult>>> reviewRequests(
+            @RequestHeader("X-User-Id") UUID reviewerId,
+            @Valid @RequestBody BatchReviewRequest request) {
+
+        List<BatchReviewResult> results = resourceService.reviewAccessRequests(request.getReviews(), reviewerId);
+        return ResponseEntity.ok(com.iam.common.dto.ApiResponse.success("Requests reviewed", results));
+    }
+
     @PostMapping("/access-requests/{id}/revoke")
     @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
     @Operation(summary = "Revoke access", description = "Revoke previously approved access request")
@@ -45,6 +45,9 @@ public class AccessRequestResponse {
     @Schema(description = "Scheduled end time", example = "2026-02-15T12:00:00")
     private LocalDateTime scheduledEnd;
 
+    @Schema(description = "Reserved units of the resource's capacity", example = "1")
+    private int units;
+
     @Schema(description = "Reviewer UUID", example = "770e8400-e29b-41d4-a716-446655440002")
     private UUID reviewedBy;
 
@@ -68,6 +71,7 @@ public class AccessRequestResponse {
                 .justification(request.getJustification())
                 .scheduledStart(request.getScheduledStart())
                 .scheduledEnd(request.getScheduledEnd())
+                .units(request.getUnits())
                 .reviewedBy(request.getReviewedBy())
                 .reviewComment(request.getReviewComment())
                 .createdAt(request.getCreatedAt())
@@ -0,0 +1,30 @@
+package com.iam.resource.dto;
+
+import com.iam.resource.model.RequestStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One review of a batch")
+public class BatchReviewItem {
+
+    @NotNull(message = "Request ID is required")
+    @Schema(description = "Access request UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID requestId;
+
+    @NotNull(message = "Decision is required")
+    @Schema(description = "Decision, APPROVED or DENIED", example = "APPROVED")
+    private RequestStatus decision;
+
+    @Schema(description = "Review comment", example = "Approved for project work")
+    private String reviewComment;
+}
@@ -0,0 +1,25 @@
+package com.iam.resource.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Several access requests reviewed in one transaction")
+public class BatchReviewRequest {
+
+    @NotEmpty(message = "At least one review is required")
+    @Size(max = 200, message = "At most 200 reviews per batch")
+    @Valid
+    private List<BatchReviewItem> reviews;
+}
@@ -0,0 +1,31 @@
+package com.iam.resource.dto;
+
+import com.iam.resource.model.RequestStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of one review of a batch")
+public class BatchReviewResult {
+
+    @Schema(description = "Access request UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID requestId;
+
+    @Schema(description = "Decision asked for", example = "APPROVED")
+    private RequestStatus decision;
+
+    @Schema(description = "Resulting status; COLLISION when an approval did not fit", example = "COLLISION")
+    private RequestStatus status;
+
+    @Schema(description = "A reservation the request collided with, if any",
+            example = "660e8400-e29b-41d4-a716-446655440001")
+    private UUID collidingRequestId;
+}
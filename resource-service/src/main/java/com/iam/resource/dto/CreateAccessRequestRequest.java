@@ -1,6 +1,7 @@
 package com.iam.resource.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,4 +31,8 @@ public class CreateAccessRequestRequest {
 
     @Schema(description = "Scheduled end time", example = "2026-02-15T12:00:00")
     private LocalDateTime scheduledEnd;
+
+    @Min(value = 1, message = "Units must be at least 1")
+    @Schema(description = "Units of the resource's capacity to reserve, e.g. seats; physical resources only", example = "1", defaultValue = "1")
+    private Integer units;
 }
@@ -0,0 +1,23 @@
+package com.iam.resource.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Period in which a resource has no reservation")
+public class FreeSlot {
+
+    @Schema(description = "Slot start", example = "2026-02-15T10:00:00")
+    private LocalDateTime start;
+
+    @Schema(description = "Slot end", example = "2026-02-15T12:00:00")
+    private LocalDateTime end;
+}
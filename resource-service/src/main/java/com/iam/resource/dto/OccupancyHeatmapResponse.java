@@ -0,0 +1,33 @@
+package com.iam.resource.dto;
+
+import com.iam.resource.model.ResourceCategory;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Fully booked physical resources per slot of one day")
+public class OccupancyHeatmapResponse {
+
+    @Schema(description = "Day", example = "2026-02-15")
+    private LocalDate date;
+
+    @Schema(description = "Category the resources were limited to, all if absent", example = "MEETING_ROOM")
+    private ResourceCategory resourceCategory;
+
+    @Schema(description = "Slot length in minutes", example = "15")
+    private int slotMinutes;
+
+    @Schema(description = "Active physical resources counted", example = "12")
+    private int resources;
+
+    @Schema(description = "Per slot from midnight, the number of resources with no free capacity")
+    private int[] busy;
+}
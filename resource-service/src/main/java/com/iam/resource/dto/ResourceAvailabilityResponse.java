@@ -0,0 +1,37 @@
+package com.iam.resource.dto;
+
+import com.iam.resource.model.ResourceCategory;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resource with its free slots in the requested window")
+public class ResourceAvailabilityResponse {
+
+    @Schema(description = "Resource UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID resourceId;
+
+    @Schema(description = "Resource name", example = "Meeting Room A")
+    private String name;
+
+    @Schema(description = "Resource category", example = "MEETING_ROOM")
+    private ResourceCategory resourceCategory;
+
+    @Schema(description = "Location", example = "Floor 3, Room 302")
+    private String location;
+
+    @Schema(description = "Capacity", example = "10")
+    private Integer capacity;
+
+    @Schema(description = "Free slots at least as long as requested, in start order")
+    private List<FreeSlot> freeSlots;
+}
@@ -0,0 +1,34 @@
+package com.iam.resource.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Fully booked slots of a resource on one day")
+public class ResourceOccupancyResponse {
+
+    @Schema(description = "Resource UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID resourceId;
+
+    @Schema(description = "Resource name", example = "Conference Room A")
+    private String name;
+
+    @Schema(description = "Day", example = "2026-02-15")
+    private LocalDate date;
+
+    @Schema(description = "Slot length in minutes", example = "15")
+    private int slotMinutes;
+
+    @Schema(description = "One character per slot from midnight, '1' when no capacity is free",
+            example = "000000000000000000000000000000000000111111110000000000000000000000000000000000000000000000000000")
+    private String busySlots;
+}
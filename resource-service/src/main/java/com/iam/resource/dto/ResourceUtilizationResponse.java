@@ -0,0 +1,45 @@
+package com.iam.resource.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Reserved units of a resource over a time range")
+public class ResourceUtilizationResponse {
+
+    @Schema(description = "Resource UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID resourceId;
+
+    @Schema(description = "Resource name", example = "Training Lab")
+    private String name;
+
+    @Schema(description = "Capacity in units", example = "40")
+    private int capacity;
+
+    @Schema(description = "Range start", example = "2026-02-15T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "Range end", example = "2026-02-16T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "Most units reserved at any moment", example = "32")
+    private int peakUnits;
+
+    @Schema(description = "Units reserved, averaged over the range", example = "12.5")
+    private double averageUnits;
+
+    @Schema(description = "peakUnits / capacity", example = "0.8")
+    private double peakOccupancy;
+
+    @Schema(description = "averageUnits / capacity", example = "0.3125")
+    private double averageOccupancy;
+}
@@ -45,6 +45,16 @@ public class AccessRequest {
     @Column(name = "scheduled_end")
     private LocalDateTime scheduledEnd;
 
+    /** Units of the resource's capacity the reservation takes. */
+    @Column(nullable = false)
+    @Builder.Default
+    private int units = 1;
+
+    /** Whether the reservation is under the no-overlap constraint, i.e. the resource has a single unit. */
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean exclusive = true;
+
     @Column(name = "reviewed_by")
     private UUID reviewedBy;
 
@@ -2,6 +2,7 @@ package com.iam.resource.repository;
 
 import com.iam.resource.model.AccessRequest;
 import com.iam.resource.model.RequestStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,13 +19,24 @@ public interface AccessRequestRepository extends JpaRepository<AccessRequest, UU
     Page<AccessRequest> findByUserId(UUID userId, Pageable pageable);
     Page<AccessRequest> findByStatus(RequestStatus status, Pageable pageable);
     Page<AccessRequest> findByResourceId(UUID resourceId, Pageable pageable);
-    List<AccessRequest> findByResourceIdAndStatusIn(UUID resourceId, List<RequestStatus> statuses);
 
-    @Query("SELECT ar FROM AccessRequest ar WHERE ar.resource.id = :resourceId " +
-            "AND ar.status = 'APPROVED' " +
-            "AND ar.scheduledStart < :end " +
-            "AND ar.scheduledEnd > :start")
-    List<AccessRequest> findOverlapping(UUID resourceId, LocalDateTime start, LocalDateTime end);
+    @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource WHERE ar.userId = :userId " +
+            "ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<AccessRequest> findLatestByUserId(UUID userId, Limit limit);
+
+    @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource WHERE ar.userId = :userId " +
+            "AND (ar.createdAt < :createdAt OR (ar.createdAt = :createdAt AND ar.id < :id)) " +
+            "ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<AccessRequest> findLatestByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource WHERE ar.status = :status " +
+            "ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<AccessRequest> findLatestByStatus(RequestStatus status, Limit limit);
+
+    @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource WHERE ar.status = :status " +
+            "AND (ar.createdAt < :createdAt OR (ar.createdAt = :createdAt AND ar.id < :id)) " +
+            "ORDER BY ar.createdAt DESC, ar.id DESC")
+    List<AccessRequest> findLatestByStatusAfter(RequestStatus status, LocalDateTime createdAt, UUID id, Limit limit);
 
     @Query("SELECT ar FROM AccessRequest ar WHERE ar.resource.id = :resourceId " +
             "AND ar.status IN :statuses " +
@@ -32,10 +45,30 @@ public interface AccessRequestRepository extends JpaRepository<AccessRequest, UU
     List<AccessRequest> findByResourceIdAndStatusInAndDateRange(
             UUID resourceId, List<RequestStatus> statuses, LocalDateTime start, LocalDateTime end);
 
+    @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource WHERE ar.id IN :ids")
+    List<AccessRequest> findAllWithResourceByIdIn(Collection<UUID> ids);
+
     @Query("SELECT ar FROM AccessRequest ar JOIN FETCH ar.resource " +
             "WHERE ar.status IN :statuses " +
             "AND ar.scheduledStart < :end " +
             "AND ar.scheduledEnd > :start")
     List<AccessRequest> findByStatusInAndDateRange(
             List<RequestStatus> statuses, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT ar FROM AccessRequest ar WHERE ar.resource.id = :resourceId " +
+            "AND ar.status IN ('PENDING', 'APPROVED') " +
+            "AND ar.scheduledStart < ar.scheduledEnd " +
+            "AND ar.scheduledEnd > :after")
+    List<AccessRequest> findActiveReservationsEndingAfter(UUID resourceId, LocalDateTime after);
+
+    /**
+     * Same range expression and predicate as {@code idx_access_requests_active_period}, so the
+     * query runs on that GiST index.
+     */
+    @Query(value = "SELECT * FROM access_requests WHERE resource_id = :resourceId " +
+            "AND status IN ('PENDING', 'APPROVED') " +
+            "AND scheduled_end > scheduled_start " +
+            "AND tsrange(scheduled_start, scheduled_end) && tsrange(CAST(:start AS timestamp), CAST(:end AS timestamp))",
+            nativeQuery = true)
+    List<AccessRequest> findActiveOverlapping(UUID resourceId, LocalDateTime start, LocalDateTime end);
 }
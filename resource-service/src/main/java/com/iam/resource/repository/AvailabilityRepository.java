@@ -0,0 +1,78 @@
+package com.iam.resource.repository;
+
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the active reservations of many resources in one ordered pass, for sweeps that only
+ * need each reservation's period and would otherwise hydrate an {@code AccessRequest} with its
+ * {@code Resource} per row. Rows are fetched in batches of {@code resource.availability.fetch-size},
+ * which Postgres only does inside a transaction, so call within one.
+ */
+@Repository
+public class AvailabilityRepository {
+
+    /**
+     * One reservation of a resource, or the resource alone, with null reservation fields, if it
+     * has none in the window.
+     */
+    public record ReservedPeriod(UUID resourceId, String name, ResourceCategory category, String location,
+                                 Integer capacity, UUID requestId, LocalDateTime start, LocalDateTime end,
+                                 int units) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AvailabilityRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${resource.availability.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams the active resources of the type, optionally of one category, each with its PENDING
+     * and APPROVED reservations overlapping {@code [from, to)}, ordered by resource and then
+     * reservation start.
+     */
+    public void forEachReservedPeriod(ResourceType type, ResourceCategory category,
+                                      LocalDateTime from, LocalDateTime to, Consumer<ReservedPeriod> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT r.id, r.name, r.resource_category, r.location, r.capacity, "
+                + "ar.id AS request_id, ar.scheduled_start, ar.scheduled_end, ar.units "
+                + "FROM resources r "
+                + "LEFT JOIN access_requests ar ON ar.resource_id = r.id "
+                + "AND ar.status IN ('PENDING', 'APPROVED') "
+                + "AND ar.scheduled_end > ar.scheduled_start "
+                + "AND tsrange(ar.scheduled_start, ar.scheduled_end) && tsrange(CAST(? AS timestamp), CAST(? AS timestamp)) "
+                + "WHERE r.is_active AND r.resource_type = ? ");
+        List<Object> args = new ArrayList<>(List.of(from, to, type.name()));
+        if (category != null) {
+            sql.append("AND r.resource_category = ? ");
+            args.add(category.name());
+        }
+        sql.append("ORDER BY r.name, r.id, ar.scheduled_start");
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            Timestamp start = rs.getTimestamp("scheduled_start");
+            Timestamp end = rs.getTimestamp("scheduled_end");
+            consumer.accept(new ReservedPeriod(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("name"),
+                    ResourceCategory.valueOf(rs.getString("resource_category")),
+                    rs.getString("location"),
+                    (Integer) rs.getObject("capacity"),
+                    rs.getObject("request_id", UUID.class),
+                    start != null ? start.toLocalDateTime() : null,
+                    end != null ? end.toLocalDateTime() : null,
+                    rs.getInt("units")));
+        }, args.toArray());
+    }
+}
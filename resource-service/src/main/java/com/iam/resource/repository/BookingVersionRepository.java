@@ -0,0 +1,36 @@
+package com.iam.resource.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * {@code resources.booking_version}, which is not part of the {@code Resource} mapping so that
+ * entity updates neither read nor overwrite it.
+ */
+@Repository
+public class BookingVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Increments the version, which keeps the resource row locked until the transaction ends.
+     *
+     * @return the new version
+     */
+    public long increment(UUID resourceId) {
+        return jdbcTemplate.queryForObject(
+                "UPDATE resources SET booking_version = booking_version + 1 WHERE id = ? RETURNING booking_version",
+                Long.class, resourceId);
+    }
+
+    public long current(UUID resourceId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT booking_version FROM resources WHERE id = ?", Long.class, resourceId);
+    }
+}
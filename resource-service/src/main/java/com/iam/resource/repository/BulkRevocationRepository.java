@@ -0,0 +1,45 @@
+package com.iam.resource.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revokes all of a resource's active requests in one statement instead of loading and saving
+ * each {@code AccessRequest}. Entities of those requests already loaded in the persistence
+ * context are not refreshed.
+ */
+@Repository
+public class BulkRevocationRepository {
+
+    /**
+     * A revoked request, with what its revocation event needs.
+     */
+    public record RevokedRequest(UUID requestId, UUID userId, String userEmail) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkRevocationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets every PENDING and APPROVED request of the resource to REVOKED.
+     *
+     * @return the requests revoked
+     */
+    public List<RevokedRequest> revokeActive(UUID resourceId, String comment, LocalDateTime revokedAt) {
+        return jdbcTemplate.query(
+                "UPDATE access_requests SET status = 'REVOKED', review_comment = ?, updated_at = ? "
+                        + "WHERE resource_id = ? AND status IN ('PENDING', 'APPROVED') "
+                        + "RETURNING id, user_id, user_email",
+                (rs, rowNum) -> new RevokedRequest(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("user_id", UUID.class),
+                        rs.getString("user_email")),
+                comment, revokedAt, resourceId);
+    }
+}
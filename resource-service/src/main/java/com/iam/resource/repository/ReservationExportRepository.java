@@ -0,0 +1,94 @@
+package com.iam.resource.repository;
+
+import com.iam.resource.model.RequestStatus;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads reservations for export row by row, with a fetch size so the driver holds one batch of
+ * rows at a time instead of the whole result. Postgres only fetches in batches inside a
+ * transaction, so call within one.
+ */
+@Repository
+public class ReservationExportRepository {
+
+    /**
+     * A reservation with the resource fields an export needs, flat, as written to NDJSON.
+     */
+    public record ExportedReservation(UUID id, UUID userId, String userEmail,
+                                      UUID resourceId, String resourceName, ResourceType resourceType,
+                                      ResourceCategory resourceCategory, String location,
+                                      RequestStatus status, String accessLevel, String justification,
+                                      LocalDateTime scheduledStart, LocalDateTime scheduledEnd, int units,
+                                      UUID reviewedBy, String reviewComment,
+                                      LocalDateTime createdAt, LocalDateTime updatedAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationExportRepository(JdbcTemplate jdbcTemplate,
+                                       @Value("${resource.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams the PENDING and APPROVED reservations overlapping {@code [from, to)}, of one
+     * resource or of all, in start order.
+     */
+    public void forEachReservation(UUID resourceId, LocalDateTime from, LocalDateTime to,
+                                   Consumer<ExportedReservation> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT ar.id, ar.user_id, ar.user_email, "
+                + "r.id AS resource_id, r.name, r.resource_type, r.resource_category, r.location, "
+                + "ar.status, ar.access_level, ar.justification, ar.scheduled_start, ar.scheduled_end, ar.units, "
+                + "ar.reviewed_by, ar.review_comment, ar.created_at, ar.updated_at "
+                + "FROM access_requests ar "
+                + "JOIN resources r ON r.id = ar.resource_id "
+                + "WHERE ar.status IN ('PENDING', 'APPROVED') "
+                + "AND ar.scheduled_start < ? AND ar.scheduled_end > ? ");
+        List<Object> args = new ArrayList<>(List.of(to, from));
+        if (resourceId != null) {
+            sql.append("AND ar.resource_id = ? ");
+            args.add(resourceId);
+        }
+        sql.append("ORDER BY ar.scheduled_start, ar.id");
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            consumer.accept(new ExportedReservation(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("user_id", UUID.class),
+                    rs.getString("user_email"),
+                    rs.getObject("resource_id", UUID.class),
+                    rs.getString("name"),
+                    ResourceType.valueOf(rs.getString("resource_type")),
+                    ResourceCategory.valueOf(rs.getString("resource_category")),
+                    rs.getString("location"),
+                    RequestStatus.valueOf(rs.getString("status")),
+                    rs.getString("access_level"),
+                    rs.getString("justification"),
+                    toLocalDateTime(rs, "scheduled_start"),
+                    toLocalDateTime(rs, "scheduled_end"),
+                    rs.getInt("units"),
+                    rs.getObject("reviewed_by", UUID.class),
+                    rs.getString("review_comment"),
+                    toLocalDateTime(rs, "created_at"),
+                    toLocalDateTime(rs, "updated_at")));
+        }, args.toArray());
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.iam.resource.service;
+
+import com.iam.resource.dto.FreeSlot;
+import com.iam.resource.dto.ResourceAvailabilityResponse;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import com.iam.resource.repository.AvailabilityRepository;
+import com.iam.resource.repository.AvailabilityRepository.ReservedPeriod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Finds free resources, or free slots of a minimum length, in a time window. The reservations of
+ * all matching resources arrive in one query ordered by resource and start, and a single sweep
+ * adds up the units in use, turning the intervals where the resource has free capacity into
+ * slots, keeping only the current resource in memory.
+ */
+@Service
+public class AvailabilityService {
+
+    private final AvailabilityRepository availabilityRepository;
+
+    public AvailabilityService(AvailabilityRepository availabilityRepository) {
+        this.availabilityRepository = availabilityRepository;
+    }
+
+    /**
+     * @param minMinutes shortest slot to report; null means free for the whole window
+     */
+    @Transactional(readOnly = true)
+    public List<ResourceAvailabilityResponse> findAvailable(ResourceType type, ResourceCategory category,
+                                                            LocalDateTime from, LocalDateTime to, Integer minMinutes) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (minMinutes != null && minMinutes <= 0) {
+            throw new IllegalArgumentException("Minimum slot length must be positive");
+        }
+        Duration minimum = minMinutes != null ? Duration.ofMinutes(minMinutes) : Duration.between(from, to);
+
+        Sweep sweep = new Sweep(from, to, minimum);
+        availabilityRepository.forEachReservedPeriod(type, category, from, to, sweep::accept);
+        sweep.finish();
+        return sweep.available;
+    }
+
+    private static final class Sweep {
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final Duration minimum;
+        final List<ResourceAvailabilityResponse> available = new ArrayList<>();
+
+        ReservedPeriod resource;
+        int capacity;
+        // Reservations in progress at the sweep position, by end, and the units they hold
+        final PriorityQueue<ReservedPeriod> ongoing = new PriorityQueue<>(Comparator.comparing(ReservedPeriod::end));
+        int used;
+        LocalDateTime freeFrom;
+        List<FreeSlot> slots;
+
+        Sweep(LocalDateTime from, LocalDateTime to, Duration minimum) {
+            this.from = from;
+            this.to = to;
+            this.minimum = minimum;
+        }
+
+        void accept(ReservedPeriod period) {
+            UUID current = resource != null ? resource.resourceId() : null;
+            if (!period.resourceId().equals(current)) {
+                finish();
+                resource = period;
+                capacity = period.capacity() != null && period.capacity() > 0 ? period.capacity() : 1;
+                used = 0;
+                freeFrom = from;
+                slots = new ArrayList<>();
+            }
+            if (period.start() == null) {
+                return;
+            }
+            LocalDateTime start = period.start().isBefore(from) ? from : period.start();
+            // Periods are half-open, so reservations ending at this start have already freed their units
+            release(start);
+            if (used < capacity && used + period.units() >= capacity) {
+                gap(start);
+            }
+            used += period.units();
+            ongoing.add(period);
+        }
+
+        void finish() {
+            if (resource == null) {
+                return;
+            }
+            release(to);
+            if (used < capacity) {
+                gap(to);
+            }
+            if (!slots.isEmpty()) {
+                available.add(ResourceAvailabilityResponse.builder()
+                        .resourceId(resource.resourceId())
+                        .name(resource.name())
+                        .resourceCategory(resource.category())
+                        .location(resource.location())
+                        .capacity(resource.capacity())
+                        .freeSlots(slots)
+                        .build());
+            }
+            ongoing.clear();
+            resource = null;
+        }
+
+        // Ends the reservations finishing by until; a fully used resource turns free at the end
+        // that brings it below capacity
+        private void release(LocalDateTime until) {
+            while (!ongoing.isEmpty() && !ongoing.peek().end().isAfter(until)) {
+                ReservedPeriod ended = ongoing.poll();
+                boolean full = used >= capacity;
+                used -= ended.units();
+                if (full && used < capacity) {
+                    freeFrom = ended.end();
+                }
+            }
+        }
+
+        // Reservations arrive in start order, so freeFrom only moves forward
+        private void gap(LocalDateTime until) {
+            LocalDateTime end = until.isAfter(to) ? to : until;
+            if (end.isAfter(freeFrom) && Duration.between(freeFrom, end).compareTo(minimum) >= 0) {
+                slots.add(new FreeSlot(freeFrom, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.iam.resource.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Half-open intervals {@code [start, end)} in a treap ordered by start, where every node also
+ * records the largest end in its subtree. Subtrees that end before a query interval begins, or
+ * start after it ends, are skipped, so finding the intervals overlapping a query is
+ * O(log n + k) expected and adding or removing one is O(log n) expected.
+ * <p>
+ * Values identify intervals and must be unique. Not thread-safe.
+ */
+final class IntervalTree<T> {
+
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+    private Node<T> root;
+    private long sequence;
+
+    void add(long start, long end, T value) {
+        remove(value);
+        Node<T> node = new Node<>(start, end, sequence++, value, ThreadLocalRandom.current().nextInt());
+        nodes.put(value, node);
+        root = insert(root, node);
+    }
+
+    boolean remove(T value) {
+        Node<T> node = nodes.remove(value);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    /**
+     * Values of all intervals overlapping {@code [start, end)}, in start order.
+     */
+    List<T> overlapping(long start, long end) {
+        List<T> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    boolean contains(T value) {
+        return nodes.containsKey(value);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    private static <T> void collect(Node<T> node, long start, long end, List<T> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            result.add(node.value);
+        }
+        collect(node.right, start, end, result);
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.before(node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <T> Node<T> delete(Node<T> node, Node<T> removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (removed.before(node)) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    // Every key in left precedes every key in right
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node<T> {
+        final long start;
+        final long end;
+        final long sequence;
+        final T value;
+        final int priority;
+        long maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(long start, long end, long sequence, T value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        boolean before(Node<T> other) {
+            return start < other.start || (start == other.start && sequence < other.sequence);
+        }
+
+        void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
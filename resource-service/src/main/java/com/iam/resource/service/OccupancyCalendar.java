@@ -0,0 +1,373 @@
+package com.iam.resource.service;
+
+import com.iam.resource.model.AccessRequest;
+import com.iam.resource.model.RequestStatus;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import com.iam.resource.repository.AvailabilityRepository;
+import com.iam.resource.repository.AvailabilityRepository.ReservedPeriod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Occupancy of the active physical resources as one bitmap per resource and day, a bit per
+ * {@value #SLOT_MINUTES}-minute slot, set when the slot's reservations use the resource's whole
+ * capacity. A reservation counts for every slot it touches, so partly used slots show as busy.
+ * <p>
+ * A day is loaded for all resources in one query when first asked for, once however many ask,
+ * then kept up to date by the reservations changed on this instance, after commit, including
+ * those committed while it loads. Changes made on other instances show once the day expires
+ * after {@code resource.calendar.ttl-seconds}. At most
+ * {@code resource.calendar.max-days} days are kept, the least recently used going first.
+ * <p>
+ * Whether a period is free is then a mask and a bitwise AND per day, and a heat map a population
+ * count per slot.
+ */
+@Service
+public class OccupancyCalendar {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    // Longest window isFree checks, so one request cannot load and evict a whole year of days
+    public static final int MAX_WINDOW_DAYS = 31;
+
+    /**
+     * @param busy per slot, the number of resources with no free capacity
+     */
+    public record Heatmap(int resources, int[] busy) {}
+
+    private final AvailabilityRepository availabilityRepository;
+    private final long ttlMillis;
+    // Guards days, loads and the changes recorded for loads
+    private final Map<LocalDate, Day> days;
+    private final Map<LocalDate, Loading> loads = new HashMap<>();
+
+    public OccupancyCalendar(AvailabilityRepository availabilityRepository,
+                             @Value("${resource.calendar.max-days:400}") int maxDays,
+                             @Value("${resource.calendar.ttl-seconds:60}") long ttlSeconds) {
+        this.availabilityRepository = availabilityRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.days = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Day> eldest) {
+                return size() > maxDays;
+            }
+        };
+    }
+
+    /**
+     * The resource's slots on the date, {@code SLOTS_PER_DAY} bits in two words, low slots first;
+     * null if the resource is not an active physical resource.
+     */
+    public long[] busySlots(UUID resourceId, LocalDate date) {
+        ResourceDay resource = day(date).resources.get(resourceId);
+        if (resource == null) {
+            return null;
+        }
+        synchronized (resource) {
+            return new long[] {resource.low, resource.high};
+        }
+    }
+
+    /**
+     * Whether no slot touched by {@code [from, to)} is fully booked.
+     *
+     * @throws IllegalArgumentException if the window is longer than {@value #MAX_WINDOW_DAYS} days
+     */
+    public boolean isFree(UUID resourceId, LocalDateTime from, LocalDateTime to) {
+        if (to.isAfter(from.plusDays(MAX_WINDOW_DAYS))) {
+            throw new IllegalArgumentException("Time window must be at most " + MAX_WINDOW_DAYS + " days");
+        }
+        for (LocalDate date = from.toLocalDate(); date.atStartOfDay().isBefore(to); date = date.plusDays(1)) {
+            ResourceDay resource = day(date).resources.get(resourceId);
+            if (resource == null) {
+                return false;
+            }
+            int first = firstSlot(date, from);
+            int last = lastSlot(date, to);
+            synchronized (resource) {
+                if ((resource.low & mask(first, last, 0)) != 0 || (resource.high & mask(first, last, 64)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busy resources per slot on the date, among the active physical resources of the category,
+     * or of all categories.
+     */
+    public Heatmap heatmap(LocalDate date, ResourceCategory category) {
+        int[] busy = new int[SLOTS_PER_DAY];
+        int resources = 0;
+        for (ResourceDay resource : day(date).resources.values()) {
+            if (category != null && resource.category != category) {
+                continue;
+            }
+            resources++;
+            long low;
+            long high;
+            synchronized (resource) {
+                low = resource.low;
+                high = resource.high;
+            }
+            for (long bits = low; bits != 0; bits &= bits - 1) {
+                busy[Long.numberOfTrailingZeros(bits)]++;
+            }
+            for (long bits = high; bits != 0; bits &= bits - 1) {
+                busy[64 + Long.numberOfTrailingZeros(bits)]++;
+            }
+        }
+        return new Heatmap(resources, busy);
+    }
+
+    /**
+     * Applies the request's current status to the loaded days it spans once the surrounding
+     * transaction commits, and to the loads of those days in flight.
+     */
+    public void update(AccessRequest request) {
+        if (request.getScheduledStart() == null || request.getScheduledEnd() == null) {
+            return;
+        }
+        Change change = new Change(request.getResource().getId(), request.getId(),
+                request.getScheduledStart(), request.getScheduledEnd(), request.getUnits(),
+                request.getStatus() == RequestStatus.PENDING || request.getStatus() == RequestStatus.APPROVED);
+        afterCommit(() -> {
+            for (LocalDate date = change.start().toLocalDate(); date.atStartOfDay().isBefore(change.end());
+                 date = date.plusDays(1)) {
+                synchronized (days) {
+                    Loading loading = loads.get(date);
+                    if (loading != null) {
+                        loading.changes.add(change);
+                    }
+                    Day day = days.get(date);
+                    if (day != null && !change.applyTo(day, date)) {
+                        days.remove(date);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops every loaded day once the surrounding transaction commits, for changes to the
+     * resources themselves. Loads in flight are returned but not kept.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            synchronized (days) {
+                days.clear();
+                loads.values().forEach(loading -> loading.stale = true);
+            }
+        });
+    }
+
+    /**
+     * The date's occupancy, loaded if missing or expired. One load per date runs at a time, other
+     * callers wait for it. Changes committed while it runs are recorded and replayed onto the
+     * result before it is kept, so a load never hides them: replaying one the query already saw
+     * sets the same state again.
+     */
+    private Day day(LocalDate date) {
+        Loading loading;
+        boolean loader = false;
+        synchronized (days) {
+            Day day = days.get(date);
+            if (day != null && System.currentTimeMillis() - day.loadedAt <= ttlMillis) {
+                return day;
+            }
+            loading = loads.get(date);
+            if (loading == null) {
+                loading = new Loading();
+                loads.put(date, loading);
+                loader = true;
+            }
+        }
+        if (loader) {
+            return load(date, loading);
+        }
+        try {
+            return loading.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Day load(LocalDate date, Loading loading) {
+        try {
+            Day loaded = new Day(System.currentTimeMillis());
+            LocalDateTime dayStart = date.atStartOfDay();
+            availabilityRepository.forEachReservedPeriod(ResourceType.PHYSICAL, null, dayStart, dayStart.plusDays(1),
+                    period -> {
+                        ResourceDay resource = loaded.resources.computeIfAbsent(period.resourceId(),
+                                id -> new ResourceDay(period.category(), capacityOf(period)));
+                        if (period.requestId() != null) {
+                            resource.bookings.put(period.requestId(), new Booking(
+                                    firstSlot(date, period.start()), lastSlot(date, period.end()), period.units()));
+                        }
+                    });
+            loaded.resources.values().forEach(ResourceDay::rebuild);
+
+            synchronized (days) {
+                boolean complete = true;
+                for (Change change : loading.changes) {
+                    complete &= change.applyTo(loaded, date);
+                }
+                loads.remove(date);
+                if (complete && !loading.stale) {
+                    days.put(date, loaded);
+                }
+            }
+            loading.future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            synchronized (days) {
+                loads.remove(date);
+            }
+            loading.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static int capacityOf(ReservedPeriod period) {
+        return period.capacity() != null && period.capacity() > 0 ? period.capacity() : 1;
+    }
+
+    // First slot of the date touched by a period starting at time, 0 if it starts earlier
+    private static int firstSlot(LocalDate date, LocalDateTime time) {
+        long minutes = Duration.between(date.atStartOfDay(), time).toMinutes();
+        return (int) Math.max(0, Math.min(SLOTS_PER_DAY, Math.floorDiv(minutes, SLOT_MINUTES)));
+    }
+
+    // Slot after the last one of the date touched by a period ending at time
+    private static int lastSlot(LocalDate date, LocalDateTime time) {
+        Duration offset = Duration.between(date.atStartOfDay(), time);
+        long slots = Math.ceilDiv(offset.toSeconds(), SLOT_MINUTES * 60L);
+        return (int) Math.max(0, Math.min(SLOTS_PER_DAY, slots));
+    }
+
+    // Bits [first, last) of the 64-slot word starting at slot base
+    private static long mask(int first, int last, int base) {
+        int from = Math.max(first - base, 0);
+        int to = Math.min(last - base, 64);
+        if (from >= to) {
+            return 0;
+        }
+        long upTo = to == 64 ? -1L : (1L << to) - 1;
+        return upTo & (-1L << from);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * @param firstSlot first slot touched
+     * @param lastSlot  slot after the last one touched
+     */
+    private record Booking(int firstSlot, int lastSlot, int units) {}
+
+    /**
+     * A reservation's state after a committed change.
+     */
+    private record Change(UUID resourceId, UUID requestId, LocalDateTime start, LocalDateTime end, int units,
+                          boolean active) {
+
+        /**
+         * @return false if the day does not have the resource, i.e. predates it
+         */
+        boolean applyTo(Day day, LocalDate date) {
+            ResourceDay resource = day.resources.get(resourceId);
+            if (resource == null) {
+                return false;
+            }
+            synchronized (resource) {
+                resource.bookings.remove(requestId);
+                if (active) {
+                    resource.bookings.put(requestId, new Booking(firstSlot(date, start), lastSlot(date, end), units));
+                }
+                resource.rebuild();
+            }
+            return true;
+        }
+    }
+
+    private static final class Loading {
+        final CompletableFuture<Day> future = new CompletableFuture<>();
+        final List<Change> changes = new ArrayList<>();
+        boolean stale;
+    }
+
+    private static final class Day {
+        final long loadedAt;
+        final Map<UUID, ResourceDay> resources = new HashMap<>();
+
+        Day(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class ResourceDay {
+        final ResourceCategory category;
+        final int capacity;
+        final Map<UUID, Booking> bookings = new HashMap<>();
+        long low;
+        long high;
+
+        ResourceDay(ResourceCategory category, int capacity) {
+            this.category = category;
+            this.capacity = capacity;
+        }
+
+        void rebuild() {
+            low = 0;
+            high = 0;
+            if (capacity == 1) {
+                for (Booking booking : bookings.values()) {
+                    low |= mask(booking.firstSlot(), booking.lastSlot(), 0);
+                    high |= mask(booking.firstSlot(), booking.lastSlot(), 64);
+                }
+                return;
+            }
+            int[] used = new int[SLOTS_PER_DAY];
+            for (Booking booking : bookings.values()) {
+                for (int slot = booking.firstSlot(); slot < booking.lastSlot(); slot++) {
+                    used[slot] += booking.units();
+                }
+            }
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                if (used[slot] >= capacity) {
+                    if (slot < 64) {
+                        low |= 1L << slot;
+                    } else {
+                        high |= 1L << (slot - 64);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.iam.resource.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.iam.resource.model.RequestStatus;
+import com.iam.resource.repository.ReservationExportRepository;
+import com.iam.resource.repository.ReservationExportRepository.ExportedReservation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes reservations to a stream as they are read, so memory stays constant however long the
+ * window: as NDJSON, one reservation per line, or as an iCalendar (RFC 5545) feed calendar
+ * clients can subscribe to.
+ */
+@Service
+public class ReservationExportService {
+
+    private static final DateTimeFormatter ICAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int ICAL_LINE_OCTETS = 75;
+
+    private final ReservationExportRepository reservationExportRepository;
+    private final ObjectWriter ndjsonWriter;
+
+    public ReservationExportService(ReservationExportRepository reservationExportRepository,
+                                    ObjectMapper objectMapper) {
+        this.reservationExportRepository = reservationExportRepository;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(UUID resourceId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (SequenceWriter sequence = ndjsonWriter.writeValues(out)) {
+            reservationExportRepository.forEachReservation(resourceId, from, to, reservation -> {
+                try {
+                    sequence.write(reservation);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes a VCALENDAR with one VEVENT per reservation. Reservation times have no zone, so
+     * they are written as floating local times; DTSTAMP, which must be UTC, is converted from
+     * the server's zone. It is the reservation's last change, or the export time for rows that
+     * record none.
+     */
+    @Transactional(readOnly = true)
+    public void writeICalendar(UUID resourceId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeLine(writer, "BEGIN:VCALENDAR");
+        writeLine(writer, "VERSION:2.0");
+        writeLine(writer, "PRODID:-//IAM//Resource Service//EN");
+        writeLine(writer, "CALSCALE:GREGORIAN");
+        writeLine(writer, "METHOD:PUBLISH");
+        writeLine(writer, "X-WR-CALNAME:Reservations");
+        LocalDateTime exportedAt = LocalDateTime.now();
+        reservationExportRepository.forEachReservation(resourceId, from, to, reservation -> {
+            try {
+                writeEvent(writer, reservation, exportedAt);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writeLine(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private static void writeEvent(Writer writer, ExportedReservation reservation, LocalDateTime exportedAt)
+            throws IOException {
+        LocalDateTime modified = reservation.updatedAt() != null ? reservation.updatedAt() : reservation.createdAt();
+
+        writeLine(writer, "BEGIN:VEVENT");
+        writeLine(writer, "UID:" + reservation.id() + "@iam-resource-service");
+        writeLine(writer, "DTSTAMP:" + toUtc(modified != null ? modified : exportedAt));
+        if (modified != null) {
+            writeLine(writer, "LAST-MODIFIED:" + toUtc(modified));
+        }
+        writeLine(writer, "DTSTART:" + ICAL_DATE_TIME.format(reservation.scheduledStart()));
+        writeLine(writer, "DTEND:" + ICAL_DATE_TIME.format(reservation.scheduledEnd()));
+        writeLine(writer, "SUMMARY:" + escape(reservation.resourceName()));
+        if (reservation.location() != null) {
+            writeLine(writer, "LOCATION:" + escape(reservation.location()));
+        }
+        StringBuilder description = new StringBuilder("Reserved by ").append(reservation.userEmail());
+        if (reservation.units() > 1) {
+            description.append("\n").append(reservation.units()).append(" units");
+        }
+        if (reservation.justification() != null) {
+            description.append("\n").append(reservation.justification());
+        }
+        writeLine(writer, "DESCRIPTION:" + escape(description.toString()));
+        writeLine(writer, "CATEGORIES:" + reservation.resourceCategory());
+        writeLine(writer, "STATUS:" + (reservation.status() == RequestStatus.APPROVED ? "CONFIRMED" : "TENTATIVE"));
+        writeLine(writer, "END:VEVENT");
+    }
+
+    private static String toUtc(LocalDateTime time) {
+        return ICAL_DATE_TIME.format(time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)) + "Z";
+    }
+
+    // TEXT values escape backslashes, semicolons, commas and line breaks
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Writes a content line ending in CRLF, folded so no line exceeds 75 octets; continuation
+     * lines start with a space, and folds never split a UTF-8 sequence.
+     */
+    private static void writeLine(Writer writer, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + length > ICAL_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+}
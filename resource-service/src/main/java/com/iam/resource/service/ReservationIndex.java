@@ -0,0 +1,351 @@
+package com.iam.resource.service;
+
+import com.iam.resource.model.AccessRequest;
+import com.iam.resource.model.RequestStatus;
+import com.iam.resource.repository.AccessRequestRepository;
+import com.iam.resource.repository.BookingVersionRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PENDING and APPROVED reservations of each physical resource in an {@link IntervalTree}, so
+ * admission checks and utilization reports run in memory.
+ * <p>
+ * A resource's reservations are loaded on first use, from that moment on; periods starting
+ * earlier are read from the database. Every change to a resource's reservations increments its
+ * {@code booking_version} in the same transaction, which locks the resource row until commit and
+ * so serializes admissions to one resource across instances. The index records the version it
+ * reflects: if, under the lock, that is the version just before ours, the index is exact and the
+ * check needs no query, otherwise the resource's reservations are reloaded. Local changes are
+ * applied after commit.
+ * <p>
+ * Single-unit resources are additionally protected by the {@code access_requests_no_overlap}
+ * exclusion constraint (see {@link #isOverlapViolation}).
+ */
+@Service
+public class ReservationIndex {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * @param peakUnits   most units in use at any moment of the period, without the request
+     * @param overlapping reservations overlapping the period, in start order
+     */
+    public record Admission(boolean admitted, int peakUnits, List<UUID> overlapping) {}
+
+    /**
+     * @param averageUnits units in use averaged over the whole period
+     */
+    public record Usage(int peakUnits, double averageUnits) {}
+
+    private record Booking(UUID requestId, long start, long end, int units) {}
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final BookingVersionRepository bookingVersionRepository;
+    private final Map<UUID, Reservations> resources = new ConcurrentHashMap<>();
+
+    public ReservationIndex(AccessRequestRepository accessRequestRepository,
+                            BookingVersionRepository bookingVersionRepository) {
+        this.accessRequestRepository = accessRequestRepository;
+        this.bookingVersionRepository = bookingVersionRepository;
+    }
+
+    /**
+     * Locks the resource's reservations for the rest of the transaction and checks that taking
+     * {@code units} over {@code [start, end)} keeps usage within {@code capacity} throughout.
+     * Call before changing the resource's reservations in the same transaction.
+     *
+     * @param excludeId a reservation not to count, e.g. the one being reviewed
+     */
+    public Admission admit(UUID resourceId, LocalDateTime start, LocalDateTime end, int units, int capacity,
+                           UUID excludeId) {
+        long version = lock(resourceId);
+        Reservations reservations = current(resourceId, version - 1);
+
+        List<Booking> overlapping = overlapping(reservations, resourceId, start, end);
+        overlapping.removeIf(booking -> booking.requestId().equals(excludeId));
+        int peak = peak(overlapping, toMicros(start), toMicros(end));
+        return new Admission(peak + units <= capacity, peak,
+                overlapping.stream().map(Booking::requestId).toList());
+    }
+
+    /**
+     * Locks the resource's reservations for the rest of the transaction, like {@link #admit}, and
+     * copies those overlapping {@code [from, to)} into an {@link Overlay} where several changes
+     * can be checked in turn, each seeing the ones before it.
+     */
+    public Overlay overlay(UUID resourceId, LocalDateTime from, LocalDateTime to) {
+        long version = lock(resourceId);
+        Reservations reservations = current(resourceId, version - 1);
+        return new Overlay(overlapping(reservations, resourceId, from, to));
+    }
+
+    /**
+     * Peak and average units in use over {@code [from, to)}.
+     */
+    public Usage usage(UUID resourceId, LocalDateTime from, LocalDateTime to) {
+        Reservations reservations = current(resourceId, bookingVersionRepository.current(resourceId));
+
+        List<Booking> overlapping = overlapping(reservations, resourceId, from, to);
+        long start = toMicros(from);
+        long end = toMicros(to);
+        double used = 0;
+        for (Booking booking : overlapping) {
+            used += (double) booking.units() * (Math.min(booking.end(), end) - Math.max(booking.start(), start));
+        }
+        return new Usage(peak(overlapping, start, end), used / (end - start));
+    }
+
+    /**
+     * Adds or removes the request according to its status once the surrounding transaction
+     * commits. Requests without a schedule, i.e. for digital resources, are ignored.
+     */
+    public void update(AccessRequest request) {
+        if (request.getScheduledStart() == null) {
+            return;
+        }
+        UUID resourceId = request.getResource().getId();
+        long version = lock(resourceId);
+        Booking booking = isActive(request) ? toBooking(request) : null;
+        UUID requestId = request.getId();
+        afterCommit(() -> resources.computeIfPresent(resourceId, (id, reservations) -> {
+            synchronized (reservations) {
+                // A change committed on another instance is missing in between
+                if (version > reservations.version + 1) {
+                    return null;
+                }
+                // Otherwise this is the next change, or one already loaded or applied
+                if (version >= reservations.version) {
+                    if (booking != null) {
+                        reservations.add(booking);
+                    } else {
+                        reservations.remove(requestId);
+                    }
+                    reservations.version = version;
+                }
+                return reservations;
+            }
+        }));
+    }
+
+    /**
+     * Drops the resource's reservations once the surrounding transaction commits; the next check
+     * reloads them.
+     */
+    public void evict(UUID resourceId) {
+        lock(resourceId);
+        afterCommit(() -> resources.remove(resourceId));
+    }
+
+    /**
+     * Whether the exception is the {@code access_requests_no_overlap} constraint rejecting an
+     * overlapping reservation.
+     */
+    public static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Increments the version once per resource and transaction
+    @SuppressWarnings("unchecked")
+    private long lock(UUID resourceId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Reservations can only be changed in a transaction");
+        }
+        Map<UUID, Long> locked = (Map<UUID, Long>) TransactionSynchronizationManager.getResource(this);
+        if (locked == null) {
+            locked = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, locked);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReservationIndex.this);
+                }
+            });
+        }
+        return locked.computeIfAbsent(resourceId, bookingVersionRepository::increment);
+    }
+
+    private Reservations current(UUID resourceId, long version) {
+        return resources.compute(resourceId, (id, existing) -> {
+            if (existing != null) {
+                synchronized (existing) {
+                    if (existing.version == version) {
+                        return existing;
+                    }
+                }
+            }
+            return load(id, version);
+        });
+    }
+
+    private List<Booking> overlapping(Reservations reservations, UUID resourceId, LocalDateTime start, LocalDateTime end) {
+        if (start.isBefore(reservations.horizon)) {
+            List<Booking> overlapping = new ArrayList<>();
+            for (AccessRequest request : accessRequestRepository.findActiveOverlapping(resourceId, start, end)) {
+                overlapping.add(toBooking(request));
+            }
+            return overlapping;
+        }
+        synchronized (reservations) {
+            List<Booking> overlapping = new ArrayList<>();
+            for (UUID requestId : reservations.tree.overlapping(toMicros(start), toMicros(end))) {
+                overlapping.add(reservations.bookings.get(requestId));
+            }
+            return overlapping;
+        }
+    }
+
+    /**
+     * Sweeps the bookings' start and end points, clipped to {@code [start, end)}, in time order;
+     * at equal times ends go first since intervals are half-open.
+     */
+    private static int peak(Collection<Booking> bookings, long start, long end) {
+        long[] points = new long[bookings.size() * 2];
+        int[] deltas = new int[points.length];
+        Integer[] order = new Integer[points.length];
+        int i = 0;
+        for (Booking booking : bookings) {
+            points[i] = Math.max(booking.start(), start);
+            deltas[i] = booking.units();
+            order[i] = i++;
+            points[i] = Math.min(booking.end(), end);
+            deltas[i] = -booking.units();
+            order[i] = i++;
+        }
+        Arrays.sort(order, (a, b) -> points[a] != points[b]
+                ? Long.compare(points[a], points[b])
+                : Integer.compare(deltas[a], deltas[b]));
+
+        int current = 0;
+        int peak = 0;
+        for (int index : order) {
+            current += deltas[index];
+            peak = Math.max(peak, current);
+        }
+        return peak;
+    }
+
+    private Reservations load(UUID resourceId, long version) {
+        LocalDateTime horizon = LocalDateTime.now();
+        Reservations reservations = new Reservations(horizon, version);
+        for (AccessRequest request : accessRequestRepository.findActiveReservationsEndingAfter(resourceId, horizon)) {
+            reservations.add(toBooking(request));
+        }
+        return reservations;
+    }
+
+    private static boolean isActive(AccessRequest request) {
+        return (request.getStatus() == RequestStatus.PENDING || request.getStatus() == RequestStatus.APPROVED)
+                && request.getScheduledStart() != null
+                && request.getScheduledEnd() != null
+                && request.getScheduledStart().isBefore(request.getScheduledEnd());
+    }
+
+    private static Booking toBooking(AccessRequest request) {
+        return new Booking(request.getId(), toMicros(request.getScheduledStart()),
+                toMicros(request.getScheduledEnd()), request.getUnits());
+    }
+
+    // Microseconds, the precision of a Postgres timestamp
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * A private copy of one resource's reservations over a period, see {@link #overlay}. Changes
+     * stay in the copy; apply them with {@link #update} once saved.
+     */
+    public static final class Overlay {
+
+        private final IntervalTree<UUID> tree = new IntervalTree<>();
+        private final Map<UUID, Booking> bookings = new HashMap<>();
+
+        private Overlay(List<Booking> overlapping) {
+            overlapping.forEach(this::add);
+        }
+
+        /**
+         * Checks that taking {@code units} over {@code [start, end)}, a period within the
+         * overlay's, keeps usage within {@code capacity}, not counting the request itself. The
+         * request is kept if admitted and dropped otherwise.
+         */
+        public Admission admit(UUID requestId, LocalDateTime start, LocalDateTime end, int units, int capacity) {
+            remove(requestId);
+            Booking booking = new Booking(requestId, toMicros(start), toMicros(end), units);
+            List<Booking> overlapping = new ArrayList<>();
+            for (UUID id : tree.overlapping(booking.start(), booking.end())) {
+                overlapping.add(bookings.get(id));
+            }
+            int peak = peak(overlapping, booking.start(), booking.end());
+            boolean admitted = peak + units <= capacity;
+            if (admitted) {
+                add(booking);
+            }
+            return new Admission(admitted, peak, overlapping.stream().map(Booking::requestId).toList());
+        }
+
+        public void remove(UUID requestId) {
+            tree.remove(requestId);
+            bookings.remove(requestId);
+        }
+
+        private void add(Booking booking) {
+            tree.add(booking.start(), booking.end(), booking.requestId());
+            bookings.put(booking.requestId(), booking);
+        }
+    }
+
+    private static final class Reservations {
+        final LocalDateTime horizon;
+        final long horizonMicros;
+        final IntervalTree<UUID> tree = new IntervalTree<>();
+        final Map<UUID, Booking> bookings = new HashMap<>();
+        long version;
+
+        Reservations(LocalDateTime horizon, long version) {
+            this.horizon = horizon;
+            this.horizonMicros = toMicros(horizon);
+            this.version = version;
+        }
+
+        void add(Booking booking) {
+            if (booking.end() > horizonMicros) {
+                tree.add(booking.start(), booking.end(), booking.requestId());
+                bookings.put(booking.requestId(), booking);
+            }
+        }
+
+        void remove(UUID requestId) {
+            tree.remove(requestId);
+            bookings.remove(requestId);
+        }
+    }
+}
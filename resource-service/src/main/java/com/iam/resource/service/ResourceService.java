@@ -1,23 +1,46 @@
 package com.iam.resource.service;
 
 import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.AccessDecisionBatchEvent;
 import com.iam.common.events.AccessDecisionEvent;
 import com.iam.common.events.AccessRequestEvent;
 import com.iam.common.events.ResourceCollisionEvent;
+import com.iam.common.dto.PageCursor;
+import com.iam.common.dto.PagedResponse;
 import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.resource.dto.BatchReviewItem;
+import com.iam.resource.dto.BatchReviewResult;
+import com.iam.resource.dto.OccupancyHeatmapResponse;
+import com.iam.resource.dto.ResourceOccupancyResponse;
+import com.iam.resource.dto.ResourceUtilizationResponse;
 import com.iam.resource.model.*;
 import com.iam.resource.repository.AccessRequestRepository;
+import com.iam.resource.repository.BulkRevocationRepository;
+import com.iam.resource.repository.BulkRevocationRepository.RevokedRequest;
 import com.iam.resource.repository.ResourceRepository;
+import com.iam.resource.service.ReservationIndex.Admission;
+import com.iam.resource.service.ReservationIndex.Overlay;
+import com.iam.resource.service.ReservationIndex.Usage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -25,15 +48,26 @@ public class ResourceService {
 
     private static final Logger log = LoggerFactory.getLogger(ResourceService.class);
 
+    private static final int DECISION_BATCH_SIZE = 500;
+
     private final ResourceRepository resourceRepository;
     private final AccessRequestRepository accessRequestRepository;
+    private final BulkRevocationRepository bulkRevocationRepository;
+    private final ReservationIndex reservationIndex;
+    private final OccupancyCalendar occupancyCalendar;
     private final RabbitTemplate rabbitTemplate;
 
     public ResourceService(ResourceRepository resourceRepository,
                            AccessRequestRepository accessRequestRepository,
+                           BulkRevocationRepository bulkRevocationRepository,
+                           ReservationIndex reservationIndex,
+                           OccupancyCalendar occupancyCalendar,
                            RabbitTemplate rabbitTemplate) {
         this.resourceRepository = resourceRepository;
         this.accessRequestRepository = accessRequestRepository;
+        this.bulkRevocationRepository = bulkRevocationRepository;
+        this.reservationIndex = reservationIndex;
+        this.occupancyCalendar = occupancyCalendar;
         this.rabbitTemplate = rabbitTemplate;
     }
 
@@ -69,6 +103,7 @@ public class ResourceService {
 
     @Transactional
     public Resource createResource(Resource resource) {
+        occupancyCalendar.invalidateAll();
         return resourceRepository.save(resource);
     }
 
@@ -80,18 +115,13 @@ public class ResourceService {
         resource.setLocation(updatedResource.getLocation());
         resource.setCapacity(updatedResource.getCapacity());
         resource.setRequiresApproval(updatedResource.isRequiresApproval());
+        occupancyCalendar.invalidateAll();
 
         if (active != null && active != resource.isActive()) {
             resource.setActive(active);
             if (!active) {
-                List<AccessRequest> activeRequests = accessRequestRepository.findByResourceIdAndStatusIn(
-                        id, List.of(RequestStatus.PENDING, RequestStatus.APPROVED));
-                for (AccessRequest req : activeRequests) {
-                    req.setStatus(RequestStatus.REVOKED);
-                    req.setReviewComment("Resource deactivated");
-                }
-                accessRequestRepository.saveAll(activeRequests);
-                log.info("Resource {} deactivated via update, {} requests revoked", resource.getName(), activeRequests.size());
+                int revoked = revokeActiveRequests(resource);
+                log.info("Resource {} deactivated via update, {} requests revoked", resource.getName(), revoked);
             } else {
                 log.info("Resource {} reactivated", resource.getName());
             }
@@ -105,18 +135,42 @@ public class ResourceService {
         Resource resource = getResourceById(id);
         resource.setActive(false);
         resourceRepository.save(resource);
+        occupancyCalendar.invalidateAll();
 
         // Revoke all pending/approved requests for this resource
-        List<AccessRequest> activeRequests = accessRequestRepository.findByResourceIdAndStatusIn(
-                id, List.of(RequestStatus.PENDING, RequestStatus.APPROVED));
+        int revoked = revokeActiveRequests(resource);
 
-        for (AccessRequest req : activeRequests) {
-            req.setStatus(RequestStatus.REVOKED);
-            req.setReviewComment("Resource deactivated");
-        }
-        accessRequestRepository.saveAll(activeRequests);
+        log.info("Resource {} deactivated, {} requests revoked", resource.getName(), revoked);
+    }
 
-        log.info("Resource {} deactivated, {} requests revoked", resource.getName(), activeRequests.size());
+    /**
+     * Revokes the resource's pending and approved requests with one UPDATE ... RETURNING and
+     * publishes their revocations in batches of {@value #DECISION_BATCH_SIZE}.
+     *
+     * @return the number of requests revoked
+     */
+    private int revokeActiveRequests(Resource resource) {
+        // Locks the resource's reservations first, so no admission slips in behind the update
+        reservationIndex.evict(resource.getId());
+
+        String comment = "Resource deactivated";
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedRequest> revoked = bulkRevocationRepository.revokeActive(resource.getId(), comment, now);
+
+        List<AccessDecisionEvent> decisions = revoked.stream()
+                .map(request -> AccessDecisionEvent.builder()
+                        .requestId(request.requestId())
+                        .userId(request.userId())
+                        .userEmail(request.userEmail())
+                        .resourceId(resource.getId())
+                        .resourceName(resource.getName())
+                        .decision("REVOKED")
+                        .reviewComment(comment)
+                        .timestamp(now)
+                        .build())
+                .toList();
+        publishAccessDecisionBatch(decisions, null);
+        return revoked.size();
     }
 
     // Access Request operations
@@ -124,8 +178,10 @@ public class ResourceService {
     @Transactional
     public AccessRequest createAccessRequest(UUID userId, String userEmail, UUID resourceId,
                                               String justification, String accessLevel,
-                                              LocalDateTime start, LocalDateTime end) {
+                                              LocalDateTime start, LocalDateTime end, Integer units) {
         Resource resource = getResourceById(resourceId);
+        int capacity = capacityOf(resource);
+        int reservedUnits = units != null ? units : 1;
 
         // Validate based on resource type
         if (resource.getResourceType() == ResourceType.PHYSICAL) {
@@ -137,11 +193,16 @@ public class ResourceService {
             }
             accessLevel = "RESERVE";
 
-            // Collision check: reject if overlapping APPROVED or PENDING reservation exists
-            List<AccessRequest> overlapping = accessRequestRepository.findByResourceIdAndStatusInAndDateRange(
-                    resourceId, List.of(RequestStatus.APPROVED, RequestStatus.PENDING), start, end);
-            if (!overlapping.isEmpty()) {
-                throw new IllegalArgumentException("Resource is already reserved during the selected time period");
+            // Capacity check: APPROVED and PENDING reservations plus this one must fit throughout
+            if (reservedUnits > capacity) {
+                throw new IllegalArgumentException("Resource has only " + capacity + " units");
+            }
+            Admission admission = reservationIndex.admit(resourceId, start, end, reservedUnits, capacity, null);
+            if (!admission.admitted()) {
+                throw new IllegalArgumentException(capacity == 1
+                        ? "Resource is already reserved during the selected time period"
+                        : "Only " + (capacity - admission.peakUnits()) + " of " + capacity
+                                + " units are free throughout the selected time period");
             }
         } else {
             if (accessLevel == null || accessLevel.isBlank()) {
@@ -157,9 +218,12 @@ public class ResourceService {
                 .accessLevel(accessLevel)
                 .scheduledStart(start)
                 .scheduledEnd(end)
+                .units(reservedUnits)
+                .exclusive(capacity == 1)
                 .build();
 
-        request = accessRequestRepository.save(request);
+        request = saveReservation(request);
+        reservationChanged(request);
 
         // Publish access request event
         AccessRequestEvent event = AccessRequestEvent.builder()
@@ -193,18 +257,23 @@ public class ResourceService {
 
         // Collision detection for APPROVED physical resources
         if (decision == RequestStatus.APPROVED && request.getResource().getResourceType() == ResourceType.PHYSICAL) {
-            List<AccessRequest> overlapping = accessRequestRepository.findOverlapping(
-                    request.getResource().getId(), request.getScheduledStart(), request.getScheduledEnd());
+            Admission admission = reservationIndex.admit(request.getResource().getId(),
+                    request.getScheduledStart(), request.getScheduledEnd(), request.getUnits(),
+                    capacityOf(request.getResource()), request.getId());
 
-            if (!overlapping.isEmpty()) {
+            if (!admission.admitted()) {
                 request.setStatus(RequestStatus.COLLISION);
                 request.setReviewedBy(reviewerId);
                 request.setReviewComment("Collision detected with existing reservation");
                 accessRequestRepository.save(request);
+                reservationChanged(request);
 
-                // Publish collision event with both new and existing request info
-                AccessRequest existingRequest = overlapping.get(0);
-                publishCollisionEvent(request, existingRequest);
+                // Publish collision event with both new and existing request info; none overlaps
+                // if the request alone exceeds a since reduced capacity
+                if (!admission.overlapping().isEmpty()) {
+                    AccessRequest existingRequest = getAccessRequestById(admission.overlapping().get(0));
+                    publishCollisionEvent(request, existingRequest);
+                }
 
                 return request;
             }
@@ -213,7 +282,8 @@ public class ResourceService {
         request.setStatus(decision);
         request.setReviewedBy(reviewerId);
         request.setReviewComment(comment);
-        accessRequestRepository.save(request);
+        saveReservation(request);
+        reservationChanged(request);
 
         // Publish decision event (APPROVED or DENIED)
         String decisionStr = switch (decision) {
@@ -228,6 +298,92 @@ public class ResourceService {
         return request;
     }
 
+    /**
+     * Reviews several requests in one transaction with the outcomes of reviewing them one by one
+     * in the given order: an approval on a physical resource is checked against the resource's
+     * reservations as the reviews before it left them. Each physical resource is locked and read
+     * once, in ID order, and the decisions are published in batches.
+     */
+    @Transactional
+    public List<BatchReviewResult> reviewAccessRequests(List<BatchReviewItem> reviews, UUID reviewerId) {
+        Map<UUID, AccessRequest> requests = new HashMap<>();
+        for (AccessRequest request : accessRequestRepository.findAllWithResourceByIdIn(
+                reviews.stream().map(BatchReviewItem::getRequestId).toList())) {
+            requests.put(request.getId(), request);
+        }
+
+        // Periods of the batch on each physical resource, to read its reservations over once
+        Map<UUID, LocalDateTime[]> spans = new TreeMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (BatchReviewItem review : reviews) {
+            if (review.getDecision() != RequestStatus.APPROVED && review.getDecision() != RequestStatus.DENIED) {
+                throw new IllegalArgumentException("Batch review decisions must be APPROVED or DENIED");
+            }
+            if (!seen.add(review.getRequestId())) {
+                throw new IllegalArgumentException("Request " + review.getRequestId() + " is reviewed more than once");
+            }
+            AccessRequest request = requests.get(review.getRequestId());
+            if (request == null) {
+                throw new ResourceNotFoundException("AccessRequest", "id", review.getRequestId().toString());
+            }
+            if (request.getResource().getResourceType() == ResourceType.PHYSICAL && request.getScheduledStart() != null) {
+                spans.merge(request.getResource().getId(),
+                        new LocalDateTime[] {request.getScheduledStart(), request.getScheduledEnd()},
+                        (span, period) -> new LocalDateTime[] {
+                                span[0].isBefore(period[0]) ? span[0] : period[0],
+                                span[1].isAfter(period[1]) ? span[1] : period[1]});
+            }
+        }
+        Map<UUID, Overlay> overlays = new HashMap<>();
+        spans.forEach((resourceId, span) -> overlays.put(resourceId, reservationIndex.overlay(resourceId, span[0], span[1])));
+
+        List<BatchReviewResult> results = new ArrayList<>(reviews.size());
+        List<AccessRequest> reviewed = new ArrayList<>(reviews.size());
+        Map<AccessRequest, UUID> collisions = new LinkedHashMap<>();
+        for (BatchReviewItem review : reviews) {
+            AccessRequest request = requests.get(review.getRequestId());
+            Overlay overlay = request.getScheduledStart() != null ? overlays.get(request.getResource().getId()) : null;
+            RequestStatus status = review.getDecision();
+            UUID collidingRequestId = null;
+            if (overlay != null && status == RequestStatus.APPROVED) {
+                Admission admission = overlay.admit(request.getId(), request.getScheduledStart(),
+                        request.getScheduledEnd(), request.getUnits(), capacityOf(request.getResource()));
+                if (!admission.admitted()) {
+                    status = RequestStatus.COLLISION;
+                    collidingRequestId = admission.overlapping().isEmpty() ? null : admission.overlapping().get(0);
+                    collisions.put(request, collidingRequestId);
+                }
+            } else if (overlay != null) {
+                overlay.remove(request.getId());
+            }
+
+            request.setStatus(status);
+            request.setReviewedBy(reviewerId);
+            request.setReviewComment(status == RequestStatus.COLLISION
+                    ? "Collision detected with existing reservation"
+                    : review.getReviewComment());
+            reviewed.add(request);
+            results.add(BatchReviewResult.builder()
+                    .requestId(request.getId())
+                    .decision(review.getDecision())
+                    .status(status)
+                    .collidingRequestId(collidingRequestId)
+                    .build());
+        }
+
+        saveReservations(reviewed);
+        reviewed.forEach(this::reservationChanged);
+
+        publishAccessDecisionBatch(reviewed.stream()
+                .filter(request -> request.getStatus() != RequestStatus.COLLISION)
+                .map(request -> toDecisionEvent(request, request.getStatus().name()))
+                .toList(), reviewerId);
+        publishCollisionEvents(collisions, requests);
+
+        log.info("Batch of {} reviews by {}, {} collisions", reviews.size(), reviewerId, collisions.size());
+        return results;
+    }
+
     @Transactional
     public AccessRequest revokeAccessRequest(UUID requestId, UUID reviewerId, String comment) {
         AccessRequest request = getAccessRequestById(requestId);
@@ -240,6 +396,7 @@ public class ResourceService {
         request.setReviewedBy(reviewerId);
         request.setReviewComment(comment);
         accessRequestRepository.save(request);
+        reservationChanged(request);
 
         // Publish revoke event
         publishAccessDecisionEvent(request, "REVOKED");
@@ -271,6 +428,81 @@ public class ResourceService {
                 List.of(RequestStatus.APPROVED, RequestStatus.PENDING), from, to);
     }
 
+    /**
+     * Peak and average units in use between {@code from} and {@code to}, against the resource's
+     * capacity.
+     */
+    public ResourceUtilizationResponse getUtilization(UUID resourceId, LocalDateTime from, LocalDateTime to) {
+        Resource resource = getResourceById(resourceId);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        int capacity = capacityOf(resource);
+        Usage usage = reservationIndex.usage(resourceId, from, to);
+        return ResourceUtilizationResponse.builder()
+                .resourceId(resourceId)
+                .name(resource.getName())
+                .capacity(capacity)
+                .from(from)
+                .to(to)
+                .peakUnits(usage.peakUnits())
+                .averageUnits(usage.averageUnits())
+                .peakOccupancy((double) usage.peakUnits() / capacity)
+                .averageOccupancy(usage.averageUnits() / capacity)
+                .build();
+    }
+
+    /**
+     * The resource's fully booked slots on the date, from the occupancy calendar.
+     */
+    public ResourceOccupancyResponse getOccupancy(UUID resourceId, LocalDate date) {
+        Resource resource = getResourceById(resourceId);
+        long[] busy = occupancyCalendar.busySlots(resourceId, date);
+        if (busy == null) {
+            throw new IllegalArgumentException("Occupancy is only tracked for active physical resources");
+        }
+        StringBuilder slots = new StringBuilder(OccupancyCalendar.SLOTS_PER_DAY);
+        for (int slot = 0; slot < OccupancyCalendar.SLOTS_PER_DAY; slot++) {
+            long word = busy[slot / 64];
+            slots.append((word >>> (slot % 64) & 1) != 0 ? '1' : '0');
+        }
+        return ResourceOccupancyResponse.builder()
+                .resourceId(resourceId)
+                .name(resource.getName())
+                .date(date)
+                .slotMinutes(OccupancyCalendar.SLOT_MINUTES)
+                .busySlots(slots.toString())
+                .build();
+    }
+
+    /**
+     * Number of fully booked physical resources per slot on the date.
+     */
+    public OccupancyHeatmapResponse getOccupancyHeatmap(LocalDate date, ResourceCategory category) {
+        OccupancyCalendar.Heatmap heatmap = occupancyCalendar.heatmap(date, category);
+        return OccupancyHeatmapResponse.builder()
+                .date(date)
+                .resourceCategory(category)
+                .slotMinutes(OccupancyCalendar.SLOT_MINUTES)
+                .resources(heatmap.resources())
+                .busy(heatmap.busy())
+                .build();
+    }
+
+    /**
+     * Whether the resource has free capacity in every slot between {@code from} and {@code to}.
+     * Slots are {@value OccupancyCalendar#SLOT_MINUTES} minutes, so a reservation blocks the
+     * slots it partly covers too. The window may span at most
+     * {@value OccupancyCalendar#MAX_WINDOW_DAYS} days.
+     */
+    public boolean isFree(UUID resourceId, LocalDateTime from, LocalDateTime to) {
+        getResourceById(resourceId);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        return occupancyCalendar.isFree(resourceId, from, to);
+    }
+
     public Page<AccessRequest> getAccessRequestsByStatus(RequestStatus status, Pageable pageable) {
         return accessRequestRepository.findByStatus(status, pageable);
     }
@@ -279,10 +511,99 @@ public class ResourceService {
         return accessRequestRepository.findByStatus(RequestStatus.PENDING, pageable);
     }
 
+    public PagedResponse<AccessRequest> getAccessRequestsByUser(UUID userId, String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<AccessRequest> rows = cursor == null
+                ? accessRequestRepository.findLatestByUserId(userId, limit)
+                : accessRequestRepository.findLatestByUserIdAfter(userId, cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, ResourceService::cursorOf);
+    }
+
+    public PagedResponse<AccessRequest> getPendingRequests(String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<AccessRequest> rows = cursor == null
+                ? accessRequestRepository.findLatestByStatus(RequestStatus.PENDING, limit)
+                : accessRequestRepository.findLatestByStatusAfter(
+                        RequestStatus.PENDING, cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(rows, pageSize, ResourceService::cursorOf);
+    }
+
+    /**
+     * Flushes so that an overlap caught by the exclusion constraint, i.e. a booking made
+     * concurrently on another instance, is reported like any other collision.
+     */
+    private AccessRequest saveReservation(AccessRequest request) {
+        return saveReservations(List.of(request)).get(0);
+    }
+
+    private List<AccessRequest> saveReservations(List<AccessRequest> requests) {
+        try {
+            return accessRequestRepository.saveAllAndFlush(requests);
+        } catch (DataIntegrityViolationException e) {
+            if (ReservationIndex.isOverlapViolation(e)) {
+                throw new IllegalArgumentException("Resource is already reserved during the selected time period");
+            }
+            throw e;
+        }
+    }
+
+    // Keeps the in-memory views of the resource's reservations in step with the request
+    private void reservationChanged(AccessRequest request) {
+        reservationIndex.update(request);
+        occupancyCalendar.update(request);
+    }
+
+    // Resources without a capacity hold one reservation at a time
+    private static int capacityOf(Resource resource) {
+        return resource.getCapacity() != null && resource.getCapacity() > 0 ? resource.getCapacity() : 1;
+    }
+
+    private static PageCursor cursorOf(AccessRequest request) {
+        return new PageCursor(request.getCreatedAt(), request.getId());
+    }
+
     // Private helper methods for RabbitMQ event publishing
 
+    /**
+     * One {@code resource.access.decided.batch} message per chunk instead of one decision event per
+     * request.
+     */
+    private void publishAccessDecisionBatch(List<AccessDecisionEvent> decisions, UUID performedBy) {
+        for (int from = 0; from < decisions.size(); from += DECISION_BATCH_SIZE) {
+            AccessDecisionBatchEvent event = AccessDecisionBatchEvent.builder()
+                    .batchId(UUID.randomUUID())
+                    .performedBy(performedBy)
+                    .decisions(decisions.subList(from, Math.min(from + DECISION_BATCH_SIZE, decisions.size())))
+                    .build();
+
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConstants.EVENTS_EXCHANGE,
+                    RabbitMQConstants.RESOURCE_ACCESS_DECIDED_BATCH,
+                    event);
+            log.info("Published decision batch {} ({} decisions)", event.getBatchId(), event.getDecisions().size());
+        }
+    }
+
     private void publishAccessDecisionEvent(AccessRequest request, String decision) {
-        AccessDecisionEvent event = AccessDecisionEvent.builder()
+        AccessDecisionEvent event = toDecisionEvent(request, decision);
+
+        String routingKey = switch (decision) {
+            case "APPROVED" -> RabbitMQConstants.RESOURCE_ACCESS_APPROVED;
+            case "DENIED" -> RabbitMQConstants.RESOURCE_ACCESS_DENIED;
+            case "REVOKED" -> RabbitMQConstants.RESOURCE_ACCESS_REVOKED;
+            default -> throw new IllegalArgumentException("Unknown decision: " + decision);
+        };
+
+        rabbitTemplate.convertAndSend(RabbitMQConstants.EVENTS_EXCHANGE, routingKey, event);
+        log.info("Published {} event for request {}", decision, request.getId());
+    }
+
+    private static AccessDecisionEvent toDecisionEvent(AccessRequest request, String decision) {
+        return AccessDecisionEvent.builder()
                 .requestId(request.getId())
                 .userId(request.getUserId())
                 .userEmail(request.getUserEmail())
@@ -293,16 +614,25 @@ public class ResourceService {
                 .reviewComment(request.getReviewComment())
                 .timestamp(LocalDateTime.now())
                 .build();
+    }
 
-        String routingKey = switch (decision) {
-            case "APPROVED" -> RabbitMQConstants.RESOURCE_ACCESS_APPROVED;
-            case "DENIED" -> RabbitMQConstants.RESOURCE_ACCESS_DENIED;
-            case "REVOKED" -> RabbitMQConstants.RESOURCE_ACCESS_REVOKED;
-            default -> throw new IllegalArgumentException("Unknown decision: " + decision);
-        };
-
-        rabbitTemplate.convertAndSend(RabbitMQConstants.EVENTS_EXCHANGE, routingKey, event);
-        log.info("Published {} event for request {}", decision, request.getId());
+    /**
+     * Collision events of a batch review, loading the colliding requests outside the batch in one
+     * query. None collides if a request alone exceeds a since reduced capacity.
+     */
+    private void publishCollisionEvents(Map<AccessRequest, UUID> collisions, Map<UUID, AccessRequest> batch) {
+        Map<UUID, AccessRequest> existing = new HashMap<>(batch);
+        List<UUID> missing = collisions.values().stream()
+                .filter(id -> id != null && !existing.containsKey(id))
+                .distinct()
+                .toList();
+        accessRequestRepository.findAllById(missing).forEach(request -> existing.put(request.getId(), request));
+
+        collisions.forEach((request, collidingRequestId) -> {
+            if (collidingRequestId != null) {
+                publishCollisionEvent(request, existing.get(collidingRequestId));
+            }
+        });
     }
 
     private void publishCollisionEvent(AccessRequest newRequest, AccessRequest existingRequest) {
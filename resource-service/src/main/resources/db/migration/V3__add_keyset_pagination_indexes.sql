@@ -0,0 +1,10 @@
+-- V3: Indexes matching the (created_at DESC, id DESC) keyset order used by cursor pagination
+
+-- Rows without a sort key would sort first and could not be paged past
+UPDATE access_requests SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+ALTER TABLE access_requests ALTER COLUMN created_at SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_access_requests_user;
+CREATE INDEX idx_access_requests_user_created_id ON access_requests(user_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_access_requests_status_created_id ON access_requests(status, created_at DESC, id DESC);
@@ -0,0 +1,51 @@
+-- V4: PENDING and APPROVED reservations of a resource may not overlap, enforced by the database
+-- so that concurrent bookings on different instances cannot both pass the collision check
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Overlaps that slipped through the old check-then-insert: per resource, in order of APPROVED
+-- over PENDING, then the oldest, keep a reservation unless it overlaps one already kept, and mark
+-- it as a collision otherwise. Overlapping the kept ones rather than any better one matters when
+-- overlaps chain: of A, B and C where only A and B and B and C overlap, A and C are kept.
+-- Only reservations overlapping another are visited; the rest are kept as they are.
+CREATE TEMPORARY TABLE kept_reservations (resource_id UUID NOT NULL, period TSRANGE NOT NULL);
+
+DO $$
+DECLARE
+    reservation RECORD;
+BEGIN
+    FOR reservation IN
+        SELECT r.id, r.resource_id, tsrange(r.scheduled_start, r.scheduled_end) AS period
+        FROM access_requests r
+        WHERE r.status IN ('PENDING', 'APPROVED')
+          AND r.scheduled_end > r.scheduled_start
+          AND EXISTS (
+              SELECT 1 FROM access_requests other
+              WHERE other.resource_id = r.resource_id
+                AND other.id <> r.id
+                AND other.status IN ('PENDING', 'APPROVED')
+                AND other.scheduled_end > other.scheduled_start
+                AND tsrange(other.scheduled_start, other.scheduled_end) && tsrange(r.scheduled_start, r.scheduled_end))
+        ORDER BY r.resource_id, CASE r.status WHEN 'APPROVED' THEN 0 ELSE 1 END, r.created_at, r.id
+    LOOP
+        IF EXISTS (SELECT 1 FROM kept_reservations k
+                   WHERE k.resource_id = reservation.resource_id AND k.period && reservation.period) THEN
+            UPDATE access_requests
+            SET status = 'COLLISION',
+                review_comment = 'Collision detected with existing reservation',
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = reservation.id;
+        ELSE
+            INSERT INTO kept_reservations VALUES (reservation.resource_id, reservation.period);
+        END IF;
+    END LOOP;
+END
+$$;
+
+DROP TABLE kept_reservations;
+
+-- Digital requests have no schedule and are not covered. The GiST index behind the constraint
+-- also serves overlap queries written with the same range expression and predicate.
+ALTER TABLE access_requests ADD CONSTRAINT access_requests_no_overlap
+    EXCLUDE USING gist (resource_id WITH =, tsrange(scheduled_start, scheduled_end) WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED') AND scheduled_end > scheduled_start);
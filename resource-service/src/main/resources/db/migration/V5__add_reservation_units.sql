@@ -0,0 +1,25 @@
+-- V5: Capacity-aware bookings. A reservation consumes units of its resource's capacity, so
+-- reservations of resources with capacity above one may overlap.
+
+ALTER TABLE access_requests ADD COLUMN units INT NOT NULL DEFAULT 1 CHECK (units > 0);
+
+-- Set on reservations of single-unit resources, which stay under the exclusion constraint
+ALTER TABLE access_requests ADD COLUMN exclusive BOOLEAN NOT NULL DEFAULT TRUE;
+
+UPDATE access_requests ar SET exclusive = FALSE
+FROM resources r
+WHERE ar.resource_id = r.id AND r.capacity > 1;
+
+ALTER TABLE access_requests DROP CONSTRAINT access_requests_no_overlap;
+ALTER TABLE access_requests ADD CONSTRAINT access_requests_no_overlap
+    EXCLUDE USING gist (resource_id WITH =, tsrange(scheduled_start, scheduled_end) WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED') AND scheduled_end > scheduled_start AND exclusive);
+
+CREATE INDEX idx_access_requests_active_period ON access_requests
+    USING gist (resource_id, tsrange(scheduled_start, scheduled_end))
+    WHERE status IN ('PENDING', 'APPROVED') AND scheduled_end > scheduled_start;
+
+-- Incremented by every change to a resource's reservations. The increment locks the resource
+-- row, which serializes admission checks across instances, and tells an instance whether its
+-- in-memory copy of the reservations is current.
+ALTER TABLE resources ADD COLUMN booking_version BIGINT NOT NULL DEFAULT 0;
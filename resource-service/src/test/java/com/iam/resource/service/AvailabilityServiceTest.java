@@ -0,0 +1,154 @@
+package com.iam.resource.service;
+
+import com.iam.resource.dto.FreeSlot;
+import com.iam.resource.dto.ResourceAvailabilityResponse;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import com.iam.resource.repository.AvailabilityRepository;
+import com.iam.resource.repository.AvailabilityRepository.ReservedPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+    private static final LocalDateTime FROM = at(9, 0);
+    private static final LocalDateTime TO = at(13, 0);
+
+    private final AvailabilityRepository repository = mock(AvailabilityRepository.class);
+    private final AvailabilityService service = new AvailabilityService(repository);
+    private final List<ReservedPeriod> rows = new ArrayList<>();
+
+    AvailabilityServiceTest() {
+        doAnswer(invocation -> {
+            Consumer<ReservedPeriod> consumer = invocation.getArgument(4);
+            rows.forEach(consumer);
+            return null;
+        }).when(repository).forEachReservedPeriod(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void resourceWithoutReservationsIsFreeForTheWholeWindow() {
+        UUID room = UUID.randomUUID();
+        rows.add(unreserved(room, 1));
+
+        List<ResourceAvailabilityResponse> available = find(null);
+
+        assertThat(available).singleElement().satisfies(resource -> {
+            assertThat(resource.getResourceId()).isEqualTo(room);
+            assertThat(resource.getFreeSlots()).containsExactly(slot(FROM, TO));
+        });
+    }
+
+    @Test
+    void gapsShorterThanTheMinimumAreDropped() {
+        UUID room = UUID.randomUUID();
+        rows.add(reserved(room, 1, at(10, 0), at(11, 0), 1));
+        rows.add(reserved(room, 1, at(11, 30), at(12, 0), 1));
+
+        assertThat(slotsOf(find(30))).containsExactly(
+                slot(at(9, 0), at(10, 0)), slot(at(11, 0), at(11, 30)), slot(at(12, 0), at(13, 0)));
+        assertThat(slotsOf(find(60))).containsExactly(
+                slot(at(9, 0), at(10, 0)), slot(at(12, 0), at(13, 0)));
+    }
+
+    @Test
+    void withoutAMinimumOnlyFullyFreeResourcesAreReturned() {
+        UUID booked = UUID.randomUUID();
+        UUID free = UUID.randomUUID();
+        rows.add(reserved(booked, 1, at(12, 0), at(12, 15), 1));
+        rows.add(unreserved(free, 1));
+
+        assertThat(find(null)).extracting(ResourceAvailabilityResponse::getResourceId).containsExactly(free);
+    }
+
+    @Test
+    void backToBackReservationsLeaveNoGap() {
+        UUID room = UUID.randomUUID();
+        rows.add(reserved(room, 1, at(10, 0), at(11, 0), 1));
+        rows.add(reserved(room, 1, at(11, 0), at(12, 0), 1));
+
+        assertThat(slotsOf(find(1))).containsExactly(slot(at(9, 0), at(10, 0)), slot(at(12, 0), at(13, 0)));
+    }
+
+    @Test
+    void reservationsAreClippedToTheWindow() {
+        UUID room = UUID.randomUUID();
+        rows.add(reserved(room, 1, at(7, 0), at(10, 0), 1));
+        rows.add(reserved(room, 1, at(12, 0), at(15, 0), 1));
+
+        assertThat(slotsOf(find(30))).containsExactly(slot(at(10, 0), at(12, 0)));
+    }
+
+    @Test
+    void resourceIsBusyOnlyWhileAllItsUnitsAreInUse() {
+        UUID desks = UUID.randomUUID();
+        rows.add(reserved(desks, 3, at(9, 30), at(12, 0), 1));
+        rows.add(reserved(desks, 3, at(10, 0), at(11, 0), 2));
+        rows.add(reserved(desks, 3, at(11, 0), at(11, 30), 1));
+
+        // Full from 10:00 until the two-unit booking ends; the 11:00 one takes a unit it freed
+        assertThat(slotsOf(find(30))).containsExactly(slot(at(9, 0), at(10, 0)), slot(at(11, 0), at(13, 0)));
+    }
+
+    @Test
+    void eachResourceIsSweptOnItsOwn() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        rows.add(reserved(first, 1, at(9, 0), at(12, 0), 1));
+        rows.add(reserved(second, 1, at(12, 0), at(13, 0), 1));
+
+        List<ResourceAvailabilityResponse> available = find(60);
+
+        assertThat(available).hasSize(2);
+        assertThat(available.get(0).getFreeSlots()).containsExactly(slot(at(12, 0), at(13, 0)));
+        assertThat(available.get(1).getFreeSlots()).containsExactly(slot(at(9, 0), at(12, 0)));
+    }
+
+    @Test
+    void invalidWindowsAreRejected() {
+        assertThatThrownBy(() -> service.findAvailable(ResourceType.PHYSICAL, null, TO, FROM, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findAvailable(ResourceType.PHYSICAL, null, FROM, TO, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<ResourceAvailabilityResponse> find(Integer minMinutes) {
+        return service.findAvailable(ResourceType.PHYSICAL, ResourceCategory.MEETING_ROOM, FROM, TO, minMinutes);
+    }
+
+    private static List<FreeSlot> slotsOf(List<ResourceAvailabilityResponse> available) {
+        assertThat(available).hasSize(1);
+        return available.get(0).getFreeSlots();
+    }
+
+    private static ReservedPeriod unreserved(UUID resourceId, int capacity) {
+        return new ReservedPeriod(resourceId, "Room", ResourceCategory.MEETING_ROOM, "Floor 1", capacity,
+                null, null, null, 0);
+    }
+
+    private static ReservedPeriod reserved(UUID resourceId, int capacity, LocalDateTime start, LocalDateTime end,
+                                           int units) {
+        return new ReservedPeriod(resourceId, "Room", ResourceCategory.MEETING_ROOM, "Floor 1", capacity,
+                UUID.randomUUID(), start, end, units);
+    }
+
+    private static FreeSlot slot(LocalDateTime start, LocalDateTime end) {
+        return new FreeSlot(start, end);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+}
@@ -0,0 +1,102 @@
+package com.iam.resource.service;
+
+import com.iam.resource.dto.ResourceAvailabilityResponse;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import com.iam.resource.repository.AvailabilityRepository;
+import com.iam.resource.repository.AvailabilityRepository.ReservedPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * One availability search over {@value #RESOURCES} resources, with the rows the query would
+ * return already in memory, so it measures the sweep alone. Each resource has the given number
+ * of reservations in a working day, a fifth of them shared resources with several units, and
+ * the search asks either for resources free the whole day or for 30-minute slots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilitySweepBenchmark {
+
+    private static final int RESOURCES = 10_000;
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 2, 8, 0);
+    private static final LocalDateTime TO = FROM.plusHours(12);
+
+    @Param({"0", "8", "32"})
+    public int reservationsPerResource;
+
+    // Minutes, or "whole-window"
+    @Param({"whole-window", "30"})
+    public String minSlot;
+
+    private AvailabilityService availabilityService;
+    private Integer minMinutes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<ReservedPeriod> rows = new ArrayList<>(RESOURCES * Math.max(reservationsPerResource, 1));
+        for (int i = 0; i < RESOURCES; i++) {
+            UUID resourceId = UUID.randomUUID();
+            int capacity = random.nextInt(5) == 0 ? 2 + random.nextInt(9) : 1;
+            String name = "Resource " + i;
+            if (reservationsPerResource == 0) {
+                rows.add(new ReservedPeriod(resourceId, name, ResourceCategory.MEETING_ROOM, "Floor 1", capacity,
+                        null, null, null, 0));
+                continue;
+            }
+            List<ReservedPeriod> reservations = new ArrayList<>(reservationsPerResource);
+            for (int j = 0; j < reservationsPerResource; j++) {
+                // Quarter-hour starts over the day, 15 minutes to 2 hours long
+                LocalDateTime start = FROM.minusHours(1).plusMinutes(15L * random.nextInt(52));
+                LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(8)));
+                reservations.add(new ReservedPeriod(resourceId, name, ResourceCategory.MEETING_ROOM, "Floor 1",
+                        capacity, UUID.randomUUID(), start, end, capacity > 1 ? 1 + random.nextInt(2) : 1));
+            }
+            reservations.sort(Comparator.comparing(ReservedPeriod::start));
+            rows.addAll(reservations);
+        }
+
+        AvailabilityRepository repository = mock(AvailabilityRepository.class);
+        doAnswer(invocation -> {
+            Consumer<ReservedPeriod> consumer = invocation.getArgument(4);
+            rows.forEach(consumer);
+            return null;
+        }).when(repository).forEachReservedPeriod(any(), any(), any(), any(), any());
+        availabilityService = new AvailabilityService(repository);
+        minMinutes = minSlot.equals("whole-window") ? null : Integer.valueOf(minSlot);
+    }
+
+    @Benchmark
+    public List<ResourceAvailabilityResponse> search() {
+        return availabilityService.findAvailable(ResourceType.PHYSICAL, ResourceCategory.MEETING_ROOM, FROM, TO,
+                minMinutes);
+    }
+}
@@ -0,0 +1,97 @@
+package com.iam.resource.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlapsAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(10, 20, "a");
+
+        assertThat(tree.overlapping(0, 10)).isEmpty();
+        assertThat(tree.overlapping(20, 30)).isEmpty();
+        assertThat(tree.overlapping(19, 30)).containsExactly("a");
+        assertThat(tree.overlapping(0, 11)).containsExactly("a");
+        assertThat(tree.overlapping(12, 15)).containsExactly("a");
+    }
+
+    @Test
+    void resultsAreInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(30, 40, "c");
+        tree.add(0, 100, "a");
+        tree.add(20, 25, "b");
+        tree.add(50, 60, "d");
+
+        assertThat(tree.overlapping(0, 100)).containsExactly("a", "b", "c", "d");
+        assertThat(tree.overlapping(22, 35)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void addingAnExistingValueMovesIt() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(0, 10, "a");
+        tree.add(50, 60, "a");
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlapping(0, 10)).isEmpty();
+        assertThat(tree.overlapping(55, 56)).containsExactly("a");
+    }
+
+    @Test
+    void removeForgetsTheInterval() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(0, 10, "a");
+        tree.add(0, 10, "b");
+
+        assertThat(tree.remove("a")).isTrue();
+        assertThat(tree.remove("a")).isFalse();
+        assertThat(tree.contains("a")).isFalse();
+        assertThat(tree.overlapping(0, 10)).containsExactly("b");
+    }
+
+    @Test
+    void matchesALinearScanUnderRandomChanges() {
+        Random random = new Random(7);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        Map<Integer, long[]> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(value)).isEqualTo(expected.remove(value) != null);
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(random.nextInt(10) == 0 ? 5_000 : 100);
+                tree.add(start, end, value);
+                expected.put(value, new long[]{start, end});
+            }
+
+            if (i % 100 == 0) {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(500);
+                List<Integer> overlapping = new ArrayList<>();
+                expected.forEach((key, interval) -> {
+                    if (interval[0] < end && interval[1] > start) {
+                        overlapping.add(key);
+                    }
+                });
+                List<Integer> actual = tree.overlapping(start, end);
+
+                assertThat(actual).containsExactlyInAnyOrderElementsOf(overlapping);
+                assertThat(actual).isSortedAccordingTo(Comparator.comparingLong(key -> expected.get(key)[0]));
+            }
+        }
+        assertThat(tree.size()).isEqualTo(expected.size());
+    }
+}
@@ -0,0 +1,29 @@
+package com.iam.resource.service;
+
+import com.iam.resource.repository.AvailabilityRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OccupancyCalendarTest {
+
+    private final AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+    private final OccupancyCalendar calendar = new OccupancyCalendar(availabilityRepository, 400, 60);
+
+    @Test
+    void windowsLongerThanTheLimitAreRejectedBeforeLoadingAnyDay() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+        assertThatThrownBy(() -> calendar.isFree(UUID.randomUUID(), from,
+                from.plusDays(OccupancyCalendar.MAX_WINDOW_DAYS).plusMinutes(15)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calendar.isFree(UUID.randomUUID(), from, from.plusYears(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(availabilityRepository);
+    }
+}
@@ -0,0 +1,107 @@
+package com.iam.resource.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.resource.model.RequestStatus;
+import com.iam.resource.model.ResourceCategory;
+import com.iam.resource.model.ResourceType;
+import com.iam.resource.repository.ReservationExportRepository;
+import com.iam.resource.repository.ReservationExportRepository.ExportedReservation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ReservationExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private final ReservationExportRepository repository = mock(ReservationExportRepository.class);
+    private final ReservationExportService service = new ReservationExportService(repository, new ObjectMapper());
+    private final List<ExportedReservation> rows = new ArrayList<>();
+
+    ReservationExportServiceTest() {
+        doAnswer(invocation -> {
+            Consumer<ExportedReservation> consumer = invocation.getArgument(3);
+            rows.forEach(consumer);
+            return null;
+        }).when(repository).forEachReservation(any(), any(), any(), any());
+    }
+
+    @Test
+    void reservationWithoutTimestampsIsStampedWithTheExportTime() throws IOException {
+        rows.add(reservation("Room A", null, null, null));
+
+        List<String> lines = unfold(export());
+
+        assertThat(lines).filteredOn(line -> line.startsWith("DTSTAMP:"))
+                .singleElement().asString().matches("DTSTAMP:\\d{8}T\\d{6}Z");
+        assertThat(lines).noneMatch(line -> line.startsWith("LAST-MODIFIED:"));
+    }
+
+    @Test
+    void lastChangeIsTheStampWhenKnown() throws IOException {
+        rows.add(reservation("Room A", null, START.minusDays(2), START.minusDays(1)));
+        rows.add(reservation("Room B", null, START.minusDays(2), null));
+
+        List<String> lines = unfold(export());
+
+        assertThat(lines).filteredOn(line -> line.startsWith("DTSTAMP:")).hasSize(2).doesNotHaveDuplicates();
+        assertThat(lines).filteredOn(line -> line.startsWith("LAST-MODIFIED:")).hasSize(2);
+    }
+
+    @Test
+    void longLinesAreFoldedAtSeventyFiveOctetsWithoutSplittingCharacters() throws IOException {
+        // Two- and four-byte characters across every fold position
+        String justification = "Quarterly planning for the Zürich and Málaga teams ".repeat(4) + "\uD83D\uDCC5".repeat(40);
+        rows.add(reservation("Room A", justification, START, START));
+
+        String calendar = export();
+
+        assertThat(calendar).endsWith("\r\n");
+        for (String line : calendar.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).as(line).isLessThanOrEqualTo(75);
+            assertThat(line).doesNotContain("\uFFFD");
+        }
+        assertThat(calendar).contains("\r\n ");
+        assertThat(unfold(calendar)).contains("DESCRIPTION:Reserved by jane.doe@example.com\\n" + justification);
+    }
+
+    @Test
+    void textValuesAreEscaped() throws IOException {
+        rows.add(reservation("Room A; B, \\C", "first\r\nsecond", START, START));
+
+        List<String> lines = unfold(export());
+
+        assertThat(lines).contains("SUMMARY:Room A\\; B\\, \\\\C");
+        assertThat(lines).contains("DESCRIPTION:Reserved by jane.doe@example.com\\nfirst\\nsecond");
+    }
+
+    private String export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeICalendar(null, START.minusDays(1), START.plusDays(1), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> unfold(String calendar) {
+        return List.of(calendar.replace("\r\n ", "").split("\r\n"));
+    }
+
+    private static ExportedReservation reservation(String resourceName, String justification,
+                                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new ExportedReservation(UUID.randomUUID(), UUID.randomUUID(), "jane.doe@example.com",
+                UUID.randomUUID(), resourceName, ResourceType.PHYSICAL, ResourceCategory.MEETING_ROOM, "Floor 3",
+                RequestStatus.APPROVED, "READ", justification, START, START.plusHours(1), 1,
+                null, null, createdAt, updatedAt);
+    }
+}
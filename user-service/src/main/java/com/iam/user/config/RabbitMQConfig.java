@@ -1,12 +1,17 @@
 package com.iam.user.config;
 
 import com.iam.common.config.RabbitMQConstants;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,6 +19,7 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String USER_SYNC_QUEUE = "user.sync.from-auth";
+    public static final String USER_SYNC_BATCH_QUEUE = "user.sync.batch-from-auth";
 
     @Bean
     public TopicExchange iamEventsExchange() {
@@ -32,6 +38,100 @@ public class RabbitMQConfig {
                 .with(RabbitMQConstants.USER_CREATED);
     }
 
+    @Bean
+    public Queue userSyncBatchQueue() {
+        return new Queue(USER_SYNC_BATCH_QUEUE, true);
+    }
+
+    @Bean
+    public Binding userSyncBatchBinding(Queue userSyncBatchQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(userSyncBatchQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.USER_CREATED_BATCH);
+    }
+
+    // One auto-delete queue per instance so every instance hears catalog changes
+    @Bean
+    public Queue roleCatalogQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding roleCatalogBinding(Queue roleCatalogQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(roleCatalogQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.ROLE_CATALOG_CHANGED);
+    }
+
+    @Bean
+    public Queue roleMembersQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding roleMembersBinding(Queue roleMembersQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(roleMembersQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.ROLE_MEMBERS_CHANGED);
+    }
+
+    @Bean
+    public Queue roleGrantQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding roleGrantBinding(Queue roleGrantQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(roleGrantQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.ROLE_GRANT_SCHEDULED);
+    }
+
+    @Bean
+    public Queue userProfilesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userProfilesBinding(Queue userProfilesQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(userProfilesQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.USER_PROFILES_CHANGED);
+    }
+
+    @Bean
+    public Queue accessPoliciesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding accessPoliciesBinding(Queue accessPoliciesQueue, TopicExchange iamEventsExchange) {
+        return BindingBuilder.bind(accessPoliciesQueue)
+                .to(iamEventsExchange)
+                .with(RabbitMQConstants.ACCESS_POLICIES_CHANGED);
+    }
+
+    /**
+     * Delivers up to {@code user.sync.batch-size} messages per listener call, waiting at most
+     * {@code user.sync.batch-receive-timeout-ms} to fill a batch. Acks go out only after the
+     * listener returns, i.e. after the batch transaction has committed.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory userSyncBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${user.sync.batch-size:100}") int batchSize,
+            @Value("${user.sync.batch-receive-timeout-ms:200}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        return factory;
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -1,6 +1,8 @@
 package com.iam.user.controller;
 
 import com.iam.common.dto.ApiResponse;
+import com.iam.user.dto.DepartmentMoveRequest;
+import com.iam.user.dto.DepartmentNode;
 import com.iam.user.dto.DepartmentRequest;
 import com.iam.user.dto.DepartmentResponse;
 import com.iam.user.service.DepartmentService;
@@ -38,6 +40,14 @@ public class DepartmentController {
         return ResponseEntity.ok(ApiResponse.success("Departments retrieved", departments));
     }
 
+    @GetMapping("/tree")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "Get department tree", description = "Top-level departments with nested sub-departments and member counts")
+    public ResponseEntity<ApiResponse<List<DepartmentNode>>> getDepartmentTree() {
+        List<DepartmentNode> tree = departmentService.getDepartmentTree();
+        return ResponseEntity.ok(ApiResponse.success("Department tree retrieved", tree));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
     @Operation(summary = "Get department by ID")
@@ -76,6 +86,20 @@ public class DepartmentController {
         return ResponseEntity.ok(ApiResponse.success("Department updated", department));
     }
 
+    @PutMapping("/{id}/parent")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Move department", description = "Moves a department and its sub-departments under a new parent (ADMIN only)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Department moved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Department not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Move would create a cycle")
+    })
+    public ResponseEntity<ApiResponse<DepartmentResponse>> moveDepartment(
+            @PathVariable UUID id, @RequestBody DepartmentMoveRequest request) {
+        DepartmentResponse department = departmentService.moveDepartment(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Department moved", department));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete department", description = "Deletes a department (ADMIN only)")
@@ -0,0 +1,120 @@
+package com.iam.user.controller;
+
+import com.iam.common.dto.ApiResponse;
+import com.iam.user.dto.BatchDecisionRequest;
+import com.iam.user.dto.DecisionRequest;
+import com.iam.user.dto.DecisionResponse;
+import com.iam.user.dto.PolicyRequest;
+import com.iam.user.dto.PolicyResponse;
+import com.iam.user.service.PolicyEngine;
+import com.iam.user.service.PolicyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/policies")
+@Tag(name = "Policies", description = "Access policies and access decisions")
+public class PolicyController {
+
+    private final PolicyService policyService;
+    private final PolicyEngine policyEngine;
+
+    public PolicyController(PolicyService policyService, PolicyEngine policyEngine) {
+        this.policyService = policyService;
+        this.policyEngine = policyEngine;
+    }
+
+    @PostMapping("/decisions")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read') or #request.userId.toString() == authentication.principal")
+    @Operation(summary = "Decide access", description = "Whether the user may perform the action on the resource; a matching DENY wins, no match denies. "
+            + "Users may ask about themselves; other users need ADMIN or user:read")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Decision made")
+    })
+    public ResponseEntity<ApiResponse<DecisionResponse>> decide(@Valid @RequestBody DecisionRequest request) {
+        DecisionResponse decision = policyEngine.decide(request);
+        return ResponseEntity.ok(ApiResponse.success("Decision made", decision));
+    }
+
+    @PostMapping("/decisions/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read') "
+            + "or #request.requests.?[#this.userId.toString() != #root.authentication.principal].isEmpty()")
+    @Operation(summary = "Decide access in batch", description = "Decides up to 500 requests against the same policy version, in request order. "
+            + "Users may ask about themselves; other users need ADMIN or user:read")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Decisions made")
+    })
+    public ResponseEntity<ApiResponse<List<DecisionResponse>>> decideAll(@Valid @RequestBody BatchDecisionRequest request) {
+        List<DecisionResponse> decisions = policyEngine.decideAll(request.getRequests());
+        return ResponseEntity.ok(ApiResponse.success("Decisions made", decisions));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "List access policies")
+    public ResponseEntity<ApiResponse<List<PolicyResponse>>> getPolicies() {
+        List<PolicyResponse> policies = policyService.getPolicies();
+        return ResponseEntity.ok(ApiResponse.success("Policies retrieved", policies));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "Get access policy by ID")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Policy retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Policy not found")
+    })
+    public ResponseEntity<ApiResponse<PolicyResponse>> getPolicyById(@PathVariable UUID id) {
+        PolicyResponse policy = policyService.getPolicyById(id);
+        return ResponseEntity.ok(ApiResponse.success("Policy retrieved", policy));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "Create access policy", description = "Takes effect on every instance once committed")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Policy created"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Role or department not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Policy name already exists")
+    })
+    public ResponseEntity<ApiResponse<PolicyResponse>> createPolicy(@Valid @RequestBody PolicyRequest request) {
+        PolicyResponse policy = policyService.createPolicy(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Policy created", policy));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "Update access policy")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Policy updated"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Policy, role or department not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Policy name already exists")
+    })
+    public ResponseEntity<ApiResponse<PolicyResponse>> updatePolicy(@PathVariable UUID id,
+                                                                   @Valid @RequestBody PolicyRequest request) {
+        PolicyResponse policy = policyService.updatePolicy(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Policy updated", policy));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "Delete access policy")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Policy deleted"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Policy not found")
+    })
+    public ResponseEntity<ApiResponse<Void>> deletePolicy(@PathVariable UUID id) {
+        policyService.deletePolicy(id);
+        return ResponseEntity.ok(ApiResponse.<Void>success("Policy deleted", null));
+    }
+}
@@ -1,33 +1,33 @@
 package com.iam.user.controller;
 
 import com.iam.common.dto.ApiResponse;
+import com.iam.user.dto.PermissionResponse;
+import com.iam.user.dto.RoleParentsRequest;
 import com.iam.user.dto.RoleResponse;
-import com.iam.user.model.Permission;
-import com.iam.user.model.Role;
-import com.iam.user.repository.PermissionRepository;
-import com.iam.user.repository.RoleRepository;
+import com.iam.user.service.RoleCatalog;
+import com.iam.user.service.RoleHierarchyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/roles")
 @Tag(name = "Roles & Permissions", description = "List roles and permissions")
 public class RoleController {
 
-    private final RoleRepository roleRepository;
-    private final PermissionRepository permissionRepository;
+    private final RoleCatalog roleCatalog;
+    private final RoleHierarchyService roleHierarchyService;
 
-    public RoleController(RoleRepository roleRepository, PermissionRepository permissionRepository) {
-        this.roleRepository = roleRepository;
-        this.permissionRepository = permissionRepository;
+    public RoleController(RoleCatalog roleCatalog, RoleHierarchyService roleHierarchyService) {
+        this.roleCatalog = roleCatalog;
+        this.roleHierarchyService = roleHierarchyService;
     }
 
     @GetMapping
@@ -38,10 +38,7 @@ public class RoleController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
     })
     public ResponseEntity<ApiResponse<List<RoleResponse>>> getAllRoles() {
-        List<RoleResponse> roles = roleRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success("Roles retrieved", roles));
+        return ResponseEntity.ok(ApiResponse.success("Roles retrieved", roleCatalog.getRoles()));
     }
 
     @GetMapping("/{id}")
@@ -52,9 +49,26 @@ public class RoleController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Role not found")
     })
     public ResponseEntity<ApiResponse<RoleResponse>> getRoleById(@PathVariable UUID id) {
-        Role role = roleRepository.findById(id)
+        RoleResponse role = roleCatalog.findById(id)
                 .orElseThrow(() -> new com.iam.common.exception.ResourceNotFoundException("Role", "id", id.toString()));
-        return ResponseEntity.ok(ApiResponse.success("Role retrieved", toResponse(role)));
+        return ResponseEntity.ok(ApiResponse.success("Role retrieved", role));
+    }
+
+    @PutMapping("/{id}/parents")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('role:manage')")
+    @Operation(summary = "Set parent roles",
+            description = "Replaces the roles this role inherits permissions from. Inheritance is transitive.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Parents updated"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Role not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Change would create a cycle")
+    })
+    public ResponseEntity<ApiResponse<RoleResponse>> setParents(@PathVariable UUID id,
+                                                                @Valid @RequestBody RoleParentsRequest request) {
+        roleHierarchyService.setParents(id, request.getParents());
+        RoleResponse role = roleCatalog.findById(id)
+                .orElseThrow(() -> new com.iam.common.exception.ResourceNotFoundException("Role", "id", id.toString()));
+        return ResponseEntity.ok(ApiResponse.success("Role parents updated", role));
     }
 
     @GetMapping("/permissions")
@@ -63,20 +77,21 @@ public class RoleController {
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Permissions retrieved")
     })
-    public ResponseEntity<ApiResponse<List<Permission>>> getAllPermissions() {
-        List<Permission> permissions = permissionRepository.findAll();
-        return ResponseEntity.ok(ApiResponse.success("Permissions retrieved", permissions));
+    public ResponseEntity<ApiResponse<List<PermissionResponse>>> getAllPermissions() {
+        return ResponseEntity.ok(ApiResponse.success("Permissions retrieved", roleCatalog.getPermissions()));
     }
 
-    private RoleResponse toResponse(Role role) {
-        return RoleResponse.builder()
-                .id(role.getId())
-                .name(role.getName())
-                .description(role.getDescription())
-                .systemRole(role.isSystemRole())
-                .permissions(role.getPermissions().stream()
-                        .map(Permission::getName)
-                        .collect(Collectors.toSet()))
-                .build();
+    @PostMapping("/catalog/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reload role catalog",
+            description = "Reloads roles and permissions from the database on every user-service instance. "
+                    + "Call after changing roles or permissions directly in the database.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Catalog reloaded"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<ApiResponse<List<RoleResponse>>> refreshCatalog() {
+        roleCatalog.refreshAndBroadcast();
+        return ResponseEntity.ok(ApiResponse.success("Role catalog reloaded", roleCatalog.getRoles()));
     }
 }
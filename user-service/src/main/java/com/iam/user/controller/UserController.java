@@ -1,9 +1,17 @@
 package com.iam.user.controller;
 
 import com.iam.common.dto.ApiResponse;
+import com.iam.common.dto.PagedResponse;
+import com.iam.user.dto.BulkRoleRequest;
+import com.iam.user.dto.BulkRoleResponse;
 import com.iam.user.dto.CreateUserRequest;
+import com.iam.user.dto.RoleMemberResponse;
 import com.iam.user.dto.UpdateUserRequest;
+import com.iam.user.dto.UserSearchResponse;
 import com.iam.user.dto.UserResponse;
+import com.iam.user.service.BulkRoleService;
+import com.iam.user.service.RoleDirectory;
+import com.iam.user.service.UserSearchService;
 import com.iam.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,11 +20,14 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -25,9 +36,16 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final RoleDirectory roleDirectory;
+    private final UserSearchService userSearchService;
+    private final BulkRoleService bulkRoleService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RoleDirectory roleDirectory, UserSearchService userSearchService,
+                          BulkRoleService bulkRoleService) {
         this.userService = userService;
+        this.roleDirectory = roleDirectory;
+        this.userSearchService = userSearchService;
+        this.bulkRoleService = bulkRoleService;
     }
 
     @GetMapping
@@ -42,6 +60,17 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Users retrieved", users));
     }
 
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "List all active users (cursor)",
+            description = "Newest first, keyset-paginated. Pass an empty cursor for the first page, then nextCursor.")
+    public ResponseEntity<ApiResponse<PagedResponse<UserResponse>>> getAllUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<UserResponse> users = userService.getAllUsers(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", users));
+    }
+
     @GetMapping("/by-role/{roleName}")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
     @Operation(summary = "Get users by role", description = "Returns all active users with the specified role")
@@ -50,6 +79,66 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Users retrieved", users));
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "Search users",
+            description = "Partial match on email, first and last name, best matches first. Page with nextCursor.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Matches retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Query too short or invalid cursor")
+    })
+    public ResponseEntity<ApiResponse<PagedResponse<UserSearchResponse>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<UserSearchResponse> matches = userSearchService.search(q, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", matches));
+    }
+
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "Autocomplete users", description = "Users whose email, first, last or full name starts with the prefix")
+    public ResponseEntity<ApiResponse<List<UserSearchResponse>>> autocompleteUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<UserSearchResponse> matches = userSearchService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", matches));
+    }
+
+    @GetMapping("/directory")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "Get role members",
+            description = "IDs and emails of active users holding any of the given roles. Supports If-None-Match.")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Members retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Members unchanged")
+    })
+    public ResponseEntity<ApiResponse<List<RoleMemberResponse>>> getRoleMembers(
+            @RequestParam List<String> roles,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        RoleDirectory.Directory directory = roleDirectory.lookup(roles);
+        if (directory.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(directory.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(directory.etag())
+                .body(ApiResponse.success("Members retrieved", directory.members()));
+    }
+
+    @GetMapping("/by-department/{departmentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read')")
+    @Operation(summary = "Get users by department",
+            description = "Returns paginated list of users in the department; includeSubDepartments lists active users of the whole subtree")
+    public ResponseEntity<ApiResponse<Page<UserResponse>>> getUsersByDepartment(
+            @PathVariable UUID departmentId,
+            @RequestParam(defaultValue = "false") boolean includeSubDepartments,
+            Pageable pageable) {
+        Page<UserResponse> users = includeSubDepartments
+                ? userService.getUsersInDepartmentTree(departmentId, pageable)
+                : userService.getUsersByDepartment(departmentId, pageable);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", users));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read') or #id.toString() == authentication.principal")
     @Operation(summary = "Get user by ID", description = "Returns a single user. Users can view their own profile.")
@@ -62,6 +151,18 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("User retrieved", user));
     }
 
+    @GetMapping("/{id}/permissions")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:read') or #id.toString() == authentication.principal")
+    @Operation(summary = "Get effective permissions", description = "Permissions of all the user's roles, including inherited ones")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Permissions retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<ApiResponse<Set<String>>> getEffectivePermissions(@PathVariable UUID id) {
+        Set<String> permissions = userService.getEffectivePermissions(id);
+        return ResponseEntity.ok(ApiResponse.success("Permissions retrieved", permissions));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('user:write')")
     @Operation(summary = "Create user", description = "Creates a new user with optional department and role")
@@ -102,17 +203,53 @@ public class UserController {
 
     @PostMapping("/{id}/roles/{roleName}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Assign role to user", description = "Assigns a role to a user (ADMIN only)")
+    @Operation(summary = "Assign role to user",
+            description = "Assigns a role to a user (ADMIN only). With an ISO-8601 duration such as PT4H the role is "
+                    + "revoked automatically when it elapses; without one the assignment is permanent.")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Role assigned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid duration"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User or role not found")
     })
     public ResponseEntity<ApiResponse<UserResponse>> assignRole(
-            @PathVariable UUID id, @PathVariable String roleName) {
-        UserResponse user = userService.assignRole(id, roleName);
+            @PathVariable UUID id, @PathVariable String roleName,
+            @RequestParam(required = false) Duration duration) {
+        UserResponse user = userService.assignRole(id, roleName, duration);
         return ResponseEntity.ok(ApiResponse.success("Role assigned", user));
     }
 
+    @PostMapping("/roles/bulk-assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Assign role to many users",
+            description = "Assigns a role to the listed users or to every active user of a department (ADMIN only)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Role assigned"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of userIds and departmentId given"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Role or department not found")
+    })
+    public ResponseEntity<ApiResponse<BulkRoleResponse>> bulkAssignRole(
+            @Valid @RequestBody BulkRoleRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) UUID performedBy) {
+        BulkRoleResponse result = bulkRoleService.assign(request, performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Role assigned to " + result.getAffected() + " users", result));
+    }
+
+    @PostMapping("/roles/bulk-revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revoke role from many users",
+            description = "Removes a role from the listed users or from every user of a department (ADMIN only)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Role revoked"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of userIds and departmentId given"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Role or department not found")
+    })
+    public ResponseEntity<ApiResponse<BulkRoleResponse>> bulkRevokeRole(
+            @Valid @RequestBody BulkRoleRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) UUID performedBy) {
+        BulkRoleResponse result = bulkRoleService.revoke(request, performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Role revoked from " + result.getAffected() + " users", result));
+    }
+
     @DeleteMapping("/{id}/roles/{roleName}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Remove role from user", description = "Removes a role from a user (ADMIN only)")
@@ -0,0 +1,25 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Several access decisions evaluated in one call")
+public class BatchDecisionRequest {
+
+    @NotEmpty(message = "At least one decision request is required")
+    @Size(max = 500, message = "At most 500 decisions per batch")
+    @Valid
+    private List<DecisionRequest> requests;
+}
@@ -0,0 +1,34 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Bulk role change; give either userIds or departmentId")
+public class BulkRoleRequest {
+
+    @NotBlank(message = "Role name is required")
+    @Schema(description = "Role to assign or revoke", example = "RESOURCE_MANAGER")
+    private String roleName;
+
+    @Size(max = 10000, message = "At most 10000 user IDs per request")
+    @Schema(description = "Target users")
+    private List<UUID> userIds;
+
+    @Schema(description = "Target every active user of this department")
+    private UUID departmentId;
+
+    @Schema(description = "With departmentId, also target users of its sub-departments")
+    private boolean includeSubDepartments;
+}
@@ -0,0 +1,30 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk role change")
+public class BulkRoleResponse {
+
+    @Schema(description = "Role name", example = "RESOURCE_MANAGER")
+    private String roleName;
+
+    @Schema(description = "ASSIGNED or REVOKED")
+    private String action;
+
+    @Schema(description = "Number of users whose roles changed; users that already had (or lacked) the role are not counted")
+    private int affected;
+
+    @Schema(description = "IDs of the users whose roles changed")
+    private List<UUID> userIds;
+}
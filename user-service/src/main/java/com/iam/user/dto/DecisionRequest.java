@@ -0,0 +1,38 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "May this user perform this action on this resource?")
+public class DecisionRequest {
+
+    @NotNull(message = "User ID is required")
+    @Schema(description = "Subject user ID")
+    private UUID userId;
+
+    @NotBlank(message = "Action is required")
+    @Schema(description = "Action, usually a permission name", example = "resource:request")
+    private String action;
+
+    @NotBlank(message = "Resource type is required")
+    @Schema(description = "Resource type", example = "RESOURCE")
+    private String resourceType;
+
+    @Schema(description = "Resource ID, echoed back for correlation")
+    private String resourceId;
+
+    @Schema(description = "Resource attributes policies may match on", example = "{\"resourceCategory\": \"DATABASE\"}")
+    private Map<String, String> attributes;
+}
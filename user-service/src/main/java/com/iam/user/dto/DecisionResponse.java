@@ -0,0 +1,43 @@
+package com.iam.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Access decision")
+public class DecisionResponse {
+
+    @Schema(description = "Subject user ID")
+    private UUID userId;
+
+    @Schema(description = "Action", example = "resource:request")
+    private String action;
+
+    @Schema(description = "Resource type", example = "RESOURCE")
+    private String resourceType;
+
+    @Schema(description = "Resource ID from the request")
+    private String resourceId;
+
+    @Schema(description = "Whether the action is allowed")
+    private boolean allowed;
+
+    @Schema(description = "Name of the deciding policy; absent when nothing matched and access is denied by default")
+    private String policy;
+
+    @Schema(description = "Why access was denied without a policy, e.g. an unknown or inactive user")
+    private String reason;
+
+    @Schema(description = "Version of the policy set the decision was made with")
+    private long policyVersion;
+}
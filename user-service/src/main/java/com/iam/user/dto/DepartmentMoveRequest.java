@@ -0,0 +1,18 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Department move request")
+public class DepartmentMoveRequest {
+
+    @Schema(description = "New parent department ID; null makes the department top-level")
+    private UUID parentId;
+}
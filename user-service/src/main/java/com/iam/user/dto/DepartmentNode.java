@@ -0,0 +1,36 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Department with its sub-departments")
+public class DepartmentNode {
+
+    @Schema(description = "Department ID")
+    private UUID id;
+
+    @Schema(description = "Department name", example = "IT")
+    private String name;
+
+    @Schema(description = "Department description", example = "Information Technology Department")
+    private String description;
+
+    @Schema(description = "Active users directly in this department", example = "12")
+    private int memberCount;
+
+    @Schema(description = "Active users in this department and all sub-departments", example = "40")
+    private int subtreeMemberCount;
+
+    @Schema(description = "Sub-departments, sorted by name")
+    private List<DepartmentNode> children;
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,4 +20,7 @@ public class DepartmentRequest {
 
     @Schema(description = "Department description", example = "Information Technology Department")
     private String description;
+
+    @Schema(description = "Parent department ID, applied on create only; use PUT /{id}/parent to move")
+    private UUID parentId;
 }
@@ -25,6 +25,12 @@ public class DepartmentResponse {
     @Schema(description = "Department description", example = "Information Technology Department")
     private String description;
 
+    @Schema(description = "Parent department ID; absent for top-level departments")
+    private UUID parentId;
+
+    @Schema(description = "Active users directly in this department", example = "12")
+    private int memberCount;
+
     @Schema(description = "Created at")
     private LocalDateTime createdAt;
 }
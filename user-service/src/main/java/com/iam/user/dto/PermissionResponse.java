@@ -0,0 +1,29 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Permission response")
+public class PermissionResponse {
+
+    @Schema(description = "Permission ID")
+    private UUID id;
+
+    @Schema(description = "Permission name", example = "user:read")
+    private String name;
+
+    @Schema(description = "Permission description", example = "View user profiles")
+    private String description;
+
+    @Schema(description = "Permission category", example = "USER")
+    private String category;
+}
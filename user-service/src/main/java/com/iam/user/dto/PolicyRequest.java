@@ -0,0 +1,55 @@
+package com.iam.user.dto;
+
+import com.iam.user.model.PolicyEffect;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Access policy; all given conditions must hold for it to apply")
+public class PolicyRequest {
+
+    @NotBlank(message = "Policy name is required")
+    @Schema(description = "Unique policy name", example = "guests-no-database-requests")
+    private String name;
+
+    @Schema(description = "Policy description")
+    private String description;
+
+    @NotNull(message = "Effect is required")
+    @Schema(description = "ALLOW or DENY; a matching DENY always wins")
+    private PolicyEffect effect;
+
+    @Schema(description = "Action, or * for any", example = "resource:request", defaultValue = "*")
+    private String action;
+
+    @Schema(description = "Resource type, or * for any", example = "RESOURCE", defaultValue = "*")
+    private String resourceType;
+
+    @Schema(description = "Subject must have one of these roles", example = "[\"GUEST\"]")
+    private Set<String> roles;
+
+    @Schema(description = "Subject must have this permission; $action means the permission named like the action")
+    private String permission;
+
+    @Schema(description = "Subject must belong to this department")
+    private UUID departmentId;
+
+    @Schema(description = "With departmentId, also match members of its sub-departments", defaultValue = "true")
+    private Boolean includeSubDepartments;
+
+    @Schema(description = "Resource attributes that must be equal; the value $subject.departmentId matches the subject's department",
+            example = "{\"resourceCategory\": \"DATABASE\"}")
+    private Map<String, String> resourceAttributes;
+}
@@ -0,0 +1,60 @@
+package com.iam.user.dto;
+
+import com.iam.user.model.PolicyEffect;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Access policy")
+public class PolicyResponse {
+
+    @Schema(description = "Policy ID")
+    private UUID id;
+
+    @Schema(description = "Unique policy name", example = "guests-no-database-requests")
+    private String name;
+
+    @Schema(description = "Policy description")
+    private String description;
+
+    @Schema(description = "ALLOW or DENY")
+    private PolicyEffect effect;
+
+    @Schema(description = "Action, or * for any", example = "resource:request")
+    private String action;
+
+    @Schema(description = "Resource type, or * for any", example = "RESOURCE")
+    private String resourceType;
+
+    @Schema(description = "Subject must have one of these roles")
+    private Set<String> roles;
+
+    @Schema(description = "Subject must have this permission")
+    private String permission;
+
+    @Schema(description = "Subject must belong to this department")
+    private UUID departmentId;
+
+    @Schema(description = "Whether sub-departments of departmentId match too")
+    private boolean includeSubDepartments;
+
+    @Schema(description = "Resource attributes that must be equal")
+    private Map<String, String> resourceAttributes;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Active member of one or more requested roles")
+public class RoleMemberResponse {
+
+    @Schema(description = "User ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Email address", example = "admin@iam-platform.local")
+    private String email;
+
+    @Schema(description = "Which of the requested roles the user holds", example = "[\"ADMIN\"]")
+    private Set<String> roles;
+}
@@ -0,0 +1,22 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Replaces the roles a role inherits permissions from")
+public class RoleParentsRequest {
+
+    @NotNull(message = "Parents are required")
+    @Schema(description = "Parent role names; empty removes all inheritance", example = "[\"USER\"]")
+    private Set<String> parents;
+}
@@ -12,7 +12,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Role response")
 public class RoleResponse {
 
@@ -30,4 +30,10 @@ public class RoleResponse {
 
     @Schema(description = "Permission names assigned to this role", example = "[\"user:read\", \"user:write\"]")
     private Set<String> permissions;
+
+    @Schema(description = "Names of the roles this role directly inherits from", example = "[\"USER\"]")
+    private Set<String> parents;
+
+    @Schema(description = "Own and inherited permission names", example = "[\"user:read\", \"resource:read\"]")
+    private Set<String> effectivePermissions;
 }
@@ -0,0 +1,32 @@
+package com.iam.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "User search match")
+public class UserSearchResponse {
+
+    @Schema(description = "User ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Email address", example = "jane.doe@iam-platform.local")
+    private String email;
+
+    @Schema(description = "First name", example = "Jane")
+    private String firstName;
+
+    @Schema(description = "Last name", example = "Doe")
+    private String lastName;
+
+    @Schema(description = "Trigram similarity to the query (0-1); absent for prefix matches", example = "0.42")
+    private Float score;
+}
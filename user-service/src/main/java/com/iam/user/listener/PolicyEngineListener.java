@@ -0,0 +1,21 @@
+package com.iam.user.listener;
+
+import com.iam.common.events.AccessPoliciesChangedEvent;
+import com.iam.user.service.PolicyEngine;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PolicyEngineListener {
+
+    private final PolicyEngine policyEngine;
+
+    public PolicyEngineListener(PolicyEngine policyEngine) {
+        this.policyEngine = policyEngine;
+    }
+
+    @RabbitListener(queues = "#{accessPoliciesQueue.name}")
+    public void handlePoliciesChanged(AccessPoliciesChangedEvent event) {
+        policyEngine.onPoliciesChanged(event);
+    }
+}
@@ -0,0 +1,21 @@
+package com.iam.user.listener;
+
+import com.iam.common.events.RoleCatalogChangedEvent;
+import com.iam.user.service.RoleCatalog;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleCatalogListener {
+
+    private final RoleCatalog roleCatalog;
+
+    public RoleCatalogListener(RoleCatalog roleCatalog) {
+        this.roleCatalog = roleCatalog;
+    }
+
+    @RabbitListener(queues = "#{roleCatalogQueue.name}")
+    public void handleCatalogChanged(RoleCatalogChangedEvent event) {
+        roleCatalog.onCatalogChanged(event);
+    }
+}
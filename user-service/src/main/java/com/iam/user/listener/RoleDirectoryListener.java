@@ -0,0 +1,21 @@
+package com.iam.user.listener;
+
+import com.iam.common.events.RoleMembersChangedEvent;
+import com.iam.user.service.RoleDirectory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleDirectoryListener {
+
+    private final RoleDirectory roleDirectory;
+
+    public RoleDirectoryListener(RoleDirectory roleDirectory) {
+        this.roleDirectory = roleDirectory;
+    }
+
+    @RabbitListener(queues = "#{roleMembersQueue.name}")
+    public void handleMembersChanged(RoleMembersChangedEvent event) {
+        roleDirectory.onMembersChanged(event);
+    }
+}
@@ -0,0 +1,21 @@
+package com.iam.user.listener;
+
+import com.iam.common.events.RoleGrantScheduledEvent;
+import com.iam.user.service.RoleExpiryScheduler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleExpiryListener {
+
+    private final RoleExpiryScheduler roleExpiryScheduler;
+
+    public RoleExpiryListener(RoleExpiryScheduler roleExpiryScheduler) {
+        this.roleExpiryScheduler = roleExpiryScheduler;
+    }
+
+    @RabbitListener(queues = "#{roleGrantQueue.name}")
+    public void handleGrantScheduled(RoleGrantScheduledEvent event) {
+        roleExpiryScheduler.onGrantScheduled(event);
+    }
+}
@@ -1,5 +1,6 @@
 package com.iam.user.listener;
 
+import com.iam.common.events.UserBatchEvent;
 import com.iam.common.events.UserEvent;
 import com.iam.user.config.RabbitMQConfig;
 import com.iam.user.service.UserService;
@@ -8,6 +9,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class UserEventListener {
 
@@ -19,9 +22,32 @@ public class UserEventListener {
         this.userService = userService;
     }
 
-    @RabbitListener(queues = RabbitMQConfig.USER_SYNC_QUEUE)
-    public void handleUserCreated(UserEvent event) {
-        log.info("Received user.created event for: {} ({})", event.getEmail(), event.getUserId());
+    @RabbitListener(queues = RabbitMQConfig.USER_SYNC_QUEUE, containerFactory = "userSyncBatchContainerFactory")
+    public void handleUserCreated(List<UserEvent> events) {
+        log.info("Received {} user.created events", events.size());
+        syncBatch(events, "user.created");
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.USER_SYNC_BATCH_QUEUE)
+    public void handleUsersCreated(UserBatchEvent batch) {
+        log.info("Received user.created.batch {} with {} users", batch.getBatchId(), batch.getUsers().size());
+        syncBatch(batch.getUsers(), "batch " + batch.getBatchId());
+    }
+
+    private void syncBatch(List<UserEvent> events, String source) {
+        try {
+            int created = userService.createUsersFromBatch(events);
+            log.info("Synced {} of {} users from {}", created, events.size(), source);
+        } catch (Exception e) {
+            // One bad row must not drop the whole chunk: retry each user in its own transaction
+            log.warn("Sync of {} failed ({}), falling back to per-user sync", source, e.getMessage());
+            for (UserEvent event : events) {
+                syncOne(event);
+            }
+        }
+    }
+
+    private void syncOne(UserEvent event) {
         try {
             userService.createUserFromEvent(
                     event.getUserId(),
@@ -32,7 +58,7 @@ public class UserEventListener {
                     event.getDepartmentId()
             );
         } catch (Exception e) {
-            log.error("Failed to sync user from auth-service: {}", e.getMessage(), e);
+            log.error("Failed to sync user {} from auth-service: {}", event.getEmail(), e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,21 @@
+package com.iam.user.listener;
+
+import com.iam.common.events.UserProfilesChangedEvent;
+import com.iam.user.service.UserProfileCache;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserProfileCacheListener {
+
+    private final UserProfileCache userProfileCache;
+
+    public UserProfileCacheListener(UserProfileCache userProfileCache) {
+        this.userProfileCache = userProfileCache;
+    }
+
+    @RabbitListener(queues = "#{userProfilesQueue.name}")
+    public void handleProfilesChanged(UserProfilesChangedEvent event) {
+        userProfileCache.onProfilesChanged(event);
+    }
+}
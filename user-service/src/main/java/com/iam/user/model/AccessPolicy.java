@@ -0,0 +1,72 @@
+package com.iam.user.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Entity
+@Table(name = "access_policies")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccessPolicy {
+
+    public static final String ANY = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PolicyEffect effect;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private String action = ANY;
+
+    @Column(name = "resource_type", nullable = false)
+    @Builder.Default
+    private String resourceType = ANY;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private String[] roles;
+
+    private String permission;
+
+    @Column(name = "department_id")
+    private UUID departmentId;
+
+    @Column(name = "include_sub_departments", nullable = false)
+    @Builder.Default
+    private boolean includeSubDepartments = true;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "resource_attributes")
+    private Map<String, String> resourceAttributes;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -24,6 +24,13 @@ public class Department {
 
     private String description;
 
+    @Column(name = "parent_id")
+    private UUID parentId;
+
+    // Direct active members; maintained by a database trigger on users
+    @Column(name = "member_count", insertable = false, updatable = false)
+    private int memberCount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,40 @@
+package com.iam.user.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Ancestor/descendant pair in the department hierarchy. Every department is its own ancestor at
+ * depth 0, so "department and everything below it" is a single join on {@code ancestorId}.
+ */
+@Entity
+@Table(name = "department_closure")
+@IdClass(DepartmentClosure.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private UUID ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private UUID descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ancestorId;
+        private UUID descendantId;
+    }
+}
@@ -0,0 +1,6 @@
+package com.iam.user.model;
+
+public enum PolicyEffect {
+    ALLOW,
+    DENY
+}
@@ -37,4 +37,13 @@ public class Role {
     )
     @Builder.Default
     private Set<Permission> permissions = new HashSet<>();
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "role_parents",
+            joinColumns = @JoinColumn(name = "role_id"),
+            inverseJoinColumns = @JoinColumn(name = "parent_role_id")
+    )
+    @Builder.Default
+    private Set<Role> parents = new HashSet<>();
 }
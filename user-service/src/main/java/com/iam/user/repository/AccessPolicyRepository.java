@@ -0,0 +1,12 @@
+package com.iam.user.repository;
+
+import com.iam.user.model.AccessPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AccessPolicyRepository extends JpaRepository<AccessPolicy, UUID> {
+    boolean existsByName(String name);
+}
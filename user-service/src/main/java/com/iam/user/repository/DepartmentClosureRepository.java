@@ -0,0 +1,62 @@
+package com.iam.user.repository;
+
+import com.iam.user.model.DepartmentClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, DepartmentClosure.Key> {
+
+    boolean existsByAncestorIdAndDescendantId(UUID ancestorId, UUID descendantId);
+
+    /**
+     * Serializes closure writes across instances for the rest of the transaction, so two
+     * concurrent moves cannot each pass the cycle check and together form a cycle, and no
+     * department is created under a subtree while it is being re-linked.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('department_closure'))", nativeQuery = true)
+    Integer lockClosure();
+
+    @Query("SELECT c.descendantId FROM DepartmentClosure c WHERE c.ancestorId = :ancestorId")
+    List<UUID> findDescendantIds(@Param("ancestorId") UUID ancestorId);
+
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)",
+            nativeQuery = true)
+    void insertRoot(@Param("id") UUID id);
+
+    /**
+     * Links a new department to itself and to every ancestor of its parent.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT ancestor_id, :id, depth + 1 FROM department_closure WHERE descendant_id = :parentId "
+            + "UNION ALL SELECT :id, :id, 0", nativeQuery = true)
+    void insertChild(@Param("id") UUID id, @Param("parentId") UUID parentId);
+
+    /**
+     * Cuts every link from the department's former ancestors into its subtree.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM department_closure "
+            + "WHERE descendant_id IN (SELECT descendant_id FROM department_closure WHERE ancestor_id = :id) "
+            + "AND ancestor_id NOT IN (SELECT descendant_id FROM department_closure WHERE ancestor_id = :id)",
+            nativeQuery = true)
+    void detachSubtree(@Param("id") UUID id);
+
+    /**
+     * Links every ancestor of the new parent (inclusive) to every node of the subtree.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 "
+            + "FROM department_closure above CROSS JOIN department_closure below "
+            + "WHERE above.descendant_id = :parentId AND below.ancestor_id = :id", nativeQuery = true)
+    void attachSubtree(@Param("id") UUID id, @Param("parentId") UUID parentId);
+}
@@ -0,0 +1,136 @@
+package com.iam.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based access to {@code user_roles}: expiry of time-bound rows, whose {@code expires_at}
+ * column is not part of the {@code User.roles} mapping, and bulk assignment and revocation.
+ */
+@Repository
+public class RoleGrantRepository {
+
+    public record Grant(UUID userId, UUID roleId, LocalDateTime expiresAt) {}
+
+    public record RevokedGrant(UUID userId, UUID roleId, String email) {}
+
+    /**
+     * Users targeted by a bulk change: the given IDs, or the active users of a department and,
+     * optionally, its sub-departments.
+     */
+    public record Selection(List<UUID> userIds, UUID departmentId, boolean includeSubDepartments) {}
+
+    private static final RowMapper<UUID> USER_ID_MAPPER = (rs, rowNum) -> rs.getObject("user_id", UUID.class);
+
+    private static final RowMapper<RevokedGrant> REVOKED_MAPPER = (rs, rowNum) -> new RevokedGrant(
+            rs.getObject("user_id", UUID.class), rs.getObject("role_id", UUID.class), rs.getString("email"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoleGrantRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param expiresAt null makes the assignment permanent
+     */
+    public void setExpiry(UUID userId, UUID roleId, LocalDateTime expiresAt) {
+        jdbcTemplate.update("UPDATE user_roles SET expires_at = ? WHERE user_id = ? AND role_id = ?",
+                expiresAt, userId, roleId);
+    }
+
+    /**
+     * Replaces the expiry of a time-bound assignment and leaves a permanent one as it is.
+     *
+     * @return whether the assignment was time-bound
+     */
+    public boolean replaceExpiry(UUID userId, UUID roleId, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE user_roles SET expires_at = ? WHERE user_id = ? AND role_id = ? AND expires_at IS NOT NULL",
+                expiresAt, userId, roleId) > 0;
+    }
+
+    public List<Grant> findExpiring() {
+        return jdbcTemplate.query(
+                "SELECT user_id, role_id, expires_at FROM user_roles WHERE expires_at IS NOT NULL",
+                (rs, rowNum) -> new Grant(rs.getObject("user_id", UUID.class), rs.getObject("role_id", UUID.class),
+                        rs.getTimestamp("expires_at").toLocalDateTime()));
+    }
+
+    /**
+     * Deletes the assignment only if it still carries the expiry the timer was set for, so a
+     * grant that was extended, made permanent or already revoked elsewhere is left alone.
+     */
+    public List<RevokedGrant> revoke(Grant grant) {
+        return jdbcTemplate.query("DELETE FROM user_roles ur USING users u "
+                        + "WHERE ur.user_id = u.id AND ur.user_id = ? AND ur.role_id = ? AND ur.expires_at = ? "
+                        + "RETURNING ur.user_id, ur.role_id, u.email",
+                REVOKED_MAPPER, grant.userId(), grant.roleId(), grant.expiresAt());
+    }
+
+    /**
+     * Catch-up for grants whose timer was dropped or never set on the lease holder.
+     */
+    public List<RevokedGrant> revokeExpired(LocalDateTime now) {
+        return jdbcTemplate.query("DELETE FROM user_roles ur USING users u "
+                        + "WHERE ur.user_id = u.id AND ur.expires_at <= ? "
+                        + "RETURNING ur.user_id, ur.role_id, u.email",
+                REVOKED_MAPPER, now);
+    }
+
+    /**
+     * Gives the role to every selected active user in one statement. Users who already hold it
+     * temporarily get it permanently, as with a single assignment.
+     *
+     * @return IDs of the users whose assignment was created or changed
+     */
+    public List<UUID> assign(UUID roleId, Selection selection) {
+        String sql = "INSERT INTO user_roles (user_id, role_id, assigned_at) "
+                + "SELECT u.id, ?, LOCALTIMESTAMP FROM users u WHERE u.is_active = TRUE AND " + filter(selection, "u")
+                + " ON CONFLICT (user_id, role_id) DO UPDATE SET expires_at = NULL "
+                + "WHERE user_roles.expires_at IS NOT NULL "
+                + "RETURNING user_id";
+        return jdbcTemplate.query(statement(sql, roleId, selection), USER_ID_MAPPER);
+    }
+
+    /**
+     * Takes the role from every selected user in one statement.
+     *
+     * @return IDs of the users who had the role
+     */
+    public List<UUID> revoke(UUID roleId, Selection selection) {
+        String sql = "DELETE FROM user_roles ur USING users u "
+                + "WHERE ur.user_id = u.id AND ur.role_id = ? AND " + filter(selection, "u")
+                + " RETURNING ur.user_id";
+        return jdbcTemplate.query(statement(sql, roleId, selection), USER_ID_MAPPER);
+    }
+
+    private static String filter(Selection selection, String alias) {
+        if (selection.userIds() != null) {
+            return alias + ".id = ANY (?)";
+        }
+        return selection.includeSubDepartments()
+                ? alias + ".department_id IN (SELECT descendant_id FROM department_closure WHERE ancestor_id = ?)"
+                : alias + ".department_id = ?";
+    }
+
+    private static PreparedStatementCreator statement(String sql, UUID roleId, Selection selection) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setObject(1, roleId);
+            if (selection.userIds() != null) {
+                ps.setArray(2, connection.createArrayOf("uuid", selection.userIds().toArray()));
+            } else {
+                ps.setObject(2, selection.departmentId());
+            }
+            return ps;
+        };
+    }
+}
@@ -1,13 +1,29 @@
 package com.iam.user.repository;
 
 import com.iam.user.model.Role;
+import com.iam.user.repository.projection.RoleParentLink;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID> {
     Optional<Role> findByName(String name);
+
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions")
+    List<Role> findAllWithPermissions();
+
+    @Query("SELECT new com.iam.user.repository.projection.RoleParentLink(r.id, p.id) FROM Role r JOIN r.parents p")
+    List<RoleParentLink> findParentLinks();
+
+    /**
+     * Serializes hierarchy edits across instances for the rest of the transaction, so two
+     * concurrent edits cannot each pass the cycle check and together form a cycle.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('role_parents'))", nativeQuery = true)
+    Integer lockHierarchy();
 }
@@ -0,0 +1,36 @@
+package com.iam.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Time-limited leases in {@code scheduler_leases}, used to run a job on one instance at a time.
+ */
+@Repository
+public class SchedulerLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes or renews the lease. Succeeds if nobody holds it, {@code owner} already holds it, or
+     * the current holder let it lapse. Timestamps come from the database clock, so instances
+     * with skewed clocks still agree.
+     */
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        return jdbcTemplate.update("INSERT INTO scheduler_leases (name, owner, expires_at) "
+                        + "VALUES (?, ?, LOCALTIMESTAMP + ?::interval) "
+                        + "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at "
+                        + "WHERE scheduler_leases.owner = EXCLUDED.owner OR scheduler_leases.expires_at < LOCALTIMESTAMP",
+                name, owner, ttl.toMillis() + " milliseconds") == 1;
+    }
+
+    public void release(String name, String owner) {
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name = ? AND owner = ?", name, owner);
+    }
+}
@@ -0,0 +1,77 @@
+package com.iam.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based inserts for synced users. Each call is one multi-row
+ * {@code INSERT ... ON CONFLICT DO NOTHING}, so duplicates (by ID or email) are skipped by the
+ * database instead of being checked row by row.
+ */
+@Repository
+public class UserBulkWriter {
+
+    // Keeps bind parameters far below the PostgreSQL limit of 65535 per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record NewUser(UUID id, String email, String firstName, String lastName, UUID departmentId) {}
+
+    /**
+     * Inserts the users and returns the IDs of the rows actually created.
+     */
+    public List<UUID> insertUsers(List<NewUser> users) {
+        List<UUID> created = new ArrayList<>(users.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (List<NewUser> chunk : chunks(users)) {
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO users (id, email, first_name, last_name, department_id, is_active, created_at, updated_at) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 7);
+            for (int i = 0; i < chunk.size(); i++) {
+                NewUser user = chunk.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, TRUE, ?, ?)");
+                Collections.addAll(args, user.id(), user.email(), user.firstName(), user.lastName(),
+                        user.departmentId(), now, now);
+            }
+            sql.append(" ON CONFLICT DO NOTHING RETURNING id");
+            created.addAll(jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray()));
+        }
+        return created;
+    }
+
+    public int insertUserRoles(List<Map.Entry<UUID, UUID>> userRoles) {
+        int inserted = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Map.Entry<UUID, UUID>> chunk : chunks(userRoles)) {
+            StringBuilder sql = new StringBuilder("INSERT INTO user_roles (user_id, role_id, assigned_at) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 3);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?)");
+                Collections.addAll(args, chunk.get(i).getKey(), chunk.get(i).getValue(), now);
+            }
+            sql.append(" ON CONFLICT DO NOTHING");
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return inserted;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> rows) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            chunks.add(rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size())));
+        }
+        return chunks;
+    }
+}
@@ -1,27 +1,72 @@
 package com.iam.user.repository;
 
 import com.iam.user.model.User;
+import com.iam.user.repository.projection.RoleMemberRow;
+import com.iam.user.repository.projection.UserRoleName;
+import com.iam.user.repository.projection.UserRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    String USER_ROW = "SELECT new com.iam.user.repository.projection.UserRow("
+            + "u.id, u.email, u.firstName, u.lastName, u.phoneNumber, u.active, d.id, d.name, u.createdAt, u.updatedAt) "
+            + "FROM User u LEFT JOIN u.department d ";
+
+    @EntityGraph(attributePaths = {"department", "roles", "roles.permissions"})
     Optional<User> findByEmail(String email);
+
+    @EntityGraph(attributePaths = {"department", "roles", "roles.permissions"})
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findDetailedById(@Param("id") UUID id);
+
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE u.active = true")
-    Page<User> findAllActive(Pageable pageable);
+    @Query(value = USER_ROW + "WHERE u.active = true",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.active = true")
+    Page<UserRow> findActiveRows(Pageable pageable);
+
+    @Query(USER_ROW + "WHERE u.active = true ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserRow> findLatestActiveRows(Limit limit);
+
+    @Query(USER_ROW + "WHERE u.active = true "
+            + "AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserRow> findLatestActiveRowsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id,
+                                            Limit limit);
+
+    @Query(value = USER_ROW + "WHERE d.id = :departmentId",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.department.id = :departmentId")
+    Page<UserRow> findRowsByDepartmentId(@Param("departmentId") UUID departmentId, Pageable pageable);
+
+    @Query(value = USER_ROW + "JOIN DepartmentClosure c ON c.descendantId = d.id "
+            + "WHERE c.ancestorId = :departmentId AND u.active = true",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN DepartmentClosure c ON c.descendantId = u.department.id "
+                    + "WHERE c.ancestorId = :departmentId AND u.active = true")
+    Page<UserRow> findActiveRowsInDepartmentTree(@Param("departmentId") UUID departmentId, Pageable pageable);
+
+    @Query(USER_ROW + "JOIN u.roles r WHERE r.name = :roleName AND u.active = true ORDER BY u.email")
+    List<UserRow> findActiveRowsByRoleName(@Param("roleName") String roleName);
 
-    Page<User> findByDepartmentId(UUID departmentId, Pageable pageable);
+    @Query("SELECT new com.iam.user.repository.projection.RoleMemberRow(r.name, u.id, u.email) "
+            + "FROM User u JOIN u.roles r WHERE r.name IN :roleNames AND u.active = true ORDER BY u.email")
+    List<RoleMemberRow> findActiveMembersByRoleNames(@Param("roleNames") Collection<String> roleNames);
 
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.active = true")
-    List<User> findByRoleNameAndActiveTrue(@Param("roleName") String roleName);
+    @Query("SELECT new com.iam.user.repository.projection.UserRoleName(u.id, r.name) "
+            + "FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleName> findRoleNames(@Param("userIds") Collection<UUID> userIds);
 }
@@ -0,0 +1,72 @@
+package com.iam.user.repository;
+
+import com.iam.user.dto.UserSearchResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Native search queries over the {@code pg_trgm} index from V4. Matches are rows whose search
+ * text contains the query or is trigram-similar to it, ranked by similarity then ID, which is
+ * also the keyset order for paging.
+ */
+@Repository
+public class UserSearchRepository {
+
+    static final String SEARCH_TEXT = "(lower(u.email) || ' ' || lower(u.first_name) || ' ' || lower(u.last_name))";
+
+    private static final String SELECT = "SELECT u.id, u.email, u.first_name, u.last_name, "
+            + "similarity(" + SEARCH_TEXT + ", ?) AS score FROM users u "
+            + "WHERE u.is_active = TRUE AND (" + SEARCH_TEXT + " LIKE ? OR " + SEARCH_TEXT + " % ?) ";
+
+    private static final String ORDER = "ORDER BY score DESC, u.id LIMIT ?";
+
+    private static final RowMapper<UserSearchResponse> ROW_MAPPER = (rs, rowNum) -> UserSearchResponse.builder()
+            .id(rs.getObject("id", UUID.class))
+            .email(rs.getString("email"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .score(rs.getFloat("score"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param query lower-cased search text
+     */
+    public List<UserSearchResponse> search(String query, int limit) {
+        return jdbcTemplate.query(SELECT + ORDER, ROW_MAPPER,
+                query, containsPattern(query), query, limit);
+    }
+
+    /**
+     * Next page after the last row of the previous one, by {@code (score DESC, id ASC)}.
+     */
+    public List<UserSearchResponse> searchAfter(String query, float score, UUID id, int limit) {
+        String sql = "SELECT * FROM (" + SELECT + ") matches "
+                + "WHERE score < CAST(? AS real) OR (score = CAST(? AS real) AND id > ?) "
+                + "ORDER BY score DESC, id LIMIT ?";
+        return jdbcTemplate.query(sql, ROW_MAPPER,
+                query, containsPattern(query), query, score, score, id, limit);
+    }
+
+    /**
+     * Streams every active user for building the in-memory prefix index.
+     */
+    public void forEachActiveUser(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT id, email, first_name, last_name FROM users WHERE is_active = TRUE", handler);
+    }
+
+    private static String containsPattern(String query) {
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,5 @@
+package com.iam.user.repository.projection;
+
+import java.util.UUID;
+
+public record RoleMemberRow(String roleName, UUID userId, String email) {}
@@ -0,0 +1,5 @@
+package com.iam.user.repository.projection;
+
+import java.util.UUID;
+
+public record RoleParentLink(UUID roleId, UUID parentId) {}
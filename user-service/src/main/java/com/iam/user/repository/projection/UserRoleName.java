@@ -0,0 +1,5 @@
+package com.iam.user.repository.projection;
+
+import java.util.UUID;
+
+public record UserRoleName(UUID userId, String roleName) {}
@@ -0,0 +1,19 @@
+package com.iam.user.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat user row with the department already joined. Roles are loaded separately in one
+ * statement per page, see {@link UserRoleName}.
+ */
+public record UserRow(UUID id,
+                      String email,
+                      String firstName,
+                      String lastName,
+                      String phoneNumber,
+                      boolean active,
+                      UUID departmentId,
+                      String departmentName,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt) {}
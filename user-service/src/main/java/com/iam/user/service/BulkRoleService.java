@@ -0,0 +1,114 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.RoleAssignmentsChangedEvent;
+import com.iam.common.exception.BaseException;
+import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.BulkRoleRequest;
+import com.iam.user.dto.BulkRoleResponse;
+import com.iam.user.dto.RoleResponse;
+import com.iam.user.repository.DepartmentRepository;
+import com.iam.user.repository.RoleGrantRepository;
+import com.iam.user.repository.RoleGrantRepository.Selection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Assigns or revokes one role for many users with a single statement against
+ * {@code user_roles}, instead of loading and saving each user's entity graph, and reports the
+ * change as one {@code user.roles.bulk-changed} event.
+ */
+@Service
+public class BulkRoleService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkRoleService.class);
+
+    private final RoleGrantRepository roleGrantRepository;
+    private final DepartmentRepository departmentRepository;
+    private final RoleCatalog roleCatalog;
+    private final RoleDirectory roleDirectory;
+    private final UserProfileCache userProfileCache;
+    private final RabbitTemplate rabbitTemplate;
+
+    public BulkRoleService(RoleGrantRepository roleGrantRepository,
+                           DepartmentRepository departmentRepository,
+                           RoleCatalog roleCatalog,
+                           RoleDirectory roleDirectory,
+                           UserProfileCache userProfileCache,
+                           RabbitTemplate rabbitTemplate) {
+        this.roleGrantRepository = roleGrantRepository;
+        this.departmentRepository = departmentRepository;
+        this.roleCatalog = roleCatalog;
+        this.roleDirectory = roleDirectory;
+        this.userProfileCache = userProfileCache;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Transactional
+    public BulkRoleResponse assign(BulkRoleRequest request, UUID performedBy) {
+        RoleResponse role = requireRole(request.getRoleName());
+        List<UUID> userIds = roleGrantRepository.assign(role.getId(), selection(request));
+        return changed(role.getName(), "ASSIGNED", userIds, performedBy);
+    }
+
+    @Transactional
+    public BulkRoleResponse revoke(BulkRoleRequest request, UUID performedBy) {
+        RoleResponse role = requireRole(request.getRoleName());
+        List<UUID> userIds = roleGrantRepository.revoke(role.getId(), selection(request));
+        return changed(role.getName(), "REVOKED", userIds, performedBy);
+    }
+
+    private RoleResponse requireRole(String roleName) {
+        return roleCatalog.findByName(roleName)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", roleName));
+    }
+
+    private Selection selection(BulkRoleRequest request) {
+        boolean byUsers = request.getUserIds() != null;
+        if (byUsers == (request.getDepartmentId() != null)) {
+            throw new BaseException("Specify either userIds or departmentId", HttpStatus.BAD_REQUEST);
+        }
+        if (!byUsers && !departmentRepository.existsById(request.getDepartmentId())) {
+            throw new ResourceNotFoundException("Department", "id", request.getDepartmentId().toString());
+        }
+        return new Selection(byUsers ? List.copyOf(request.getUserIds()) : null,
+                request.getDepartmentId(), request.isIncludeSubDepartments());
+    }
+
+    private BulkRoleResponse changed(String roleName, String action, List<UUID> userIds, UUID performedBy) {
+        log.info("Bulk role change: {} {} for {} users", action, roleName, userIds.size());
+        if (!userIds.isEmpty()) {
+            roleDirectory.invalidate(Set.of(roleName));
+            userProfileCache.invalidate(userIds);
+            RoleAssignmentsChangedEvent event = RoleAssignmentsChangedEvent.builder()
+                    .roleName(roleName)
+                    .action(action)
+                    .performedBy(performedBy)
+                    .userIds(userIds)
+                    .build();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rabbitTemplate.convertAndSend(RabbitMQConstants.EVENTS_EXCHANGE,
+                            RabbitMQConstants.USER_ROLES_BULK_CHANGED, event);
+                }
+            });
+        }
+        return BulkRoleResponse.builder()
+                .roleName(roleName)
+                .action(action)
+                .affected(userIds.size())
+                .userIds(userIds)
+                .build();
+    }
+}
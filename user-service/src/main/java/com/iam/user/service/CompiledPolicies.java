@@ -0,0 +1,214 @@
+package com.iam.user.service;
+
+import com.iam.user.model.AccessPolicy;
+import com.iam.user.model.PolicyEffect;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Access policies compiled into a lookup table, so a decision never scans or interprets the
+ * policy set.
+ * <p>
+ * Rules are grouped by {@code action|resourceType}. Each group already contains the matching
+ * wildcard rules, DENY before ALLOW, so a decision is at most four hash lookups for the group
+ * plus a walk over the few rules in it, stopping at the first match (deny overrides). Department
+ * conditions are expanded to the department's subtree, and the {@code $action} and
+ * {@code $subject.departmentId} placeholders are resolved to flags, at compile time.
+ * <p>
+ * Each group also records what its rules read beyond the subject's roles, which is what the
+ * decision cache keys on.
+ */
+final class CompiledPolicies {
+
+    static final String ACTION_PLACEHOLDER = "$action";
+    static final String SUBJECT_DEPARTMENT_PLACEHOLDER = "$subject.departmentId";
+
+    private static final String ANY = AccessPolicy.ANY;
+    private static final String SEPARATOR = "|";
+
+    record Subject(UUID userId, Set<String> roles, Set<String> permissions, UUID departmentId) {}
+
+    record Match(PolicyEffect effect, String policyName) {}
+
+    /**
+     * @param usesDepartment whether any rule reads the subject's department
+     * @param usesAttributes whether any rule reads resource attributes
+     */
+    record Group(Rule[] rules, boolean usesDepartment, boolean usesAttributes) {
+
+        Match decide(Subject subject, String action, Map<String, String> attributes) {
+            for (Rule rule : rules) {
+                if (rule.matches(subject, action, attributes)) {
+                    return new Match(rule.effect(), rule.name());
+                }
+            }
+            return null;
+        }
+    }
+
+    record Rule(String name, PolicyEffect effect, Set<String> roles, String permission, boolean permissionFromAction,
+                Set<UUID> departments, String[] attributeKeys, String[] attributeValues, boolean[] fromSubjectDepartment) {
+
+        boolean matches(Subject subject, String action, Map<String, String> attributes) {
+            if (roles != null && !intersects(roles, subject.roles())) {
+                return false;
+            }
+            if (permissionFromAction ? !subject.permissions().contains(action)
+                    : permission != null && !subject.permissions().contains(permission)) {
+                return false;
+            }
+            if (departments != null && (subject.departmentId() == null || !departments.contains(subject.departmentId()))) {
+                return false;
+            }
+            for (int i = 0; i < attributeKeys.length; i++) {
+                String actual = attributes.get(attributeKeys[i]);
+                String expected = fromSubjectDepartment[i]
+                        ? (subject.departmentId() != null ? subject.departmentId().toString() : null)
+                        : attributeValues[i];
+                if (actual == null || !actual.equals(expected)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean usesDepartment() {
+            if (departments != null) {
+                return true;
+            }
+            for (boolean placeholder : fromSubjectDepartment) {
+                if (placeholder) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean intersects(Set<String> required, Set<String> actual) {
+            for (String role : actual) {
+                if (required.contains(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final Group EMPTY = new Group(new Rule[0], false, false);
+
+    private final long version;
+    private final Map<String, Group> groups;
+
+    private CompiledPolicies(long version, Map<String, Group> groups) {
+        this.version = version;
+        this.groups = groups;
+    }
+
+    long version() {
+        return version;
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * @param subtree department IDs of a department's subtree, itself included
+     */
+    static CompiledPolicies compile(long version, List<AccessPolicy> policies, Function<UUID, Set<UUID>> subtree) {
+        List<Entry> entries = new ArrayList<>(policies.size());
+        Set<String> actions = new HashSet<>();
+        Set<String> resourceTypes = new HashSet<>();
+        for (AccessPolicy policy : policies) {
+            entries.add(new Entry(policy.getAction(), policy.getResourceType(), toRule(policy, subtree)));
+            actions.add(policy.getAction());
+            resourceTypes.add(policy.getResourceType());
+        }
+        actions.add(ANY);
+        resourceTypes.add(ANY);
+
+        // DENY first so the first match implements deny-overrides; names keep the order stable
+        entries.sort(Comparator.comparing((Entry entry) -> entry.rule().effect() == PolicyEffect.ALLOW)
+                .thenComparing(entry -> entry.rule().name()));
+
+        Map<String, Group> groups = new HashMap<>();
+        for (String action : actions) {
+            for (String resourceType : resourceTypes) {
+                List<Rule> rules = new ArrayList<>();
+                for (Entry entry : entries) {
+                    if (covers(entry.action(), action) && covers(entry.resourceType(), resourceType)) {
+                        rules.add(entry.rule());
+                    }
+                }
+                if (!rules.isEmpty()) {
+                    groups.put(action + SEPARATOR + resourceType, new Group(rules.toArray(Rule[]::new),
+                            rules.stream().anyMatch(Rule::usesDepartment),
+                            rules.stream().anyMatch(rule -> rule.attributeKeys().length > 0)));
+                }
+            }
+        }
+        return new CompiledPolicies(version, Map.copyOf(groups));
+    }
+
+    /**
+     * The rules that can apply to the action on the resource type. Unknown actions and types
+     * fall back to the groups compiled for their wildcard.
+     */
+    Group groupFor(String action, String resourceType) {
+        Group group = groups.get(action + SEPARATOR + resourceType);
+        if (group == null) {
+            group = groups.get(action + SEPARATOR + ANY);
+        }
+        if (group == null) {
+            group = groups.get(ANY + SEPARATOR + resourceType);
+        }
+        if (group == null) {
+            group = groups.get(ANY + SEPARATOR + ANY);
+        }
+        return group != null ? group : EMPTY;
+    }
+
+    // A wildcard rule is in every group; a concrete rule only in its own and in no wildcard group
+    private static boolean covers(String ruleValue, String groupValue) {
+        return ruleValue.equals(ANY) || ruleValue.equals(groupValue);
+    }
+
+    private static Rule toRule(AccessPolicy policy, Function<UUID, Set<UUID>> subtree) {
+        Set<String> roles = policy.getRoles() != null && policy.getRoles().length > 0
+                ? Set.of(policy.getRoles())
+                : null;
+        Set<UUID> departments = null;
+        if (policy.getDepartmentId() != null) {
+            departments = policy.isIncludeSubDepartments()
+                    ? Set.copyOf(subtree.apply(policy.getDepartmentId()))
+                    : Set.of(policy.getDepartmentId());
+        }
+
+        Map<String, String> attributes = policy.getResourceAttributes() != null ? policy.getResourceAttributes() : Map.of();
+        String[] keys = new String[attributes.size()];
+        String[] values = new String[attributes.size()];
+        boolean[] fromSubjectDepartment = new boolean[attributes.size()];
+        int i = 0;
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            keys[i] = attribute.getKey();
+            values[i] = attribute.getValue();
+            fromSubjectDepartment[i] = SUBJECT_DEPARTMENT_PLACEHOLDER.equals(attribute.getValue());
+            i++;
+        }
+
+        boolean permissionFromAction = ACTION_PLACEHOLDER.equals(policy.getPermission());
+        return new Rule(policy.getName(), policy.getEffect(), roles,
+                permissionFromAction ? null : policy.getPermission(), permissionFromAction,
+                departments, keys, values, fromSubjectDepartment);
+    }
+
+    private record Entry(String action, String resourceType, Rule rule) {}
+}
@@ -2,9 +2,12 @@ package com.iam.user.service;
 
 import com.iam.common.exception.ResourceConflictException;
 import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.DepartmentMoveRequest;
+import com.iam.user.dto.DepartmentNode;
 import com.iam.user.dto.DepartmentRequest;
 import com.iam.user.dto.DepartmentResponse;
 import com.iam.user.model.Department;
+import com.iam.user.repository.DepartmentClosureRepository;
 import com.iam.user.repository.DepartmentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +24,25 @@ public class DepartmentService {
     private static final Logger log = LoggerFactory.getLogger(DepartmentService.class);
 
     private final DepartmentRepository departmentRepository;
+    private final DepartmentClosureRepository departmentClosureRepository;
+    private final DepartmentTree departmentTree;
+    private final UserProfileCache userProfileCache;
+    private final PolicyEngine policyEngine;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             DepartmentClosureRepository departmentClosureRepository,
+                             DepartmentTree departmentTree,
+                             UserProfileCache userProfileCache,
+                             PolicyEngine policyEngine) {
         this.departmentRepository = departmentRepository;
+        this.departmentClosureRepository = departmentClosureRepository;
+        this.departmentTree = departmentTree;
+        this.userProfileCache = userProfileCache;
+        this.policyEngine = policyEngine;
+    }
+
+    public List<DepartmentNode> getDepartmentTree() {
+        return departmentTree.getRoots();
     }
 
     public List<DepartmentResponse> getAllDepartments() {
@@ -43,11 +62,24 @@ public class DepartmentService {
         if (departmentRepository.existsByName(request.getName())) {
             throw new ResourceConflictException("Department '" + request.getName() + "' already exists");
         }
+        departmentClosureRepository.lockClosure();
+        if (request.getParentId() != null && !departmentRepository.existsById(request.getParentId())) {
+            throw new ResourceNotFoundException("Department", "id", request.getParentId().toString());
+        }
         Department dept = Department.builder()
                 .name(request.getName())
                 .description(request.getDescription())
+                .parentId(request.getParentId())
                 .build();
-        Department saved = departmentRepository.save(dept);
+        Department saved = departmentRepository.saveAndFlush(dept);
+        if (saved.getParentId() == null) {
+            departmentClosureRepository.insertRoot(saved.getId());
+        } else {
+            departmentClosureRepository.insertChild(saved.getId(), saved.getParentId());
+        }
+        departmentTree.invalidate();
+        // Department policies are compiled with their subtree
+        policyEngine.invalidate();
         log.info("Department created: {}", saved.getName());
         return toResponse(saved);
     }
@@ -59,15 +91,56 @@ public class DepartmentService {
         dept.setName(request.getName());
         dept.setDescription(request.getDescription());
         Department saved = departmentRepository.save(dept);
+        departmentTree.invalidate();
+        // Cached profiles carry the department name
+        userProfileCache.invalidateAll();
         log.info("Department updated: {}", saved.getName());
         return toResponse(saved);
     }
 
+    /**
+     * Re-parents a department together with its whole subtree. Moving a department under itself
+     * or one of its descendants is rejected; the closure lock is taken before that check.
+     */
+    @Transactional
+    public DepartmentResponse moveDepartment(UUID id, DepartmentMoveRequest request) {
+        departmentClosureRepository.lockClosure();
+        Department dept = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id.toString()));
+        UUID parentId = request.getParentId();
+        if (parentId != null) {
+            if (!departmentRepository.existsById(parentId)) {
+                throw new ResourceNotFoundException("Department", "id", parentId.toString());
+            }
+            if (departmentClosureRepository.existsByAncestorIdAndDescendantId(id, parentId)) {
+                throw new ResourceConflictException("Department cannot be moved under itself or a sub-department");
+            }
+        }
+
+        dept.setParentId(parentId);
+        Department saved = departmentRepository.saveAndFlush(dept);
+        departmentClosureRepository.detachSubtree(id);
+        if (parentId != null) {
+            departmentClosureRepository.attachSubtree(id, parentId);
+        }
+        departmentTree.invalidate();
+        policyEngine.invalidate();
+        log.info("Department {} moved under {}", saved.getName(), parentId);
+        return toResponse(saved);
+    }
+
     @Transactional
     public void deleteDepartment(UUID id) {
+        departmentClosureRepository.lockClosure();
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id.toString()));
+        if (departmentRepository.existsByParentId(id)) {
+            throw new ResourceConflictException("Department '" + dept.getName() + "' has sub-departments");
+        }
         departmentRepository.delete(dept);
+        departmentTree.invalidate();
+        userProfileCache.invalidateAll();
+        policyEngine.invalidate();
         log.info("Department deleted: {}", dept.getName());
     }
 
@@ -76,6 +149,8 @@ public class DepartmentService {
                 .id(dept.getId())
                 .name(dept.getName())
                 .description(dept.getDescription())
+                .parentId(dept.getParentId())
+                .memberCount(dept.getMemberCount())
                 .createdAt(dept.getCreatedAt())
                 .build();
     }
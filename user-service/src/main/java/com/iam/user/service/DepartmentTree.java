@@ -0,0 +1,107 @@
+package com.iam.user.service;
+
+import com.iam.user.dto.DepartmentNode;
+import com.iam.user.model.Department;
+import com.iam.user.repository.DepartmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the department tree with direct and subtree member counts, built from
+ * one query. Structural changes invalidate it immediately; member counts change with every user
+ * write, so they are allowed to lag by up to {@code user.departments.tree-refresh-seconds}.
+ */
+@Service
+public class DepartmentTree {
+
+    private final DepartmentRepository departmentRepository;
+    private final long refreshMillis;
+
+    private volatile Snapshot snapshot;
+
+    public DepartmentTree(DepartmentRepository departmentRepository,
+                          @Value("${user.departments.tree-refresh-seconds:30}") long refreshSeconds) {
+        this.departmentRepository = departmentRepository;
+        this.refreshMillis = refreshSeconds * 1000;
+    }
+
+    public List<DepartmentNode> getRoots() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.builtAt() > refreshMillis) {
+            current = rebuild();
+        }
+        return current.roots();
+    }
+
+    /**
+     * Drops the snapshot once the surrounding transaction commits, so a concurrent read cannot
+     * cache the pre-commit tree.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot = null;
+                }
+            });
+        } else {
+            snapshot = null;
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.builtAt() <= refreshMillis) {
+            return current;
+        }
+
+        List<Department> departments = departmentRepository.findAll();
+        Map<UUID, List<Department>> childrenByParent = new HashMap<>();
+        List<Department> roots = new ArrayList<>();
+        for (Department department : departments) {
+            if (department.getParentId() == null) {
+                roots.add(department);
+            } else {
+                childrenByParent.computeIfAbsent(department.getParentId(), id -> new ArrayList<>()).add(department);
+            }
+        }
+
+        Snapshot rebuilt = new Snapshot(toNodes(roots, childrenByParent), System.currentTimeMillis());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private static List<DepartmentNode> toNodes(List<Department> departments, Map<UUID, List<Department>> childrenByParent) {
+        return departments.stream()
+                .sorted(Comparator.comparing(Department::getName))
+                .map(department -> {
+                    List<DepartmentNode> children = toNodes(
+                            childrenByParent.getOrDefault(department.getId(), List.of()), childrenByParent);
+                    int subtreeMembers = department.getMemberCount();
+                    for (DepartmentNode child : children) {
+                        subtreeMembers += child.getSubtreeMemberCount();
+                    }
+                    return DepartmentNode.builder()
+                            .id(department.getId())
+                            .name(department.getName())
+                            .description(department.getDescription())
+                            .memberCount(department.getMemberCount())
+                            .subtreeMemberCount(subtreeMembers)
+                            .children(children)
+                            .build();
+                })
+                .toList();
+    }
+
+    private record Snapshot(List<DepartmentNode> roots, long builtAt) {}
+}
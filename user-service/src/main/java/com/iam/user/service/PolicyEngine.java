@@ -0,0 +1,211 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.AccessPoliciesChangedEvent;
+import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.DecisionRequest;
+import com.iam.user.dto.DecisionResponse;
+import com.iam.user.dto.UserResponse;
+import com.iam.user.model.PolicyEffect;
+import com.iam.user.repository.AccessPolicyRepository;
+import com.iam.user.repository.DepartmentClosureRepository;
+import com.iam.user.service.CompiledPolicies.Group;
+import com.iam.user.service.CompiledPolicies.Match;
+import com.iam.user.service.CompiledPolicies.Subject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "may user X do action Y on resource Z" against the compiled access policies.
+ * <p>
+ * Subjects come from the user profile cache, so a decision normally touches no database.
+ * Outcomes are cached by what they depend on: the policy set version, the role catalog
+ * version, the subject's roles and, only where the applicable rules read them, the subject's
+ * department and the resource attributes. Users with the same roles therefore share entries,
+ * and a policy or catalog change invalidates everything by moving to a new version rather than
+ * by tracking individual keys. When the cache reaches {@code user.policies.decision-cache-size}
+ * it is cleared and refills.
+ * <p>
+ * Nothing matching means deny.
+ */
+@Service
+public class PolicyEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyEngine.class);
+
+    private static final Match NO_MATCH = new Match(PolicyEffect.DENY, null);
+
+    private final AccessPolicyRepository accessPolicyRepository;
+    private final DepartmentClosureRepository departmentClosureRepository;
+    private final UserService userService;
+    private final RoleCatalog roleCatalog;
+    private final RabbitTemplate rabbitTemplate;
+    private final int maxCachedDecisions;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<DecisionKey, Match> decisions = new ConcurrentHashMap<>();
+
+    private volatile CompiledPolicies compiled;
+
+    public PolicyEngine(AccessPolicyRepository accessPolicyRepository,
+                        DepartmentClosureRepository departmentClosureRepository,
+                        UserService userService,
+                        RoleCatalog roleCatalog,
+                        RabbitTemplate rabbitTemplate,
+                        @Value("${user.policies.decision-cache-size:100000}") int maxCachedDecisions) {
+        this.accessPolicyRepository = accessPolicyRepository;
+        this.departmentClosureRepository = departmentClosureRepository;
+        this.userService = userService;
+        this.roleCatalog = roleCatalog;
+        this.rabbitTemplate = rabbitTemplate;
+        this.maxCachedDecisions = maxCachedDecisions;
+    }
+
+    public DecisionResponse decide(DecisionRequest request) {
+        return decide(request, profileOf(request.getUserId()), current());
+    }
+
+    /**
+     * Decides every request against the same policy version, loading each distinct subject once.
+     * Results are in request order.
+     */
+    public List<DecisionResponse> decideAll(List<DecisionRequest> requests) {
+        CompiledPolicies policies = current();
+        Map<UUID, UserResponse> profiles = new HashMap<>();
+        List<DecisionResponse> responses = new ArrayList<>(requests.size());
+        for (DecisionRequest request : requests) {
+            UserResponse profile = profiles.computeIfAbsent(request.getUserId(), this::profileOf);
+            responses.add(decide(request, profile, policies));
+        }
+        return responses;
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Recompiles once the surrounding transaction commits, here and on every other instance.
+     */
+    public void invalidate() {
+        Runnable action = () -> {
+            recompile();
+            try {
+                rabbitTemplate.convertAndSend(
+                        RabbitMQConstants.EVENTS_EXCHANGE,
+                        RabbitMQConstants.ACCESS_POLICIES_CHANGED,
+                        AccessPoliciesChangedEvent.builder().originInstance(instanceId).build());
+            } catch (Exception e) {
+                log.warn("Failed to broadcast access policy change: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public void onPoliciesChanged(AccessPoliciesChangedEvent event) {
+        if (instanceId.equals(event.getOriginInstance())) {
+            return;
+        }
+        log.info("Access policies changed on another instance, recompiling");
+        recompile();
+    }
+
+    private DecisionResponse decide(DecisionRequest request, UserResponse profile, CompiledPolicies policies) {
+        DecisionResponse.DecisionResponseBuilder response = DecisionResponse.builder()
+                .userId(request.getUserId())
+                .action(request.getAction())
+                .resourceType(request.getResourceType())
+                .resourceId(request.getResourceId())
+                .policyVersion(policies.version());
+        if (profile == null) {
+            return response.allowed(false).reason("Unknown user").build();
+        }
+        if (!profile.isActive()) {
+            return response.allowed(false).reason("User is deactivated").build();
+        }
+
+        Set<String> roles = profile.getRoles() != null ? Set.copyOf(profile.getRoles()) : Set.of();
+        Map<String, String> attributes = request.getAttributes() != null ? request.getAttributes() : Map.of();
+        Group group = policies.groupFor(request.getAction(), request.getResourceType());
+        DecisionKey key = new DecisionKey(policies.version(), roleCatalog.version(),
+                roles,
+                group.usesDepartment() ? profile.getDepartmentId() : null,
+                request.getAction(), request.getResourceType(),
+                group.usesAttributes() ? Map.copyOf(attributes) : null);
+
+        Match match = decisions.get(key);
+        if (match == null) {
+            Subject subject = new Subject(profile.getId(), roles,
+                    roleCatalog.effectivePermissions(roles), profile.getDepartmentId());
+            Match decided = group.decide(subject, request.getAction(), attributes);
+            match = decided != null ? decided : NO_MATCH;
+            if (decisions.size() >= maxCachedDecisions) {
+                decisions.clear();
+            }
+            decisions.put(key, match);
+        }
+
+        if (match == NO_MATCH) {
+            return response.allowed(false).reason("No policy allows this action").build();
+        }
+        return response.allowed(match.effect() == PolicyEffect.ALLOW).policy(match.policyName()).build();
+    }
+
+    private UserResponse profileOf(UUID userId) {
+        try {
+            return userService.getUserById(userId);
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+    }
+
+    private CompiledPolicies current() {
+        CompiledPolicies current = compiled;
+        if (current == null) {
+            synchronized (this) {
+                current = compiled;
+                if (current == null) {
+                    current = recompile();
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized CompiledPolicies recompile() {
+        long started = System.currentTimeMillis();
+        CompiledPolicies rebuilt = CompiledPolicies.compile(versions.incrementAndGet(), accessPolicyRepository.findAll(),
+                departmentId -> Set.copyOf(departmentClosureRepository.findDescendantIds(departmentId)));
+        compiled = rebuilt;
+        decisions.clear();
+        log.info("Access policies v{} compiled into {} groups in {} ms",
+                rebuilt.version(), rebuilt.groupCount(), System.currentTimeMillis() - started);
+        return rebuilt;
+    }
+
+    private record DecisionKey(long policyVersion, long catalogVersion, Set<String> roles, UUID departmentId,
+                               String action, String resourceType, Map<String, String> attributes) {}
+}
@@ -0,0 +1,137 @@
+package com.iam.user.service;
+
+import com.iam.common.exception.ResourceConflictException;
+import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.PolicyRequest;
+import com.iam.user.dto.PolicyResponse;
+import com.iam.user.model.AccessPolicy;
+import com.iam.user.repository.AccessPolicyRepository;
+import com.iam.user.repository.DepartmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class PolicyService {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyService.class);
+
+    private final AccessPolicyRepository accessPolicyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final RoleCatalog roleCatalog;
+    private final PolicyEngine policyEngine;
+
+    public PolicyService(AccessPolicyRepository accessPolicyRepository,
+                         DepartmentRepository departmentRepository,
+                         RoleCatalog roleCatalog,
+                         PolicyEngine policyEngine) {
+        this.accessPolicyRepository = accessPolicyRepository;
+        this.departmentRepository = departmentRepository;
+        this.roleCatalog = roleCatalog;
+        this.policyEngine = policyEngine;
+    }
+
+    public List<PolicyResponse> getPolicies() {
+        return accessPolicyRepository.findAll().stream()
+                .sorted(Comparator.comparing(AccessPolicy::getName))
+                .map(this::toResponse)
+                .toList();
+    }
+
+    public PolicyResponse getPolicyById(UUID id) {
+        return toResponse(findById(id));
+    }
+
+    @Transactional
+    public PolicyResponse createPolicy(PolicyRequest request) {
+        if (accessPolicyRepository.existsByName(request.getName())) {
+            throw new ResourceConflictException("Policy '" + request.getName() + "' already exists");
+        }
+        AccessPolicy policy = new AccessPolicy();
+        apply(policy, request);
+        AccessPolicy saved = accessPolicyRepository.save(policy);
+        policyEngine.invalidate();
+        log.info("Access policy created: {}", saved.getName());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public PolicyResponse updatePolicy(UUID id, PolicyRequest request) {
+        AccessPolicy policy = findById(id);
+        if (!policy.getName().equals(request.getName()) && accessPolicyRepository.existsByName(request.getName())) {
+            throw new ResourceConflictException("Policy '" + request.getName() + "' already exists");
+        }
+        apply(policy, request);
+        AccessPolicy saved = accessPolicyRepository.save(policy);
+        policyEngine.invalidate();
+        log.info("Access policy updated: {}", saved.getName());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public void deletePolicy(UUID id) {
+        AccessPolicy policy = findById(id);
+        accessPolicyRepository.delete(policy);
+        policyEngine.invalidate();
+        log.info("Access policy deleted: {}", policy.getName());
+    }
+
+    private AccessPolicy findById(UUID id) {
+        return accessPolicyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Policy", "id", id.toString()));
+    }
+
+    private void apply(AccessPolicy policy, PolicyRequest request) {
+        Set<String> roles = request.getRoles() != null ? request.getRoles() : Set.of();
+        for (String role : roles) {
+            if (!roleCatalog.exists(role)) {
+                throw new ResourceNotFoundException("Role", "name", role);
+            }
+        }
+        if (request.getDepartmentId() != null && !departmentRepository.existsById(request.getDepartmentId())) {
+            throw new ResourceNotFoundException("Department", "id", request.getDepartmentId().toString());
+        }
+
+        policy.setName(request.getName());
+        policy.setDescription(request.getDescription());
+        policy.setEffect(request.getEffect());
+        policy.setAction(isBlank(request.getAction()) ? AccessPolicy.ANY : request.getAction());
+        policy.setResourceType(isBlank(request.getResourceType()) ? AccessPolicy.ANY : request.getResourceType());
+        policy.setRoles(roles.isEmpty() ? null : roles.toArray(String[]::new));
+        policy.setPermission(isBlank(request.getPermission()) ? null : request.getPermission());
+        policy.setDepartmentId(request.getDepartmentId());
+        policy.setIncludeSubDepartments(request.getIncludeSubDepartments() == null || request.getIncludeSubDepartments());
+        policy.setResourceAttributes(request.getResourceAttributes() == null || request.getResourceAttributes().isEmpty()
+                ? null
+                : Map.copyOf(request.getResourceAttributes()));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private PolicyResponse toResponse(AccessPolicy policy) {
+        return PolicyResponse.builder()
+                .id(policy.getId())
+                .name(policy.getName())
+                .description(policy.getDescription())
+                .effect(policy.getEffect())
+                .action(policy.getAction())
+                .resourceType(policy.getResourceType())
+                .roles(policy.getRoles() != null ? Set.of(policy.getRoles()) : Set.of())
+                .permission(policy.getPermission())
+                .departmentId(policy.getDepartmentId())
+                .includeSubDepartments(policy.isIncludeSubDepartments())
+                .resourceAttributes(policy.getResourceAttributes())
+                .createdAt(policy.getCreatedAt())
+                .updatedAt(policy.getUpdatedAt())
+                .build();
+    }
+}
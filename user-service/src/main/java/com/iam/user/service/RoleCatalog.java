@@ -0,0 +1,292 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.RoleCatalogChangedEvent;
+import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.PermissionResponse;
+import com.iam.user.dto.RoleResponse;
+import com.iam.user.model.Permission;
+import com.iam.user.model.Role;
+import com.iam.user.repository.PermissionRepository;
+import com.iam.user.repository.RoleRepository;
+import com.iam.user.repository.projection.RoleParentLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory snapshot of roles and permissions.
+ * <p>
+ * The catalog is small and changes rarely, so reads are served entirely from memory. A
+ * rebuild loads everything with two queries and swaps the snapshot reference in one write,
+ * so readers never see a half-built catalog. After a local rebuild the change is broadcast on
+ * {@code role.catalog.changed} so other instances rebuild too.
+ * <p>
+ * Role inheritance is resolved at build time: every role carries its effective permissions as
+ * a bitset (see {@link RoleGraph}), so {@link #effectivePermissions(Collection)} is one OR per
+ * role. A parent change only recomputes the roles below it.
+ * <p>
+ * For writes, {@link #reference(String)} hands out a JPA reference by ID, which does not
+ * query the database.
+ */
+@Service
+public class RoleCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleCatalog.class);
+
+    public static final String DEFAULT_ROLE = "USER";
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile Snapshot snapshot;
+
+    public RoleCatalog(RoleRepository roleRepository,
+                       PermissionRepository permissionRepository,
+                       RabbitTemplate rabbitTemplate) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public List<RoleResponse> getRoles() {
+        return current().roles();
+    }
+
+    public Optional<RoleResponse> findById(UUID id) {
+        return Optional.ofNullable(current().rolesById().get(id));
+    }
+
+    public Optional<RoleResponse> findByName(String name) {
+        return Optional.ofNullable(current().rolesByName().get(name));
+    }
+
+    public boolean exists(String roleName) {
+        return current().rolesByName().containsKey(roleName);
+    }
+
+    /**
+     * Own and inherited permissions of the role.
+     */
+    public Set<String> permissionsOf(String roleName) {
+        RoleResponse role = current().rolesByName().get(roleName);
+        return role != null ? role.getEffectivePermissions() : Set.of();
+    }
+
+    /**
+     * Union of the own and inherited permissions of the given roles; unknown names are ignored.
+     */
+    public Set<String> effectivePermissions(Collection<String> roleNames) {
+        Snapshot current = current();
+        List<UUID> roleIds = new ArrayList<>(roleNames.size());
+        for (String roleName : roleNames) {
+            RoleResponse role = current.rolesByName().get(roleName);
+            if (role != null) {
+                roleIds.add(role.getId());
+            }
+        }
+        return current.permissionNames(current.graph().union(roleIds));
+    }
+
+    public List<PermissionResponse> getPermissions() {
+        return current().permissions();
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Returns a reference to the named role for use in associations.
+     */
+    public Role reference(String roleName) {
+        return referenceIfPresent(roleName)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", roleName));
+    }
+
+    public Optional<Role> referenceIfPresent(String roleName) {
+        return findByName(roleName).map(role -> roleRepository.getReferenceById(role.getId()));
+    }
+
+    /**
+     * Reloads this instance and tells the others to do the same.
+     */
+    public void refreshAndBroadcast() {
+        broadcast(rebuild());
+    }
+
+    /**
+     * Applies a committed parent change to this instance, recomputing only the affected roles,
+     * and tells the other instances to reload.
+     */
+    public void applyParentsAndBroadcast(UUID roleId, Set<UUID> parentIds) {
+        Snapshot updated;
+        synchronized (this) {
+            Snapshot current = current();
+            updated = snapshotOf(current.version() + 1, current.baseRoles(), current.permissions(),
+                    current.graph().withParents(roleId, parentIds));
+            snapshot = updated;
+        }
+        log.info("Role catalog v{}: parents of role {} set to {}", updated.version(), roleId, parentIds);
+        broadcast(updated);
+    }
+
+    private void broadcast(Snapshot rebuilt) {
+        rabbitTemplate.convertAndSend(
+                RabbitMQConstants.EVENTS_EXCHANGE,
+                RabbitMQConstants.ROLE_CATALOG_CHANGED,
+                RoleCatalogChangedEvent.builder()
+                        .originInstance(instanceId)
+                        .version(rebuilt.version())
+                        .build());
+    }
+
+    public void onCatalogChanged(RoleCatalogChangedEvent event) {
+        if (instanceId.equals(event.getOriginInstance())) {
+            return;
+        }
+        log.info("Role catalog changed on another instance, rebuilding");
+        rebuild();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized Snapshot rebuild() {
+        List<RoleResponse> roles = roleRepository.findAllWithPermissions().stream()
+                .map(RoleCatalog::toResponse)
+                .sorted(Comparator.comparing(RoleResponse::getName))
+                .toList();
+        List<PermissionResponse> permissions = permissionRepository.findAll().stream()
+                .map(RoleCatalog::toResponse)
+                .sorted(Comparator.comparing(PermissionResponse::getName))
+                .toList();
+        Map<UUID, Set<UUID>> parents = new HashMap<>();
+        for (RoleParentLink link : roleRepository.findParentLinks()) {
+            parents.computeIfAbsent(link.roleId(), id -> new HashSet<>()).add(link.parentId());
+        }
+
+        Map<String, Integer> bitByPermission = new HashMap<>();
+        for (PermissionResponse permission : permissions) {
+            bitByPermission.put(permission.getName(), bitByPermission.size());
+        }
+        Map<UUID, long[]> direct = new HashMap<>();
+        for (RoleResponse role : roles) {
+            long[] bits = new long[RoleGraph.wordsFor(permissions.size())];
+            for (String permission : role.getPermissions()) {
+                int bit = bitByPermission.get(permission);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+            direct.put(role.getId(), bits);
+        }
+
+        long version = snapshot != null ? snapshot.version() + 1 : 1;
+        Snapshot rebuilt = snapshotOf(version, roles, permissions,
+                RoleGraph.build(permissions.size(), direct, parents));
+        snapshot = rebuilt;
+        log.info("Role catalog v{} loaded: {} roles, {} permissions, {} inheritance links",
+                version, roles.size(), permissions.size(), parents.values().stream().mapToInt(Set::size).sum());
+        return rebuilt;
+    }
+
+    private static Snapshot snapshotOf(long version, List<RoleResponse> baseRoles,
+                                       List<PermissionResponse> permissions, RoleGraph graph) {
+        String[] permissionNames = permissions.stream().map(PermissionResponse::getName).toArray(String[]::new);
+        Map<UUID, String> namesById = new HashMap<>();
+        for (RoleResponse role : baseRoles) {
+            namesById.put(role.getId(), role.getName());
+        }
+
+        List<RoleResponse> roles = new ArrayList<>(baseRoles.size());
+        Map<String, RoleResponse> byName = new LinkedHashMap<>();
+        Map<UUID, RoleResponse> byId = new LinkedHashMap<>();
+        for (RoleResponse base : baseRoles) {
+            RoleResponse role = base.toBuilder()
+                    .parents(graph.parentsOf(base.getId()).stream()
+                            .map(namesById::get)
+                            .collect(Collectors.toUnmodifiableSet()))
+                    .effectivePermissions(decode(permissionNames, graph.effective(base.getId())))
+                    .build();
+            roles.add(role);
+            byName.put(role.getName(), role);
+            byId.put(role.getId(), role);
+        }
+        return new Snapshot(version, List.copyOf(roles), Map.copyOf(byName), Map.copyOf(byId),
+                permissions, baseRoles, permissionNames, graph);
+    }
+
+    private static Set<String> decode(String[] permissionNames, long[] bits) {
+        Set<String> names = new TreeSet<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                names.add(permissionNames[(word << 6) + Long.numberOfTrailingZeros(remaining)]);
+                remaining &= remaining - 1;
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    private static RoleResponse toResponse(Role role) {
+        return RoleResponse.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .systemRole(role.isSystemRole())
+                .permissions(role.getPermissions().stream()
+                        .map(Permission::getName)
+                        .collect(Collectors.toUnmodifiableSet()))
+                .build();
+    }
+
+    private static PermissionResponse toResponse(Permission permission) {
+        return PermissionResponse.builder()
+                .id(permission.getId())
+                .name(permission.getName())
+                .description(permission.getDescription())
+                .category(permission.getCategory())
+                .build();
+    }
+
+    private record Snapshot(long version,
+                            List<RoleResponse> roles,
+                            Map<String, RoleResponse> rolesByName,
+                            Map<UUID, RoleResponse> rolesById,
+                            List<PermissionResponse> permissions,
+                            List<RoleResponse> baseRoles,
+                            String[] permissionBits,
+                            RoleGraph graph) {
+
+        Set<String> permissionNames(long[] bits) {
+            return decode(permissionBits, bits);
+        }
+    }
+}
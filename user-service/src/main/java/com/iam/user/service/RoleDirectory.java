@@ -0,0 +1,191 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.RoleMembersChangedEvent;
+import com.iam.user.dto.RoleMemberResponse;
+import com.iam.user.repository.UserRepository;
+import com.iam.user.repository.projection.RoleMemberRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached role → active members index for callers that only need IDs and emails, such as
+ * notification fan-out.
+ * <p>
+ * Each role is loaded on first use; several missing roles share one query. Membership changes
+ * evict the affected roles after commit and are broadcast on {@code role.members.changed} so
+ * other instances evict too. A load that races with an eviction is returned but not cached.
+ * <p>
+ * ETags are derived from content, so every instance computes the same tag for the same members.
+ */
+@Service
+public class RoleDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleDirectory.class);
+
+    private final UserRepository userRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Members> membersByRole = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RoleDirectory(UserRepository userRepository, RabbitTemplate rabbitTemplate) {
+        this.userRepository = userRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public Directory lookup(Collection<String> roleNames) {
+        SortedSet<String> names = new TreeSet<>(roleNames);
+        Map<String, Members> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Members members = membersByRole.get(name);
+            if (members != null) {
+                found.put(name, members);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(load(missing));
+        }
+
+        Map<UUID, RoleMemberResponse> merged = new LinkedHashMap<>();
+        StringBuilder fingerprint = new StringBuilder();
+        for (String name : names) {
+            Members members = found.get(name);
+            fingerprint.append(name).append('=').append(members.digest()).append(';');
+            for (RoleMemberRow row : members.rows()) {
+                merged.computeIfAbsent(row.userId(), id -> RoleMemberResponse.builder()
+                                .id(id)
+                                .email(row.email())
+                                .roles(new TreeSet<>())
+                                .build())
+                        .getRoles().add(name);
+            }
+        }
+        return new Directory(List.copyOf(merged.values()), '"' + digest(fingerprint.toString()) + '"');
+    }
+
+    /**
+     * Evicts the given roles once the surrounding transaction commits, here and on every other
+     * instance.
+     */
+    public void invalidate(Collection<String> roleNames) {
+        Set<String> names = Set.copyOf(roleNames);
+        if (names.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            evict(names);
+            broadcast(names);
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            evict(Set.of());
+            broadcast(Set.of());
+        });
+    }
+
+    public void onMembersChanged(RoleMembersChangedEvent event) {
+        if (instanceId.equals(event.getOriginInstance())) {
+            return;
+        }
+        evict(event.getRoleNames() != null ? event.getRoleNames() : Set.of());
+    }
+
+    private Map<String, Members> load(List<String> roleNames) {
+        long evictionsBefore = evictions.get();
+        Map<String, List<RoleMemberRow>> rowsByRole = new HashMap<>();
+        for (RoleMemberRow row : userRepository.findActiveMembersByRoleNames(roleNames)) {
+            rowsByRole.computeIfAbsent(row.roleName(), name -> new ArrayList<>()).add(row);
+        }
+
+        Map<String, Members> loaded = new HashMap<>();
+        for (String name : roleNames) {
+            List<RoleMemberRow> rows = List.copyOf(rowsByRole.getOrDefault(name, List.of()));
+            StringBuilder content = new StringBuilder();
+            for (RoleMemberRow row : rows) {
+                content.append(row.userId()).append(':').append(row.email()).append('\n');
+            }
+            loaded.put(name, new Members(rows, digest(content.toString())));
+        }
+        if (evictions.get() == evictionsBefore) {
+            membersByRole.putAll(loaded);
+        }
+        log.debug("Loaded role directory for {}", roleNames);
+        return loaded;
+    }
+
+    private void evict(Set<String> roleNames) {
+        evictions.incrementAndGet();
+        if (roleNames.isEmpty()) {
+            membersByRole.clear();
+        } else {
+            roleNames.forEach(membersByRole::remove);
+        }
+    }
+
+    private void broadcast(Set<String> roleNames) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConstants.EVENTS_EXCHANGE,
+                    RabbitMQConstants.ROLE_MEMBERS_CHANGED,
+                    RoleMembersChangedEvent.builder()
+                            .originInstance(instanceId)
+                            .roleNames(roleNames)
+                            .build());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast role membership change for {}: {}", roleNames, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String digest(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Members(List<RoleMemberRow> rows, String digest) {}
+
+    public record Directory(List<RoleMemberResponse> members, String etag) {}
+}
@@ -0,0 +1,233 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.RoleGrantScheduledEvent;
+import com.iam.common.events.UserEvent;
+import com.iam.user.dto.RoleResponse;
+import com.iam.user.repository.RoleGrantRepository;
+import com.iam.user.repository.RoleGrantRepository.Grant;
+import com.iam.user.repository.RoleGrantRepository.RevokedGrant;
+import com.iam.user.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes time-bound role assignments when they expire.
+ * <p>
+ * Every instance keeps all pending expiries in a {@link TimingWheel}, loaded from the database
+ * at startup and fed by local assignments and {@code role.grant.scheduled} broadcasts, so the
+ * table is never polled. The wheel advances once per second, but only the instance holding the
+ * {@code role-expiry} lease revokes what comes due; the others drop it. Each time the holder
+ * takes or renews the lease it also revokes everything already past due, which covers timers
+ * dropped while it was not leading and grants whose broadcast never reached it.
+ * <p>
+ * Each revocation is a single DELETE that only matches if the expiry is unchanged, then publishes
+ * {@code user.role-expired} for the audit trail and invalidates the role directory and the
+ * affected user profiles.
+ */
+@Service
+public class RoleExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleExpiryScheduler.class);
+
+    private static final String LEASE_NAME = "role-expiry";
+    private static final long TICK_MILLIS = 1000;
+
+    private final RoleGrantRepository roleGrantRepository;
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final RoleCatalog roleCatalog;
+    private final RoleDirectory roleDirectory;
+    private final UserProfileCache userProfileCache;
+    private final RabbitTemplate rabbitTemplate;
+    private final Duration leaseTtl;
+    private final long leaseRenewTicks;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("role-expiry").daemon().factory());
+
+    private TimingWheel<Grant> wheel;
+    private boolean leader;
+    private long ticksSinceRenewal;
+
+    public RoleExpiryScheduler(RoleGrantRepository roleGrantRepository,
+                               SchedulerLeaseRepository schedulerLeaseRepository,
+                               RoleCatalog roleCatalog,
+                               RoleDirectory roleDirectory,
+                               UserProfileCache userProfileCache,
+                               RabbitTemplate rabbitTemplate,
+                               @Value("${user.roles.expiry.lease-seconds:15}") long leaseSeconds) {
+        this.roleGrantRepository = roleGrantRepository;
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.roleCatalog = roleCatalog;
+        this.roleDirectory = roleDirectory;
+        this.userProfileCache = userProfileCache;
+        this.rabbitTemplate = rabbitTemplate;
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+        // Renew (or try to take over) at a third of the TTL so two missed renewals still keep the lease
+        this.leaseRenewTicks = Math.max(1, leaseSeconds * 1000 / TICK_MILLIS / 3);
+        this.ticksSinceRenewal = leaseRenewTicks;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(() -> {
+            wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+            List<Grant> grants = roleGrantRepository.findExpiring();
+            grants.forEach(this::add);
+            log.info("Role expiry scheduler started with {} pending grants", wheel.size());
+        });
+        executor.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        if (leader) {
+            schedulerLeaseRepository.release(LEASE_NAME, instanceId);
+        }
+    }
+
+    /**
+     * Schedules a grant written in the current transaction, on this and every other instance,
+     * once the transaction commits.
+     */
+    public void schedule(UUID userId, UUID roleId, LocalDateTime expiresAt) {
+        Grant grant = new Grant(userId, roleId, expiresAt);
+        Runnable publish = () -> {
+            executor.execute(() -> add(grant));
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConstants.EVENTS_EXCHANGE,
+                    RabbitMQConstants.ROLE_GRANT_SCHEDULED,
+                    RoleGrantScheduledEvent.builder()
+                            .originInstance(instanceId)
+                            .userId(userId)
+                            .roleId(roleId)
+                            .expiresAt(expiresAt)
+                            .build());
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    public void onGrantScheduled(RoleGrantScheduledEvent event) {
+        if (instanceId.equals(event.getOriginInstance())) {
+            return;
+        }
+        Grant grant = new Grant(event.getUserId(), event.getRoleId(), event.getExpiresAt());
+        executor.execute(() -> add(grant));
+    }
+
+    // Runs on the executor thread only, which is what makes the wheel and leader flag safe
+    private void add(Grant grant) {
+        if (wheel == null) {
+            return;
+        }
+        long dueMillis = grant.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.add(dueMillis, grant) && leader) {
+            revoke(grant);
+        }
+    }
+
+    private void tick() {
+        try {
+            if (wheel == null) {
+                return;
+            }
+            if (++ticksSinceRenewal >= leaseRenewTicks) {
+                updateLease();
+            }
+            List<Grant> due = wheel.advance(System.currentTimeMillis());
+            if (leader) {
+                due.forEach(this::revoke);
+            }
+        } catch (Exception e) {
+            log.warn("Role expiry tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void updateLease() {
+        ticksSinceRenewal = 0;
+        boolean acquired;
+        try {
+            acquired = schedulerLeaseRepository.tryAcquire(LEASE_NAME, instanceId, leaseTtl);
+        } catch (Exception e) {
+            log.warn("Could not renew role expiry lease: {}", e.getMessage());
+            acquired = false;
+        }
+        if (acquired) {
+            if (!leader) {
+                log.info("Acquired role expiry lease");
+                leader = true;
+            }
+            // Cheap on idx_user_roles_expires; the wheel only knows the grants it was told about
+            List<RevokedGrant> revoked = roleGrantRepository.revokeExpired(LocalDateTime.now());
+            publish(revoked);
+            if (!revoked.isEmpty()) {
+                log.info("Revoked {} role assignments that were already past due", revoked.size());
+            }
+        } else if (leader) {
+            log.info("Lost role expiry lease");
+            leader = false;
+        }
+    }
+
+    private void revoke(Grant grant) {
+        try {
+            publish(roleGrantRepository.revoke(grant));
+        } catch (Exception e) {
+            // The row keeps its expiry, so the next lease holder's catch-up revokes it
+            log.error("Failed to revoke expired role {} of user {}: {}", grant.roleId(), grant.userId(), e.getMessage());
+        }
+    }
+
+    private void publish(List<RevokedGrant> revoked) {
+        Set<String> roleNames = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        for (RevokedGrant grant : revoked) {
+            String roleName = roleCatalog.findById(grant.roleId()).map(RoleResponse::getName).orElse(null);
+            if (roleName != null) {
+                roleNames.add(roleName);
+            }
+            userIds.add(grant.userId());
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConstants.EVENTS_EXCHANGE,
+                    RabbitMQConstants.USER_ROLE_EXPIRED,
+                    UserEvent.builder()
+                            .userId(grant.userId())
+                            .email(grant.email())
+                            .action("ROLE_EXPIRED")
+                            .roleName(roleName)
+                            .build());
+            log.info("Role {} of user {} expired and was revoked", roleName, grant.email());
+        }
+        roleDirectory.invalidate(roleNames);
+        userProfileCache.invalidate(userIds);
+    }
+}
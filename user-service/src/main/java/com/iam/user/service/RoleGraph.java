@@ -0,0 +1,206 @@
+package com.iam.user.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Role inheritance graph with every role's effective permissions precomputed as a bitset.
+ * <p>
+ * Bit {@code i} stands for the {@code i}-th permission of the catalog. A role's effective set is
+ * its own bits OR'ed with the effective sets of its parents, computed once in topological order,
+ * so resolving a user costs one OR per assigned role however deep the hierarchy is.
+ * <p>
+ * Instances are immutable. {@link #withParents(UUID, Set)} returns a copy in which only the
+ * re-parented role and the roles inheriting from it are recomputed.
+ */
+final class RoleGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleGraph.class);
+
+    private final int words;
+    private final Map<UUID, Set<UUID>> parents;
+    private final Map<UUID, Set<UUID>> children;
+    private final Map<UUID, long[]> direct;
+    private final Map<UUID, long[]> effective;
+
+    private RoleGraph(int words, Map<UUID, Set<UUID>> parents, Map<UUID, Set<UUID>> children,
+                      Map<UUID, long[]> direct, Map<UUID, long[]> effective) {
+        this.words = words;
+        this.parents = parents;
+        this.children = children;
+        this.direct = direct;
+        this.effective = effective;
+    }
+
+    /**
+     * @param direct  each role's own permission bits; its key set is the set of roles
+     * @param parents direct parents per role; links to unknown roles are ignored
+     */
+    static RoleGraph build(int permissionCount, Map<UUID, long[]> direct, Map<UUID, Set<UUID>> parents) {
+        Map<UUID, Set<UUID>> parentsByRole = new HashMap<>();
+        Map<UUID, Set<UUID>> childrenByRole = new HashMap<>();
+        for (UUID role : direct.keySet()) {
+            for (UUID parent : parents.getOrDefault(role, Set.of())) {
+                if (direct.containsKey(parent)) {
+                    parentsByRole.computeIfAbsent(role, id -> new HashSet<>()).add(parent);
+                    childrenByRole.computeIfAbsent(parent, id -> new HashSet<>()).add(role);
+                }
+            }
+        }
+        RoleGraph graph = new RoleGraph(wordsFor(permissionCount), parentsByRole, childrenByRole,
+                Map.copyOf(direct), new HashMap<>());
+        graph.recompute(direct.keySet());
+        return graph;
+    }
+
+    static int wordsFor(int permissionCount) {
+        return (permissionCount + 63) >>> 6;
+    }
+
+    long[] effective(UUID role) {
+        long[] bits = effective.get(role);
+        return bits != null ? bits : new long[words];
+    }
+
+    Set<UUID> parentsOf(UUID role) {
+        return parents.getOrDefault(role, Set.of());
+    }
+
+    /**
+     * OR of the effective sets of the given roles.
+     */
+    long[] union(Collection<UUID> roles) {
+        long[] bits = new long[words];
+        for (UUID role : roles) {
+            long[] roleBits = effective.get(role);
+            if (roleBits != null) {
+                for (int i = 0; i < words; i++) {
+                    bits[i] |= roleBits[i];
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Copy of this graph with the role's parents replaced. Callers must have ruled out cycles with
+     * {@link #createsCycle(Map, UUID, Collection)}.
+     */
+    RoleGraph withParents(UUID role, Set<UUID> newParents) {
+        Map<UUID, Set<UUID>> parentsByRole = new HashMap<>(parents);
+        Map<UUID, Set<UUID>> childrenByRole = new HashMap<>(children);
+        for (UUID old : parentsOf(role)) {
+            Set<UUID> siblings = new HashSet<>(childrenByRole.get(old));
+            siblings.remove(role);
+            childrenByRole.put(old, siblings);
+        }
+        Set<UUID> known = new HashSet<>();
+        for (UUID parent : newParents) {
+            if (direct.containsKey(parent)) {
+                known.add(parent);
+                Set<UUID> siblings = new HashSet<>(childrenByRole.getOrDefault(parent, Set.of()));
+                siblings.add(role);
+                childrenByRole.put(parent, siblings);
+            }
+        }
+        parentsByRole.put(role, known);
+
+        RoleGraph updated = new RoleGraph(words, parentsByRole, childrenByRole, direct, new HashMap<>(effective));
+        updated.recompute(updated.descendantsOf(role));
+        return updated;
+    }
+
+    /**
+     * Whether making {@code parentIds} the parents of {@code role} would close a cycle, i.e. whether
+     * {@code role} is one of them or already an ancestor of one of them.
+     */
+    static boolean createsCycle(Map<UUID, Set<UUID>> parents, UUID role, Collection<UUID> parentIds) {
+        Deque<UUID> pending = new ArrayDeque<>(parentIds);
+        Set<UUID> seen = new HashSet<>();
+        while (!pending.isEmpty()) {
+            UUID current = pending.pop();
+            if (current.equals(role)) {
+                return true;
+            }
+            if (seen.add(current)) {
+                pending.addAll(parents.getOrDefault(current, Set.of()));
+            }
+        }
+        return false;
+    }
+
+    // The role itself plus every role inheriting from it, directly or not
+    private Set<UUID> descendantsOf(UUID role) {
+        Set<UUID> found = new HashSet<>();
+        Deque<UUID> pending = new ArrayDeque<>();
+        pending.push(role);
+        while (!pending.isEmpty()) {
+            UUID current = pending.pop();
+            if (found.add(current)) {
+                pending.addAll(children.getOrDefault(current, Set.of()));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Recomputes the effective sets of {@code affected} in topological order (Kahn). Parents
+     * outside the set are already final. Roles left over sit on a cycle that was written to the
+     * database directly; they keep only their own permissions rather than failing the catalog.
+     */
+    private void recompute(Set<UUID> affected) {
+        Map<UUID, Integer> pendingParents = new HashMap<>();
+        Deque<UUID> ready = new ArrayDeque<>();
+        for (UUID role : affected) {
+            int count = 0;
+            for (UUID parent : parentsOf(role)) {
+                if (affected.contains(parent)) {
+                    count++;
+                }
+            }
+            pendingParents.put(role, count);
+            if (count == 0) {
+                ready.add(role);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            UUID role = ready.poll();
+            long[] bits = direct.get(role).clone();
+            for (UUID parent : parentsOf(role)) {
+                long[] parentBits = effective.get(parent);
+                for (int i = 0; i < words; i++) {
+                    bits[i] |= parentBits[i];
+                }
+            }
+            effective.put(role, bits);
+            pendingParents.remove(role);
+            for (UUID child : children.getOrDefault(role, Set.of())) {
+                Integer remaining = pendingParents.get(child);
+                if (remaining != null) {
+                    pendingParents.put(child, remaining - 1);
+                    if (remaining == 1) {
+                        ready.add(child);
+                    }
+                }
+            }
+        }
+
+        if (!pendingParents.isEmpty()) {
+            log.error("Role hierarchy contains a cycle through roles {}; their inherited permissions are ignored",
+                    pendingParents.keySet());
+            for (UUID role : pendingParents.keySet()) {
+                effective.put(role, direct.get(role).clone());
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.iam.user.service;
+
+import com.iam.common.exception.ResourceConflictException;
+import com.iam.common.exception.ResourceNotFoundException;
+import com.iam.user.dto.RoleResponse;
+import com.iam.user.model.Role;
+import com.iam.user.repository.RoleRepository;
+import com.iam.user.repository.projection.RoleParentLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class RoleHierarchyService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleHierarchyService.class);
+
+    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
+
+    public RoleHierarchyService(RoleRepository roleRepository, RoleCatalog roleCatalog) {
+        this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
+    }
+
+    /**
+     * Replaces the role's parents. The cycle check runs against the links in the database under
+     * a hierarchy-wide lock, not against this instance's catalog, which may be behind.
+     */
+    @Transactional
+    public void setParents(UUID roleId, Set<String> parentNames) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId.toString()));
+
+        Set<UUID> parentIds = new HashSet<>();
+        for (String parentName : parentNames) {
+            RoleResponse parent = roleCatalog.findByName(parentName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Role", "name", parentName));
+            parentIds.add(parent.getId());
+        }
+
+        roleRepository.lockHierarchy();
+        Map<UUID, Set<UUID>> links = new HashMap<>();
+        for (RoleParentLink link : roleRepository.findParentLinks()) {
+            links.computeIfAbsent(link.roleId(), id -> new HashSet<>()).add(link.parentId());
+        }
+        links.remove(roleId);
+        if (RoleGraph.createsCycle(links, roleId, parentIds)) {
+            throw new ResourceConflictException(
+                    "Role '" + role.getName() + "' cannot inherit from itself or from a role that inherits from it");
+        }
+
+        role.getParents().clear();
+        for (UUID parentId : parentIds) {
+            role.getParents().add(roleRepository.getReferenceById(parentId));
+        }
+        roleRepository.save(role);
+        log.info("Role {} now inherits from {}", role.getName(), parentNames);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roleCatalog.applyParentsAndBroadcast(roleId, Set.copyOf(parentIds));
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.iam.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, where a slot at
+ * level {@code L} spans {@code SLOTS^L} ticks. A timer goes to the lowest level whose slot still
+ * lies in the same rotation as the current tick, and is cascaded one level down when the wheel
+ * reaches the start of its slot. Adding a timer and firing it are O(1) however many timers are
+ * pending, and each timer is cascaded at most {@code LEVELS - 1} times.
+ * <p>
+ * With a one-second tick the wheel spans {@code 64^5} seconds, about 34 years. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private static final int LEVELS = 5;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final List<List<Timer<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules {@code value} for {@code dueMillis}.
+     *
+     * @return false if the time is already past, in which case the caller should fire it now
+     */
+    boolean add(long dueMillis, T value) {
+        long dueTick = Math.max(dueMillis / tickMillis, 0);
+        if (dueTick < currentTick) {
+            return false;
+        }
+        place(new Timer<>(dueTick, value));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the timers that came due, oldest first.
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick <= targetTick) {
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            List<Timer<T>> slot = slots.get(slotIndex(0, currentTick));
+            for (Timer<T> timer : slot) {
+                due.add(timer.value());
+            }
+            size -= slot.size();
+            slot.clear();
+            currentTick++;
+        }
+        return due;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        List<Timer<T>> slot = slots.get(slotIndex(level, currentTick));
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer<T> timer : timers) {
+            place(timer);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        int level = 0;
+        while (level < LEVELS - 1
+                && (timer.dueTick() >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        slots.get(slotIndex(level, timer.dueTick())).add(timer);
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Timer<T>(long dueTick, T value) {}
+}
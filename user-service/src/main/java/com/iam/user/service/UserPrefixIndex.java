@@ -0,0 +1,181 @@
+package com.iam.user.service;
+
+import com.iam.user.dto.UserSearchResponse;
+import com.iam.user.repository.UserSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory prefix index over active users for autocomplete.
+ * <p>
+ * Email, first name, last name and "first last" are lower-cased into one sorted array of keys.
+ * A lookup binary-searches the first key at or after the prefix and walks forward while keys
+ * still match, so it never touches the database.
+ * <p>
+ * Local writes mark the index stale. Other instances' writes are picked up by the periodic
+ * refresh. Rebuilds run in the background while reads keep using the previous snapshot. Above
+ * {@code user.search.prefix-index.max-users} the index is not built and callers fall back to the
+ * trigram search.
+ */
+@Service
+public class UserPrefixIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPrefixIndex.class);
+
+    private final UserSearchRepository userSearchRepository;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final long refreshMillis;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public UserPrefixIndex(UserSearchRepository userSearchRepository,
+                           @Value("${user.search.prefix-index.enabled:true}") boolean enabled,
+                           @Value("${user.search.prefix-index.max-users:200000}") int maxUsers,
+                           @Value("${user.search.prefix-index.refresh-seconds:60}") long refreshSeconds) {
+        this.userSearchRepository = userSearchRepository;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.refreshMillis = refreshSeconds * 1000;
+    }
+
+    /**
+     * Returns up to {@code limit} users with a key starting with {@code prefix} (lower-cased), or
+     * empty if the index is unavailable.
+     */
+    public Optional<List<UserSearchResponse>> lookup(String prefix, int limit) {
+        Snapshot current = current();
+        if (current == null || current.tooLarge()) {
+            return Optional.empty();
+        }
+
+        int start = lowerBound(current.keys(), prefix);
+        Set<Integer> matched = new LinkedHashSet<>();
+        for (int i = start; i < current.keys().length && matched.size() < limit; i++) {
+            if (!current.keys()[i].startsWith(prefix)) {
+                break;
+            }
+            matched.add(current.owners()[i]);
+        }
+
+        List<UserSearchResponse> results = new ArrayList<>(matched.size());
+        for (int owner : matched) {
+            results.add(current.users()[owner]);
+        }
+        return Optional.of(results);
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    private Snapshot current() {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        } else if ((stale || System.currentTimeMillis() - current.builtAt() > refreshMillis)
+                && rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("user-prefix-index").start(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.warn("Failed to rebuild user prefix index: {}", e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    private Snapshot rebuild() {
+        stale = false;
+        long started = System.currentTimeMillis();
+        List<UserSearchResponse> users = new ArrayList<>();
+        List<Key> keys = new ArrayList<>();
+        boolean[] tooLarge = {false};
+
+        userSearchRepository.forEachActiveUser(rs -> {
+            if (users.size() >= maxUsers) {
+                tooLarge[0] = true;
+                return;
+            }
+            UserSearchResponse user = UserSearchResponse.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .email(rs.getString("email"))
+                    .firstName(rs.getString("first_name"))
+                    .lastName(rs.getString("last_name"))
+                    .build();
+            int owner = users.size();
+            users.add(user);
+            keys.add(new Key(normalize(user.getEmail()), owner));
+            keys.add(new Key(normalize(user.getFirstName()), owner));
+            keys.add(new Key(normalize(user.getLastName()), owner));
+            keys.add(new Key(normalize(user.getFirstName() + " " + user.getLastName()), owner));
+        });
+
+        Snapshot rebuilt;
+        if (tooLarge[0]) {
+            log.warn("More than {} active users, prefix index disabled; autocomplete uses trigram search", maxUsers);
+            rebuilt = new Snapshot(new String[0], new int[0], new UserSearchResponse[0], true, started);
+        } else {
+            keys.sort(Comparator.comparing(Key::value));
+            String[] sortedKeys = new String[keys.size()];
+            int[] owners = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                sortedKeys[i] = keys.get(i).value();
+                owners[i] = keys.get(i).owner();
+            }
+            rebuilt = new Snapshot(sortedKeys, owners, users.toArray(UserSearchResponse[]::new), false, started);
+            log.debug("User prefix index built: {} users, {} keys in {} ms",
+                    users.size(), sortedKeys.length, System.currentTimeMillis() - started);
+        }
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    // First index whose key is >= target; keys repeat, so Arrays.binarySearch could land mid-run
+    private static int lowerBound(String[] keys, String target) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String value, int owner) {}
+
+    private record Snapshot(String[] keys, int[] owners, UserSearchResponse[] users, boolean tooLarge, long builtAt) {}
+}
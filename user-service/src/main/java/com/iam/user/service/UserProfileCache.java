@@ -0,0 +1,196 @@
+package com.iam.user.service;
+
+import com.iam.common.config.RabbitMQConstants;
+import com.iam.common.events.UserProfilesChangedEvent;
+import com.iam.user.dto.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of {@link UserResponse} by user ID, in front of
+ * {@code GET /api/v1/users/{id}}, which auth-service calls on every login and token refresh.
+ * <p>
+ * Entries are evicted after the transaction that changed the user commits, here and, through
+ * {@code user.profiles.changed}, on every other instance. The least recently read entry goes
+ * once {@code user.profile-cache.max-size} is reached, and every entry expires after
+ * {@code user.profile-cache.ttl-seconds} as a backstop for a missed broadcast. A load that
+ * overlaps an eviction is returned but not cached, so it cannot put back a stale profile.
+ * <p>
+ * Hits and misses are counted in {@code user.profile.cache.requests}, tagged by result, and
+ * {@code user.profile.cache.hit.ratio} gives the ratio since startup.
+ */
+@Service
+public class UserProfileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileCache.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<UUID, Entry> entries;
+
+    public UserProfileCache(RabbitTemplate rabbitTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.profile-cache.enabled:true}") boolean enabled,
+                            @Value("${user.profile-cache.max-size:10000}") int maxSize,
+                            @Value("${user.profile-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("user.profile.cache.requests")
+                .tag("result", "hit")
+                .description("User profile lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("user.profile.cache.requests")
+                .tag("result", "miss")
+                .description("User profile lookups that went to the database")
+                .register(meterRegistry);
+        Gauge.builder("user.profile.cache.hit.ratio", this, UserProfileCache::hitRatio)
+                .description("Share of user profile lookups served from the cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("user.profile.cache.size", this, UserProfileCache::size)
+                .description("Cached user profiles")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.profile.cache.evictions", evictions, AtomicLong::get)
+                .description("Invalidations applied to the user profile cache")
+                .register(meterRegistry);
+    }
+
+    public UserResponse get(UUID userId, Supplier<UserResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(userId);
+        }
+        if (cached != null && now - cached.loadedAt() <= ttlMillis) {
+            hits.increment();
+            return cached.profile();
+        }
+
+        misses.increment();
+        long evictionsBefore = evictions.get();
+        UserResponse loaded = loader.get();
+        synchronized (entries) {
+            if (evictions.get() == evictionsBefore) {
+                entries.put(userId, new Entry(loaded, now));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the given users once the surrounding transaction commits, here and on every other
+     * instance.
+     */
+    public void invalidate(Collection<UUID> userIds) {
+        Set<UUID> ids = Set.copyOf(userIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            evict(ids);
+            broadcast(ids);
+        });
+    }
+
+    public void invalidate(UUID userId) {
+        invalidate(Set.of(userId));
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            evict(Set.of());
+            broadcast(Set.of());
+        });
+    }
+
+    public void onProfilesChanged(UserProfilesChangedEvent event) {
+        if (instanceId.equals(event.getOriginInstance())) {
+            return;
+        }
+        evict(event.getUserIds() != null ? event.getUserIds() : Set.of());
+    }
+
+    private void evict(Set<UUID> userIds) {
+        evictions.incrementAndGet();
+        synchronized (entries) {
+            if (userIds.isEmpty()) {
+                entries.clear();
+            } else {
+                userIds.forEach(entries::remove);
+            }
+        }
+    }
+
+    private void broadcast(Set<UUID> userIds) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConstants.EVENTS_EXCHANGE,
+                    RabbitMQConstants.USER_PROFILES_CHANGED,
+                    UserProfilesChangedEvent.builder()
+                            .originInstance(instanceId)
+                            .userIds(userIds)
+                            .build());
+        } catch (Exception e) {
+            // Other instances fall back to the TTL
+            log.warn("Failed to broadcast profile change for {} users: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(UserResponse profile, long loadedAt) {}
+}
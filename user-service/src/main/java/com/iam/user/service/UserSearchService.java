@@ -0,0 +1,93 @@
+package com.iam.user.service;
+
+import com.iam.common.dto.PageCursor;
+import com.iam.common.dto.PagedResponse;
+import com.iam.common.exception.BaseException;
+import com.iam.user.dto.UserSearchResponse;
+import com.iam.user.repository.UserSearchRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class UserSearchService {
+
+    public static final int MIN_QUERY_LENGTH = 2;
+    public static final int MAX_AUTOCOMPLETE_RESULTS = 20;
+
+    private final UserSearchRepository userSearchRepository;
+    private final UserPrefixIndex userPrefixIndex;
+
+    public UserSearchService(UserSearchRepository userSearchRepository, UserPrefixIndex userPrefixIndex) {
+        this.userSearchRepository = userSearchRepository;
+        this.userPrefixIndex = userPrefixIndex;
+    }
+
+    /**
+     * Ranked partial-match search, paged by an opaque {@code (score, id)} cursor.
+     */
+    public PagedResponse<UserSearchResponse> search(String query, String cursorToken, int size) {
+        String normalized = requireQuery(query);
+        int pageSize = PageCursor.pageSize(size);
+        SearchCursor cursor = SearchCursor.decode(cursorToken);
+        List<UserSearchResponse> rows = cursor == null
+                ? userSearchRepository.search(normalized, pageSize + 1)
+                : userSearchRepository.searchAfter(normalized, cursor.score(), cursor.id(), pageSize + 1);
+
+        boolean last = rows.size() <= pageSize;
+        List<UserSearchResponse> content = last ? rows : rows.subList(0, pageSize);
+        UserSearchResponse tail = content.isEmpty() ? null : content.get(content.size() - 1);
+        return PagedResponse.<UserSearchResponse>builder()
+                .content(List.copyOf(content))
+                .size(pageSize)
+                .last(last)
+                .nextCursor(last || tail == null ? null : new SearchCursor(tail.getScore(), tail.getId()).encode())
+                .build();
+    }
+
+    /**
+     * Top prefix matches from the in-memory index, or from the trigram search when the index is
+     * disabled or too large.
+     */
+    public List<UserSearchResponse> autocomplete(String prefix, int limit) {
+        String normalized = requireQuery(prefix);
+        int max = Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_RESULTS));
+        return userPrefixIndex.lookup(normalized, max)
+                .orElseGet(() -> userSearchRepository.search(normalized, max));
+    }
+
+    private static String requireQuery(String query) {
+        String normalized = UserPrefixIndex.normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new BaseException("Search query must be at least " + MIN_QUERY_LENGTH + " characters",
+                    HttpStatus.BAD_REQUEST);
+        }
+        return normalized;
+    }
+
+    private record SearchCursor(float score, UUID id) {
+
+        String encode() {
+            String raw = Float.toString(score) + '|' + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new SearchCursor(Float.parseFloat(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new BaseException("Invalid page cursor", HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+}
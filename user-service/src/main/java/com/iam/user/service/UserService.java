@@ -1,5 +1,9 @@
 package com.iam.user.service;
 
+import com.iam.common.dto.PageCursor;
+import com.iam.common.dto.PagedResponse;
+import com.iam.common.events.UserEvent;
+import com.iam.common.exception.BaseException;
 import com.iam.common.exception.ResourceConflictException;
 import com.iam.common.exception.ResourceNotFoundException;
 import com.iam.user.dto.CreateUserRequest;
@@ -9,16 +13,31 @@ import com.iam.user.model.Department;
 import com.iam.user.model.Role;
 import com.iam.user.model.User;
 import com.iam.user.repository.DepartmentRepository;
-import com.iam.user.repository.RoleRepository;
+import com.iam.user.repository.RoleGrantRepository;
+import com.iam.user.repository.UserBulkWriter;
 import com.iam.user.repository.UserRepository;
+import com.iam.user.repository.projection.UserRoleName;
+import com.iam.user.repository.projection.UserRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,29 +47,81 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
+    private final RoleDirectory roleDirectory;
+    private final UserPrefixIndex userPrefixIndex;
     private final DepartmentRepository departmentRepository;
+    private final UserBulkWriter userBulkWriter;
+    private final RoleGrantRepository roleGrantRepository;
+    private final RoleExpiryScheduler roleExpiryScheduler;
+    private final UserProfileCache userProfileCache;
+    private final Duration maxGrantDuration;
 
     public UserService(UserRepository userRepository,
-                       RoleRepository roleRepository,
-                       DepartmentRepository departmentRepository) {
+                       RoleCatalog roleCatalog,
+                       RoleDirectory roleDirectory,
+                       UserPrefixIndex userPrefixIndex,
+                       DepartmentRepository departmentRepository,
+                       UserBulkWriter userBulkWriter,
+                       RoleGrantRepository roleGrantRepository,
+                       RoleExpiryScheduler roleExpiryScheduler,
+                       UserProfileCache userProfileCache,
+                       @Value("${user.roles.expiry.max-duration-days:365}") long maxGrantDays) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCatalog = roleCatalog;
+        this.roleDirectory = roleDirectory;
+        this.userPrefixIndex = userPrefixIndex;
         this.departmentRepository = departmentRepository;
+        this.userBulkWriter = userBulkWriter;
+        this.roleGrantRepository = roleGrantRepository;
+        this.roleExpiryScheduler = roleExpiryScheduler;
+        this.userProfileCache = userProfileCache;
+        this.maxGrantDuration = Duration.ofDays(maxGrantDays);
     }
 
     public List<UserResponse> getUsersByRole(String roleName) {
-        return userRepository.findByRoleNameAndActiveTrue(roleName).stream()
-                .map(this::toResponse)
-                .toList();
+        return toResponses(userRepository.findActiveRowsByRoleName(roleName));
     }
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
-        return userRepository.findAllActive(pageable).map(this::toResponse);
+        return toResponsePage(userRepository.findActiveRows(pageable));
+    }
+
+    public PagedResponse<UserResponse> getAllUsers(String cursorToken, int size) {
+        PageCursor cursor = PageCursor.decode(cursorToken);
+        int pageSize = PageCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<UserRow> rows = cursor == null
+                ? userRepository.findLatestActiveRows(limit)
+                : userRepository.findLatestActiveRowsAfter(cursor.sortKey(), cursor.id(), limit);
+        return PagedResponse.ofCursor(toResponses(rows), pageSize,
+                user -> new PageCursor(user.getCreatedAt(), user.getId()));
+    }
+
+    public Page<UserResponse> getUsersByDepartment(UUID departmentId, Pageable pageable) {
+        return toResponsePage(userRepository.findRowsByDepartmentId(departmentId, pageable));
+    }
+
+    /**
+     * Active users in the department or any of its sub-departments, via one closure-table join.
+     */
+    public Page<UserResponse> getUsersInDepartmentTree(UUID departmentId, Pageable pageable) {
+        return toResponsePage(userRepository.findActiveRowsInDepartmentTree(departmentId, pageable));
     }
 
     public UserResponse getUserById(UUID id) {
-        return toResponse(findById(id));
+        return userProfileCache.get(id, () -> toResponse(findById(id)));
+    }
+
+    /**
+     * Own and inherited permissions of all the user's roles, resolved from the role catalog.
+     */
+    public Set<String> getEffectivePermissions(UUID id) {
+        List<UserRoleName> roles = userRepository.findRoleNames(List.of(id));
+        if (roles.isEmpty() && !userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User", "id", id.toString());
+        }
+        return roleCatalog.effectivePermissions(roles.stream().map(UserRoleName::roleName).toList());
     }
 
     public UserResponse getUserByEmail(String email) {
@@ -80,14 +151,14 @@ public class UserService {
         }
 
         if (request.getRoleName() != null && !request.getRoleName().isBlank()) {
-            Role role = roleRepository.findByName(request.getRoleName())
-                    .orElseThrow(() -> new ResourceNotFoundException("Role", "name", request.getRoleName()));
-            user.getRoles().add(role);
+            user.getRoles().add(roleCatalog.reference(request.getRoleName()));
         } else {
-            roleRepository.findByName("USER").ifPresent(role -> user.getRoles().add(role));
+            roleCatalog.referenceIfPresent(RoleCatalog.DEFAULT_ROLE).ifPresent(role -> user.getRoles().add(role));
         }
 
         User saved = userRepository.save(user);
+        roleDirectory.invalidate(roleNames(saved));
+        userPrefixIndex.markStale();
         log.info("User created: {}", saved.getEmail());
         return toResponse(saved);
     }
@@ -108,14 +179,14 @@ public class UserService {
                 .build();
 
         if (roleName != null && !roleName.isBlank()) {
-            roleRepository.findByName(roleName).ifPresentOrElse(
+            roleCatalog.referenceIfPresent(roleName).ifPresentOrElse(
                     role -> user.getRoles().add(role),
                     () -> {
                         log.warn("Role '{}' not found, falling back to USER", roleName);
-                        roleRepository.findByName("USER").ifPresent(r -> user.getRoles().add(r));
+                        roleCatalog.referenceIfPresent(RoleCatalog.DEFAULT_ROLE).ifPresent(r -> user.getRoles().add(r));
                     });
         } else {
-            roleRepository.findByName("USER").ifPresent(role -> user.getRoles().add(role));
+            roleCatalog.referenceIfPresent(RoleCatalog.DEFAULT_ROLE).ifPresent(role -> user.getRoles().add(role));
         }
 
         if (departmentId != null && !departmentId.isBlank()) {
@@ -125,10 +196,66 @@ public class UserService {
         }
 
         User saved = userRepository.save(user);
+        roleDirectory.invalidate(roleNames(saved));
+        userPrefixIndex.markStale();
         log.info("User synced from auth-service: {} (role={}, dept={})", saved.getEmail(), roleName, departmentId);
         return toResponse(saved);
     }
 
+    /**
+     * Batch counterpart of {@link #createUserFromEvent}. Roles come from the in-memory catalog and
+     * departments are checked with one query, then users and their roles are written with one
+     * multi-row {@code INSERT ... ON CONFLICT DO NOTHING} each. Users that already exist (by ID
+     * or email) are skipped by the database. Returns the number of users created.
+     */
+    @Transactional
+    public int createUsersFromBatch(List<UserEvent> events) {
+        Set<UUID> departmentIds = new HashSet<>(departmentRepository.findExistingIds(events.stream()
+                .map(UserEvent::getDepartmentId)
+                .filter(id -> id != null && !id.isBlank())
+                .map(UUID::fromString)
+                .collect(Collectors.toSet())));
+
+        List<UserBulkWriter.NewUser> users = new ArrayList<>(events.size());
+        Map<UUID, String> roleByUser = new HashMap<>();
+        for (UserEvent event : events) {
+            UUID departmentId = event.getDepartmentId() == null || event.getDepartmentId().isBlank()
+                    ? null
+                    : UUID.fromString(event.getDepartmentId());
+            if (departmentId != null && !departmentIds.contains(departmentId)) {
+                log.warn("Department '{}' not found for {}, skipping", departmentId, event.getEmail());
+                departmentId = null;
+            }
+            users.add(new UserBulkWriter.NewUser(event.getUserId(), event.getEmail(),
+                    event.getFirstName(), event.getLastName(), departmentId));
+            roleByUser.put(event.getUserId(), event.getRoleName() == null || event.getRoleName().isBlank()
+                    || !roleCatalog.exists(event.getRoleName())
+                    ? RoleCatalog.DEFAULT_ROLE
+                    : event.getRoleName());
+        }
+
+        List<UUID> created = userBulkWriter.insertUsers(users);
+        List<Map.Entry<UUID, UUID>> userRoles = new ArrayList<>(created.size());
+        Set<String> assignedRoles = new HashSet<>();
+        for (UUID userId : created) {
+            String roleName = roleByUser.get(userId);
+            roleCatalog.findByName(roleName).ifPresent(role -> {
+                userRoles.add(Map.entry(userId, role.getId()));
+                assignedRoles.add(roleName);
+            });
+        }
+        userBulkWriter.insertUserRoles(userRoles);
+
+        if (created.size() < events.size()) {
+            log.info("Skipped {} users that already exist in user-service", events.size() - created.size());
+        }
+        roleDirectory.invalidate(assignedRoles);
+        if (!created.isEmpty()) {
+            userPrefixIndex.markStale();
+        }
+        return created.size();
+    }
+
     @Transactional
     public UserResponse updateUser(UUID id, UpdateUserRequest request) {
         User user = findById(id);
@@ -148,6 +275,8 @@ public class UserService {
         }
 
         User saved = userRepository.save(user);
+        userPrefixIndex.markStale();
+        userProfileCache.invalidate(id);
         log.info("User updated: {}", saved.getEmail());
         return toResponse(saved);
     }
@@ -157,32 +286,105 @@ public class UserService {
         User user = findById(id);
         user.setActive(false);
         userRepository.save(user);
+        roleDirectory.invalidate(roleNames(user));
+        userPrefixIndex.markStale();
+        userProfileCache.invalidate(id);
         log.info("User deactivated: {}", user.getEmail());
     }
 
+    /**
+     * Assigns the role, permanently or for {@code duration}. Assigning a role the user already
+     * holds temporarily replaces its expiry, so the grant can be extended or made permanent; a
+     * role the user already holds permanently stays permanent.
+     */
     @Transactional
-    public UserResponse assignRole(UUID userId, String roleName) {
+    public UserResponse assignRole(UUID userId, String roleName, Duration duration) {
+        if (duration != null && (duration.isNegative() || duration.isZero() || duration.compareTo(maxGrantDuration) > 0)) {
+            throw new BaseException("Role duration must be positive and at most " + maxGrantDuration.toDays() + " days",
+                    HttpStatus.BAD_REQUEST);
+        }
         User user = findById(userId);
-        Role role = roleRepository.findByName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", roleName));
-        user.getRoles().add(role);
-        return toResponse(userRepository.save(user));
+        Role role = roleCatalog.reference(roleName);
+        boolean added = user.getRoles().stream().noneMatch(r -> r.getName().equals(roleName));
+        if (added) {
+            user.getRoles().add(role);
+            roleDirectory.invalidate(Set.of(roleName));
+        }
+        User saved = userRepository.saveAndFlush(user);
+        userProfileCache.invalidate(userId);
+
+        // Whole seconds, so the scheduler's exact-match revoke compares equal after the round trip
+        LocalDateTime expiresAt = duration == null
+                ? null
+                : LocalDateTime.now().plus(duration).truncatedTo(ChronoUnit.SECONDS);
+        if (added || expiresAt == null) {
+            roleGrantRepository.setExpiry(userId, role.getId(), expiresAt);
+        } else if (!roleGrantRepository.replaceExpiry(userId, role.getId(), expiresAt)) {
+            log.info("Role {} of {} is permanent, duration ignored", roleName, saved.getEmail());
+            return toResponse(saved);
+        }
+        if (expiresAt != null) {
+            roleExpiryScheduler.schedule(userId, role.getId(), expiresAt);
+            log.info("Role {} assigned to {} until {}", roleName, saved.getEmail(), expiresAt);
+        }
+        return toResponse(saved);
     }
 
     @Transactional
     public UserResponse removeRole(UUID userId, String roleName) {
+        if (!roleCatalog.exists(roleName)) {
+            throw new ResourceNotFoundException("Role", "name", roleName);
+        }
         User user = findById(userId);
-        Role role = roleRepository.findByName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", roleName));
-        user.getRoles().remove(role);
+        if (user.getRoles().removeIf(role -> role.getName().equals(roleName))) {
+            roleDirectory.invalidate(Set.of(roleName));
+            userProfileCache.invalidate(userId);
+        }
         return toResponse(userRepository.save(user));
     }
 
     private User findById(UUID id) {
-        return userRepository.findById(id)
+        return userRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id.toString()));
     }
 
+    private static Set<String> roleNames(User user) {
+        return user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+    }
+
+    private Page<UserResponse> toResponsePage(Page<UserRow> rows) {
+        return new PageImpl<>(toResponses(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+    }
+
+    /**
+     * Builds responses from projection rows with one extra statement for all role names,
+     * instead of initialising department and roles on each entity.
+     */
+    private List<UserResponse> toResponses(List<UserRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Set<String>> rolesByUser = new HashMap<>();
+        for (UserRoleName roleName : userRepository.findRoleNames(rows.stream().map(UserRow::id).toList())) {
+            rolesByUser.computeIfAbsent(roleName.userId(), id -> new HashSet<>()).add(roleName.roleName());
+        }
+        return rows.stream()
+                .map(row -> UserResponse.builder()
+                        .id(row.id())
+                        .email(row.email())
+                        .firstName(row.firstName())
+                        .lastName(row.lastName())
+                        .phoneNumber(row.phoneNumber())
+                        .active(row.active())
+                        .departmentName(row.departmentName())
+                        .departmentId(row.departmentId())
+                        .roles(rolesByUser.getOrDefault(row.id(), Set.of()))
+                        .createdAt(row.createdAt())
+                        .updatedAt(row.updatedAt())
+                        .build())
+                .toList();
+    }
+
     private UserResponse toResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
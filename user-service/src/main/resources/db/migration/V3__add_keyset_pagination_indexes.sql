@@ -0,0 +1,6 @@
+-- V3: Index matching the (created_at DESC, id DESC) keyset order used by cursor pagination
+
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE users ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_users_active_created_id ON users(created_at DESC, id DESC) WHERE is_active = TRUE;
@@ -0,0 +1,8 @@
+-- V4: Trigram index for partial-match user search over email and names
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Must match UserSearchRepository.SEARCH_TEXT exactly for the planner to use the index
+CREATE INDEX idx_users_search_trgm ON users
+    USING GIN ((lower(email) || ' ' || lower(first_name) || ' ' || lower(last_name)) gin_trgm_ops)
+    WHERE is_active = TRUE;
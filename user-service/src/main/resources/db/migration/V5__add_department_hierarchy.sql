@@ -0,0 +1,44 @@
+-- V5: Department hierarchy stored as a closure table, with incrementally maintained member counts
+
+ALTER TABLE departments ADD COLUMN parent_id UUID REFERENCES departments(id);
+ALTER TABLE departments ADD COLUMN member_count INTEGER NOT NULL DEFAULT 0;
+
+-- One row per (ancestor, descendant) pair, including each department with itself at depth 0
+CREATE TABLE department_closure (
+    ancestor_id     UUID NOT NULL REFERENCES departments(id) ON DELETE CASCADE,
+    descendant_id   UUID NOT NULL REFERENCES departments(id) ON DELETE CASCADE,
+    depth           INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_department_closure_descendant ON department_closure(descendant_id);
+CREATE INDEX idx_departments_parent ON departments(parent_id);
+
+INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM departments;
+
+UPDATE departments d
+SET member_count = (SELECT COUNT(*) FROM users u WHERE u.department_id = d.id AND u.is_active = TRUE);
+
+-- Direct active members per department, kept current by every write path (JPA and bulk JDBC)
+CREATE OR REPLACE FUNCTION maintain_department_member_count() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.department_id IS NOT NULL AND OLD.is_active THEN
+        UPDATE departments SET member_count = member_count - 1 WHERE id = OLD.department_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.department_id IS NOT NULL AND NEW.is_active THEN
+        UPDATE departments SET member_count = member_count + 1 WHERE id = NEW.department_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_users_member_count_insert_delete
+    AFTER INSERT OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION maintain_department_member_count();
+
+CREATE TRIGGER trg_users_member_count_update
+    AFTER UPDATE OF department_id, is_active ON users
+    FOR EACH ROW
+    WHEN (OLD.department_id IS DISTINCT FROM NEW.department_id OR OLD.is_active IS DISTINCT FROM NEW.is_active)
+    EXECUTE FUNCTION maintain_department_member_count();
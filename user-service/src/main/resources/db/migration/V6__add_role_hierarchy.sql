@@ -0,0 +1,23 @@
+-- V6: Role inheritance. A role has every permission of its parents, transitively.
+
+CREATE TABLE role_parents (
+    role_id         UUID NOT NULL REFERENCES roles(id) ON DELETE CASCADE,
+    parent_role_id  UUID NOT NULL REFERENCES roles(id) ON DELETE CASCADE,
+    PRIMARY KEY (role_id, parent_role_id),
+    CHECK (role_id <> parent_role_id)
+);
+
+CREATE INDEX idx_role_parents_parent ON role_parents(parent_role_id);
+
+-- Managers and security officers were given copies of USER permissions; inherit them instead
+INSERT INTO role_parents (role_id, parent_role_id)
+SELECT r.id, p.id FROM roles r, roles p
+WHERE r.name IN ('RESOURCE_MANAGER', 'SECURITY_OFFICER') AND p.name = 'USER';
+
+DELETE FROM role_permissions rp
+USING roles r, role_parents link, role_permissions inherited
+WHERE rp.role_id = r.id
+  AND r.name IN ('RESOURCE_MANAGER', 'SECURITY_OFFICER')
+  AND link.role_id = r.id
+  AND inherited.role_id = link.parent_role_id
+  AND inherited.permission_id = rp.permission_id;
@@ -0,0 +1,12 @@
+-- V7: Time-bound role assignments and the lease used to elect the instance that revokes them
+
+ALTER TABLE user_roles ADD COLUMN expires_at TIMESTAMP;
+
+CREATE INDEX idx_user_roles_expires ON user_roles(expires_at) WHERE expires_at IS NOT NULL;
+
+-- One row per singleton job; the holder renews expires_at, anyone may take over once it lapses
+CREATE TABLE scheduler_leases (
+    name        VARCHAR(100) PRIMARY KEY,
+    owner       VARCHAR(100) NOT NULL,
+    expires_at  TIMESTAMP NOT NULL
+);
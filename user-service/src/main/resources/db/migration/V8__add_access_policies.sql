@@ -0,0 +1,31 @@
+-- V8: Central access policies evaluated by POST /api/v1/policies/decisions
+
+CREATE TABLE access_policies (
+    id                      UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name                    VARCHAR(100) NOT NULL UNIQUE,
+    description             TEXT,
+    effect                  VARCHAR(10) NOT NULL CHECK (effect IN ('ALLOW', 'DENY')),
+    -- '*' matches any action / resource type
+    action                  VARCHAR(100) NOT NULL DEFAULT '*',
+    resource_type           VARCHAR(50) NOT NULL DEFAULT '*',
+    -- Conditions; NULL means "no condition". All given conditions must hold.
+    roles                   TEXT[],
+    permission              VARCHAR(100),
+    department_id           UUID REFERENCES departments(id) ON DELETE CASCADE,
+    include_sub_departments BOOLEAN NOT NULL DEFAULT TRUE,
+    resource_attributes     JSONB,
+    created_at              TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at              TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Same outcome as the existing @PreAuthorize checks: admins may do anything, everyone else
+-- what their permissions name
+INSERT INTO access_policies (name, description, effect, roles) VALUES
+    ('admin-full-access', 'Administrators may perform any action', 'ALLOW', ARRAY['ADMIN']);
+
+INSERT INTO access_policies (name, description, effect, permission) VALUES
+    ('permission-grants-action', 'A permission named like the action allows it', 'ALLOW', '$action');
+
+INSERT INTO access_policies (name, description, effect, action, resource_type, roles, resource_attributes) VALUES
+    ('guests-no-database-requests', 'Guests may not request access to databases',
+     'DENY', 'resource:request', 'RESOURCE', ARRAY['GUEST'], '{"resourceCategory": "DATABASE"}');
@@ -0,0 +1,141 @@
+package com.iam.user.service;
+
+import com.iam.user.model.AccessPolicy;
+import com.iam.user.model.PolicyEffect;
+import com.iam.user.service.CompiledPolicies.Group;
+import com.iam.user.service.CompiledPolicies.Match;
+import com.iam.user.service.CompiledPolicies.Subject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledPoliciesTest {
+
+    private static final String READ = "document:read";
+    private static final String WRITE = "document:write";
+    private static final String DOCUMENT = "DOCUMENT";
+
+    private final UUID engineering = UUID.randomUUID();
+    private final UUID platform = UUID.randomUUID();
+    private final Map<UUID, Set<UUID>> subtrees = Map.of(
+            engineering, Set.of(engineering, platform),
+            platform, Set.of(platform));
+
+    private final Subject member = new Subject(UUID.randomUUID(), Set.of("USER"), Set.of(READ), platform);
+    private final Subject admin = new Subject(UUID.randomUUID(), Set.of("ADMIN"), Set.of(READ, WRITE), engineering);
+
+    @Test
+    void wildcardRulesAreMergedIntoEveryConcreteGroup() {
+        CompiledPolicies policies = compile(
+                policy("admins-anything", PolicyEffect.ALLOW).roles(new String[]{"ADMIN"}).build(),
+                policy("read-documents", PolicyEffect.ALLOW).action(READ).resourceType(DOCUMENT).build());
+
+        assertThat(names(policies.groupFor(READ, DOCUMENT))).containsExactly("admins-anything", "read-documents");
+        assertThat(names(policies.groupFor(WRITE, DOCUMENT))).containsExactly("admins-anything");
+        assertThat(decide(policies, admin, WRITE, DOCUMENT, Map.of()).policyName()).isEqualTo("admins-anything");
+    }
+
+    @Test
+    void concreteRulesStayOutOfOtherAndWildcardGroups() {
+        CompiledPolicies policies = compile(
+                policy("read-documents", PolicyEffect.ALLOW).action(READ).resourceType(DOCUMENT).build());
+
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of())).isNotNull();
+        assertThat(decide(policies, member, READ, "REPORT", Map.of())).isNull();
+        assertThat(decide(policies, member, WRITE, DOCUMENT, Map.of())).isNull();
+        assertThat(policies.groupFor("unknown", "UNKNOWN").rules()).isEmpty();
+    }
+
+    @Test
+    void denyOverridesAllowWhateverTheSpecificity() {
+        CompiledPolicies policies = compile(
+                policy("a-read-documents", PolicyEffect.ALLOW).action(READ).resourceType(DOCUMENT).build(),
+                policy("z-deny-everything", PolicyEffect.DENY).roles(new String[]{"USER"}).build());
+
+        assertThat(names(policies.groupFor(READ, DOCUMENT))).containsExactly("z-deny-everything", "a-read-documents");
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of()))
+                .isEqualTo(new Match(PolicyEffect.DENY, "z-deny-everything"));
+        assertThat(decide(policies, admin, READ, DOCUMENT, Map.of()))
+                .isEqualTo(new Match(PolicyEffect.ALLOW, "a-read-documents"));
+    }
+
+    @Test
+    void unknownActionsAndTypesFallBackToTheirWildcardGroups() {
+        CompiledPolicies policies = compile(
+                policy("documents", PolicyEffect.ALLOW).resourceType(DOCUMENT).build(),
+                policy("reads", PolicyEffect.ALLOW).action(READ).build());
+
+        assertThat(names(policies.groupFor("document:share", DOCUMENT))).containsExactly("documents");
+        assertThat(names(policies.groupFor(READ, "REPORT"))).containsExactly("reads");
+        assertThat(names(policies.groupFor("report:share", "REPORT"))).isEmpty();
+    }
+
+    @Test
+    void actionPlaceholderRequiresThePermissionNamedByTheAction() {
+        CompiledPolicies policies = compile(
+                policy("holders", PolicyEffect.ALLOW).permission(CompiledPolicies.ACTION_PLACEHOLDER).build());
+
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of())).isNotNull();
+        assertThat(decide(policies, member, WRITE, DOCUMENT, Map.of())).isNull();
+        assertThat(decide(policies, admin, WRITE, DOCUMENT, Map.of())).isNotNull();
+    }
+
+    @Test
+    void departmentConditionsCoverTheSubtreeUnlessExcluded() {
+        CompiledPolicies withSubtree = compile(
+                policy("engineering", PolicyEffect.ALLOW).departmentId(engineering).build());
+        CompiledPolicies exact = compile(
+                policy("engineering", PolicyEffect.ALLOW).departmentId(engineering).includeSubDepartments(false).build());
+        Subject unassigned = new Subject(UUID.randomUUID(), Set.of("USER"), Set.of(), null);
+
+        assertThat(decide(withSubtree, member, READ, DOCUMENT, Map.of())).isNotNull();
+        assertThat(decide(withSubtree, unassigned, READ, DOCUMENT, Map.of())).isNull();
+        assertThat(decide(exact, member, READ, DOCUMENT, Map.of())).isNull();
+        assertThat(decide(exact, admin, READ, DOCUMENT, Map.of())).isNotNull();
+        assertThat(withSubtree.groupFor(READ, DOCUMENT).usesDepartment()).isTrue();
+        assertThat(withSubtree.groupFor(READ, DOCUMENT).usesAttributes()).isFalse();
+    }
+
+    @Test
+    void attributeConditionsMatchLiteralsAndTheSubjectDepartment() {
+        CompiledPolicies policies = compile(
+                policy("public", PolicyEffect.ALLOW).resourceAttributes(Map.of("classification", "public")).build(),
+                policy("own-department", PolicyEffect.ALLOW)
+                        .resourceAttributes(Map.of("ownerDepartment", CompiledPolicies.SUBJECT_DEPARTMENT_PLACEHOLDER))
+                        .build());
+
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of("classification", "public")).policyName())
+                .isEqualTo("public");
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of("ownerDepartment", platform.toString())).policyName())
+                .isEqualTo("own-department");
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of("ownerDepartment", engineering.toString()))).isNull();
+        assertThat(decide(policies, member, READ, DOCUMENT, Map.of())).isNull();
+
+        Group group = policies.groupFor(READ, DOCUMENT);
+        assertThat(group.usesAttributes()).isTrue();
+        assertThat(group.usesDepartment()).isTrue();
+    }
+
+    private CompiledPolicies compile(AccessPolicy... policies) {
+        return CompiledPolicies.compile(1, List.of(policies), subtrees::get);
+    }
+
+    private static AccessPolicy.AccessPolicyBuilder policy(String name, PolicyEffect effect) {
+        return AccessPolicy.builder().name(name).effect(effect);
+    }
+
+    private static Match decide(CompiledPolicies policies, Subject subject, String action, String resourceType,
+                                Map<String, String> attributes) {
+        return policies.groupFor(action, resourceType).decide(subject, action, attributes);
+    }
+
+    private static List<String> names(Group group) {
+        return Arrays.stream(group.rules()).map(CompiledPolicies.Rule::name).toList();
+    }
+}
@@ -0,0 +1,291 @@
+package com.iam.user.service;
+
+import com.iam.user.dto.DecisionRequest;
+import com.iam.user.dto.UserResponse;
+import com.iam.user.model.AccessPolicy;
+import com.iam.user.model.PolicyEffect;
+import com.iam.user.repository.AccessPolicyRepository;
+import com.iam.user.repository.DepartmentClosureRepository;
+import com.iam.user.service.CompiledPolicies.Match;
+import com.iam.user.service.CompiledPolicies.Subject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Access decisions per second over a synthetic policy set, three ways:
+ * <ul>
+ *     <li>{@code interpreted}: every policy is checked on every call, as a straightforward
+ *     evaluator over the stored policies would</li>
+ *     <li>{@code compiled}: {@link CompiledPolicies} alone, with the subject already loaded</li>
+ *     <li>{@code engine}: {@link PolicyEngine#decide} end to end, with the user profiles already in
+ *     the profile cache and a fixed role catalog, so it adds the profile lookup, the decision
+ *     cache and building the response</li>
+ * </ul>
+ * Requests cycle through {@value #REQUESTS} random combinations of {@value #USERS} users,
+ * {@value #ACTIONS} actions and {@value #RESOURCE_TYPES} resource types.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PolicyDecisionBenchmark {
+
+    private static final int USERS = 200;
+    private static final int ROLES = 10;
+    private static final int ACTIONS = 40;
+    private static final int RESOURCE_TYPES = 10;
+    private static final int DEPARTMENTS = 31;
+    private static final int REQUESTS = 4096;
+
+    @Param({"interpreted", "compiled", "engine"})
+    public String evaluator;
+
+    @Param({"100", "1000"})
+    public int policyCount;
+
+    private List<AccessPolicy> policies;
+    private Map<UUID, Set<UUID>> subtrees;
+    private CompiledPolicies compiled;
+    private PolicyEngine engine;
+    private DecisionRequest[] requests;
+    private Subject[] subjects;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        // A binary department tree: department i reports to (i - 1) / 2
+        List<UUID> departments = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(UUID.randomUUID());
+        }
+        subtrees = new HashMap<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            for (int ancestor = i; ; ancestor = (ancestor - 1) / 2) {
+                subtrees.computeIfAbsent(departments.get(ancestor), id -> new HashSet<>()).add(departments.get(i));
+                if (ancestor == 0) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, Set<String>> rolePermissions = new HashMap<>();
+        for (int i = 0; i < ROLES; i++) {
+            Set<String> permissions = new HashSet<>();
+            while (permissions.size() < 5) {
+                permissions.add(action(random.nextInt(ACTIONS)));
+            }
+            rolePermissions.put(role(i), Set.copyOf(permissions));
+        }
+
+        policies = new ArrayList<>(policyCount);
+        for (int i = 0; i < policyCount; i++) {
+            AccessPolicy.AccessPolicyBuilder policy = AccessPolicy.builder()
+                    .name("policy-" + i)
+                    .effect(random.nextInt(20) == 0 ? PolicyEffect.DENY : PolicyEffect.ALLOW)
+                    .action(random.nextInt(5) == 0 ? AccessPolicy.ANY : action(random.nextInt(ACTIONS)))
+                    .resourceType(random.nextInt(5) == 0 ? AccessPolicy.ANY : resourceType(random.nextInt(RESOURCE_TYPES)));
+            if (random.nextInt(5) < 3) {
+                int first = random.nextInt(ROLES);
+                policy.roles(random.nextBoolean()
+                        ? new String[]{role(first)}
+                        : new String[]{role(first), role((first + 1 + random.nextInt(ROLES - 1)) % ROLES)});
+            }
+            int permission = random.nextInt(10);
+            if (permission < 3) {
+                policy.permission(CompiledPolicies.ACTION_PLACEHOLDER);
+            } else if (permission < 5) {
+                policy.permission(action(random.nextInt(ACTIONS)));
+            }
+            if (random.nextInt(5) == 0) {
+                policy.departmentId(departments.get(random.nextInt(DEPARTMENTS))).includeSubDepartments(random.nextBoolean());
+            }
+            int attributes = random.nextInt(20);
+            if (attributes < 3) {
+                policy.resourceAttributes(Map.of("classification", "level-" + random.nextInt(3)));
+            } else if (attributes == 3) {
+                policy.resourceAttributes(Map.of("ownerDepartment", CompiledPolicies.SUBJECT_DEPARTMENT_PLACEHOLDER));
+            }
+            policies.add(policy.build());
+        }
+        compiled = CompiledPolicies.compile(1, policies, subtrees::get);
+
+        Map<UUID, UserResponse> profiles = new HashMap<>();
+        Map<UUID, Subject> subjectsById = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            Set<String> roles = new HashSet<>();
+            int roleCount = 1 + random.nextInt(3);
+            while (roles.size() < roleCount) {
+                roles.add(role(random.nextInt(ROLES)));
+            }
+            UserResponse profile = UserResponse.builder()
+                    .id(UUID.randomUUID())
+                    .active(true)
+                    .roles(Set.copyOf(roles))
+                    .departmentId(departments.get(random.nextInt(DEPARTMENTS)))
+                    .build();
+            profiles.put(profile.getId(), profile);
+            subjectsById.put(profile.getId(), new Subject(profile.getId(), profile.getRoles(),
+                    unionOf(profile.getRoles(), rolePermissions), profile.getDepartmentId()));
+        }
+
+        List<UUID> userIds = new ArrayList<>(profiles.keySet());
+        requests = new DecisionRequest[REQUESTS];
+        subjects = new Subject[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            UUID userId = userIds.get(random.nextInt(USERS));
+            requests[i] = DecisionRequest.builder()
+                    .userId(userId)
+                    .action(action(random.nextInt(ACTIONS)))
+                    .resourceType(resourceType(random.nextInt(RESOURCE_TYPES)))
+                    .attributes(Map.of(
+                            "classification", "level-" + random.nextInt(3),
+                            "ownerDepartment", departments.get(random.nextInt(DEPARTMENTS)).toString()))
+                    .build();
+            subjects[i] = subjectsById.get(userId);
+        }
+
+        AccessPolicyRepository accessPolicyRepository = mock(AccessPolicyRepository.class);
+        when(accessPolicyRepository.findAll()).thenReturn(policies);
+        DepartmentClosureRepository departmentClosureRepository = mock(DepartmentClosureRepository.class);
+        when(departmentClosureRepository.findDescendantIds(any()))
+                .thenAnswer(invocation -> List.copyOf(subtrees.get(invocation.<UUID>getArgument(0))));
+        // Real profile cache, warmed up; the role catalog without its database snapshot
+        UserProfileCache profileCache = new UserProfileCache(mock(RabbitTemplate.class), new SimpleMeterRegistry(),
+                true, USERS, 3600);
+        profiles.forEach((id, profile) -> profileCache.get(id, () -> profile));
+        UserService userService = new UserService(null, null, null, null, null, null, null, null, profileCache, 365);
+        RoleCatalog roleCatalog = new RoleCatalog(null, null, null) {
+            @Override
+            public long version() {
+                return 1;
+            }
+
+            @Override
+            public Set<String> effectivePermissions(Collection<String> roleNames) {
+                return unionOf(roleNames, rolePermissions);
+            }
+        };
+        engine = new PolicyEngine(accessPolicyRepository, departmentClosureRepository, userService, roleCatalog,
+                mock(RabbitTemplate.class), 100_000);
+    }
+
+    @Benchmark
+    public Object decide() {
+        int i = next++ & (REQUESTS - 1);
+        DecisionRequest request = requests[i];
+        return switch (evaluator) {
+            case "interpreted" -> interpret(subjects[i], request.getAction(), request.getResourceType(), request.getAttributes());
+            case "compiled" -> compiled.groupFor(request.getAction(), request.getResourceType())
+                    .decide(subjects[i], request.getAction(), request.getAttributes());
+            default -> engine.decide(request);
+        };
+    }
+
+    private Match interpret(Subject subject, String action, String resourceType, Map<String, String> attributes) {
+        Match allowed = null;
+        for (AccessPolicy policy : policies) {
+            if (!matches(policy, subject, action, resourceType, attributes)) {
+                continue;
+            }
+            if (policy.getEffect() == PolicyEffect.DENY) {
+                return new Match(PolicyEffect.DENY, policy.getName());
+            }
+            if (allowed == null) {
+                allowed = new Match(PolicyEffect.ALLOW, policy.getName());
+            }
+        }
+        return allowed;
+    }
+
+    private boolean matches(AccessPolicy policy, Subject subject, String action, String resourceType,
+                            Map<String, String> attributes) {
+        if (!policy.getAction().equals(AccessPolicy.ANY) && !policy.getAction().equals(action)) {
+            return false;
+        }
+        if (!policy.getResourceType().equals(AccessPolicy.ANY) && !policy.getResourceType().equals(resourceType)) {
+            return false;
+        }
+        if (policy.getRoles() != null && policy.getRoles().length > 0
+                && Set.of(policy.getRoles()).stream().noneMatch(subject.roles()::contains)) {
+            return false;
+        }
+        if (policy.getPermission() != null) {
+            String permission = CompiledPolicies.ACTION_PLACEHOLDER.equals(policy.getPermission())
+                    ? action
+                    : policy.getPermission();
+            if (!subject.permissions().contains(permission)) {
+                return false;
+            }
+        }
+        if (policy.getDepartmentId() != null) {
+            Set<UUID> departments = policy.isIncludeSubDepartments()
+                    ? subtrees.get(policy.getDepartmentId())
+                    : Set.of(policy.getDepartmentId());
+            if (subject.departmentId() == null || !departments.contains(subject.departmentId())) {
+                return false;
+            }
+        }
+        if (policy.getResourceAttributes() != null) {
+            for (Map.Entry<String, String> attribute : policy.getResourceAttributes().entrySet()) {
+                String expected = CompiledPolicies.SUBJECT_DEPARTMENT_PLACEHOLDER.equals(attribute.getValue())
+                        ? (subject.departmentId() != null ? subject.departmentId().toString() : null)
+                        : attribute.getValue();
+                if (!attributes.getOrDefault(attribute.getKey(), "").equals(expected)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> unionOf(Collection<String> roles, Map<String, Set<String>> rolePermissions) {
+        Set<String> permissions = new HashSet<>();
+        for (String role : roles) {
+            permissions.addAll(rolePermissions.getOrDefault(role, Set.of()));
+        }
+        return permissions;
+    }
+
+    private static String role(int i) {
+        return "ROLE_" + i;
+    }
+
+    private static String action(int i) {
+        return "resource:action-" + i;
+    }
+
+    private static String resourceType(int i) {
+        return "TYPE_" + i;
+    }
+}
@@ -0,0 +1,123 @@
+package com.iam.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleGraphTest {
+
+    private final UUID admin = UUID.randomUUID();
+    private final UUID manager = UUID.randomUUID();
+    private final UUID auditor = UUID.randomUUID();
+    private final UUID user = UUID.randomUUID();
+
+    // user <- manager <- admin, user <- auditor <- admin
+    private final Map<UUID, long[]> direct = Map.of(
+            user, bits(0),
+            manager, bits(1),
+            auditor, bits(2),
+            admin, bits(3));
+    private final Map<UUID, Set<UUID>> parents = Map.of(
+            manager, Set.of(user),
+            auditor, Set.of(user),
+            admin, Set.of(manager, auditor));
+
+    @Test
+    void effectiveSetsIncludeEveryAncestor() {
+        RoleGraph graph = RoleGraph.build(4, direct, parents);
+
+        assertThat(graph.effective(user)).containsExactly(bits(0));
+        assertThat(graph.effective(manager)).containsExactly(bits(0, 1));
+        assertThat(graph.effective(admin)).containsExactly(bits(0, 1, 2, 3));
+        assertThat(graph.effective(UUID.randomUUID())).containsExactly(0L);
+    }
+
+    @Test
+    void unionOrsTheEffectiveSets() {
+        RoleGraph graph = RoleGraph.build(4, direct, parents);
+
+        assertThat(graph.union(List.of(manager, auditor))).containsExactly(bits(0, 1, 2));
+        assertThat(graph.union(List.of(UUID.randomUUID()))).containsExactly(0L);
+    }
+
+    @Test
+    void linksToUnknownRolesAreIgnored() {
+        RoleGraph graph = RoleGraph.build(4, direct, Map.of(manager, Set.of(user, UUID.randomUUID())));
+
+        assertThat(graph.parentsOf(manager)).containsExactly(user);
+        assertThat(graph.effective(manager)).containsExactly(bits(0, 1));
+    }
+
+    @Test
+    void permissionsBeyondOneWordUseMoreWords() {
+        UUID wide = UUID.randomUUID();
+        UUID child = UUID.randomUUID();
+        long[] high = new long[RoleGraph.wordsFor(70)];
+        high[1] = 1L << 5;
+
+        RoleGraph graph = RoleGraph.build(70, Map.of(wide, high, child, new long[2]), Map.of(child, Set.of(wide)));
+
+        assertThat(graph.effective(child)).containsExactly(0L, 1L << 5);
+    }
+
+    @Test
+    void reparentingRecomputesTheRoleAndItsDescendants() {
+        RoleGraph graph = RoleGraph.build(4, direct, parents);
+
+        RoleGraph updated = graph.withParents(manager, Set.of());
+
+        assertThat(updated.effective(manager)).containsExactly(bits(1));
+        assertThat(updated.effective(admin)).containsExactly(bits(0, 1, 2, 3));
+        assertThat(updated.parentsOf(manager)).isEmpty();
+
+        RoleGraph detached = updated.withParents(auditor, Set.of());
+        assertThat(detached.effective(admin)).containsExactly(bits(1, 2, 3));
+        assertThat(detached.effective(user)).containsExactly(bits(0));
+    }
+
+    @Test
+    void reparentingLeavesTheOriginalUnchanged() {
+        RoleGraph graph = RoleGraph.build(4, direct, parents);
+
+        graph.withParents(manager, Set.of());
+
+        assertThat(graph.parentsOf(manager)).containsExactly(user);
+        assertThat(graph.effective(manager)).containsExactly(bits(0, 1));
+    }
+
+    @Test
+    void createsCycleDetectsSelfDirectAndIndirectCycles() {
+        assertThat(RoleGraph.createsCycle(parents, user, List.of(user))).isTrue();
+        assertThat(RoleGraph.createsCycle(parents, user, List.of(manager))).isTrue();
+        assertThat(RoleGraph.createsCycle(parents, user, List.of(admin))).isTrue();
+        assertThat(RoleGraph.createsCycle(parents, manager, List.of(auditor))).isFalse();
+        assertThat(RoleGraph.createsCycle(parents, admin, List.of(user))).isFalse();
+    }
+
+    @Test
+    void rolesOnAStoredCycleKeepOnlyTheirOwnPermissions() {
+        Map<UUID, Set<UUID>> cyclic = Map.of(
+                manager, Set.of(user, auditor),
+                auditor, Set.of(manager),
+                admin, Set.of(manager));
+
+        RoleGraph graph = RoleGraph.build(4, direct, cyclic);
+
+        assertThat(graph.effective(user)).containsExactly(bits(0));
+        assertThat(graph.effective(manager)).containsExactly(bits(1));
+        assertThat(graph.effective(auditor)).containsExactly(bits(2));
+    }
+
+    private static long[] bits(int... indexes) {
+        long[] bits = new long[1];
+        for (int index : indexes) {
+            bits[0] |= 1L << index;
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,94 @@
+package com.iam.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_000_000 * TICK + 123;
+
+    @Test
+    void pastTimersAreRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+
+        assertThat(wheel.add(START - TICK, "late")).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timerDueThisTickFiresOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+
+        assertThat(wheel.add(START, "now")).isTrue();
+
+        assertThat(wheel.advance(START)).containsExactly("now");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timersOnHigherLevelsCascadeAndFireAtTheirTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        // Seconds, an hour and a half, three days and a year ahead: levels 0 to 4
+        long[] delays = {5, 90 * 60, 3 * 86_400, 365 * 86_400};
+        for (long delay : delays) {
+            wheel.add(START + delay * TICK, "+" + delay);
+        }
+
+        long now = START;
+        for (long delay : delays) {
+            long due = START + delay * TICK;
+            assertThat(wheel.advance(due - TICK)).as("before +%d", delay).isEmpty();
+            assertThat(wheel.advance(due)).as("at +%d", delay).containsExactly("+" + delay);
+            now = due;
+        }
+        assertThat(wheel.advance(now + 86_400 * TICK)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void oneLargeAdvanceFiresEverythingInDueOrder() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, START);
+        wheel.add(START + 70_000 * TICK, 3);
+        wheel.add(START + 10 * TICK, 1);
+        wheel.add(START + 4_100 * TICK, 2);
+
+        assertThat(wheel.advance(START + 100_000 * TICK)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void matchesAReferenceScheduleUnderRandomAddsAndAdvances() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, START);
+        TreeMap<Long, List<Integer>> expected = new TreeMap<>();
+        long now = START;
+
+        for (int i = 0; i < 5_000; i++) {
+            // Mostly near timers, some far enough to need two or three cascades
+            long delay = random.nextInt(4) == 0 ? random.nextInt(300_000) : random.nextInt(5_000);
+            long due = now + delay * TICK;
+            if (!wheel.add(due, i)) {
+                // The wheel already moved past this tick, the caller fires it
+                assertThat(due).isLessThanOrEqualTo(now);
+                continue;
+            }
+            expected.computeIfAbsent(due / TICK, tick -> new ArrayList<>()).add(i);
+
+            if (random.nextInt(10) == 0) {
+                now += random.nextInt(20_000) * TICK;
+                List<Integer> fired = new ArrayList<>();
+                expected.headMap(now / TICK, true).values().forEach(fired::addAll);
+                expected.headMap(now / TICK, true).clear();
+
+                assertThat(wheel.advance(now)).containsExactlyInAnyOrderElementsOf(fired);
+            }
+        }
+        assertThat(wheel.size()).isEqualTo(expected.values().stream().mapToInt(List::size).sum());
+    }
+}
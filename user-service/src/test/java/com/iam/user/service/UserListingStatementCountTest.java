@@ -0,0 +1,143 @@
+package com.iam.user.service;
+
+import com.iam.user.dto.UserResponse;
+import com.iam.user.model.Department;
+import com.iam.user.model.Permission;
+import com.iam.user.model.Role;
+import com.iam.user.model.User;
+import com.iam.user.repository.RoleGrantRepository;
+import com.iam.user.repository.UserBulkWriter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the projection-based listings against N+1 regressions: a page of users must take the
+ * same few statements however many rows, departments and roles it holds.
+ * <p>
+ * The Flyway migrations are PostgreSQL-only, so the schema is generated from the entities into
+ * the embedded database instead.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(UserService.class)
+class UserListingStatementCountTest {
+
+    private static final int USERS = 50;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private RoleCatalog roleCatalog;
+    @MockBean
+    private RoleDirectory roleDirectory;
+    @MockBean
+    private UserPrefixIndex userPrefixIndex;
+    @MockBean
+    private UserBulkWriter userBulkWriter;
+    @MockBean
+    private RoleGrantRepository roleGrantRepository;
+    @MockBean
+    private RoleExpiryScheduler roleExpiryScheduler;
+    @MockBean
+    private UserProfileCache userProfileCache;
+
+    private Statistics statistics;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        Permission read = entityManager.persist(Permission.builder().name("user:read").build());
+        Permission write = entityManager.persist(Permission.builder().name("user:write").build());
+        Role admin = entityManager.persist(Role.builder().name("ADMIN").permissions(Set.of(read, write)).build());
+        Role member = entityManager.persist(Role.builder().name("USER").permissions(Set.of(read)).build());
+        department = entityManager.persist(Department.builder().name("Engineering").build());
+
+        for (int i = 0; i < USERS; i++) {
+            entityManager.persist(User.builder()
+                    .id(UUID.randomUUID())
+                    .email("user" + i + "@example.com")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .department(department)
+                    .roles(new HashSet<>(i % 2 == 0 ? Set.of(admin, member) : Set.of(member)))
+                    .build());
+        }
+        entityManager.flush();
+        // Maintained by a trigger in PostgreSQL
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE departments SET member_count = " + USERS)
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllUsersLoadsAPageInTwoStatements() {
+        // Larger than the data, so the page needs no count query
+        Page<UserResponse> page = userService.getAllUsers(PageRequest.of(0, 100));
+
+        assertFullyLoaded(page.getContent());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getUsersByRoleLoadsAllMembersInTwoStatements() {
+        List<UserResponse> users = userService.getUsersByRole("USER");
+
+        assertFullyLoaded(users);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getUsersByDepartmentLoadsAPageInTwoStatements() {
+        Page<UserResponse> page = userService.getUsersByDepartment(department.getId(), PageRequest.of(0, 100));
+
+        assertFullyLoaded(page.getContent());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void aPartialPageOnlyAddsTheCountQuery() {
+        Page<UserResponse> page = userService.getUsersByDepartment(department.getId(), PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getTotalElements()).isEqualTo(USERS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    private void assertFullyLoaded(List<UserResponse> users) {
+        assertThat(users).hasSize(USERS);
+        assertThat(users).allSatisfy(user -> {
+            assertThat(user.getDepartmentName()).isEqualTo("Engineering");
+            assertThat(user.getRoles()).contains("USER");
+        });
+        assertThat(users).filteredOn(user -> user.getRoles().contains("ADMIN")).hasSize(USERS / 2);
+    }
+}